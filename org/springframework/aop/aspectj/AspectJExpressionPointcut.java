@@ -24,7 +24,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -57,7 +57,9 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.core.SpringProperties;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
@@ -91,6 +93,34 @@ import org.springframework.util.StringUtils;
 public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		implements ClassFilter, IntroductionAwareMethodMatcher, BeanFactoryAware {
 
+	/**
+	 * System property that sets the maximum number of shadow matches cached
+	 * per pointcut: {@value}. Default is 1024; 0 means no limit.
+	 * <p>
+	 *  设置每个切入点缓存的阴影匹配最大数量的系统属性：{@value}默认为1024; 0表示不限制
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public static final String SHADOW_MATCH_CACHE_LIMIT_PROPERTY_NAME = "spring.aop.shadowMatchCacheLimit";
+
+	/**
+	 * System property that turns on {@link MatchStatistics} for all pointcuts,
+	 * including the ones created for {@code @AspectJ} advice and {@code <aop:config>}:
+	 * {@value}. Default is "false".
+	 * <p>
+	 *  为所有切入点(包括为{@code @AspectJ}通知和{@code <aop:config>}创建的切入点)开启{@link MatchStatistics}的系统属性：{@value}默认为"false"
+	 * 
+	 * 
+	 * @since 4.3
+	 * @see #setMatchStatisticsEnabled
+	 */
+	public static final String MATCH_STATISTICS_PROPERTY_NAME = "spring.aop.matchStatistics";
+
+	private static final int shadowMatchCacheLimit = determineShadowMatchCacheLimit();
+
+	private static final boolean matchStatisticsByDefault = SpringProperties.getFlag(MATCH_STATISTICS_PROPERTY_NAME);
+
 	private static final Set<PointcutPrimitive> SUPPORTED_PRIMITIVES = new HashSet<PointcutPrimitive>();
 
 	static {
@@ -117,11 +147,17 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 	private BeanFactory beanFactory;
 
+	private boolean matchStatisticsEnabled = matchStatisticsByDefault;
+
 	private transient ClassLoader pointcutClassLoader;
 
 	private transient PointcutExpression pointcutExpression;
 
-	private transient Map<Method, ShadowMatch> shadowMatchCache = new ConcurrentHashMap<Method, ShadowMatch>(32);
+	private transient PointcutExpressionPrefilter prefilter;
+
+	private transient Map<Method, ShadowMatch> shadowMatchCache = createShadowMatchCache();
+
+	private transient MatchStatistics matchStatistics = (matchStatisticsByDefault ? new MatchStatistics() : null);
 
 
 	/**
@@ -189,6 +225,24 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		this.beanFactory = beanFactory;
 	}
 
+	/**
+	 * Set whether to collect {@link MatchStatistics} for this pointcut,
+	 * e.g. for identifying expensive expressions at application startup.
+	 * Default is "false", unless the {@value #MATCH_STATISTICS_PROPERTY_NAME}
+	 * property is set to "true".
+	 * <p>
+	 *  设置是否为此切入点收集{@link MatchStatistics},例如用于在应用程序启动时识别开销较大的表达式默认值为"false",
+	 * 除非{@value #MATCH_STATISTICS_PROPERTY_NAME}属性设置为"true"
+	 * 
+	 * 
+	 * @since 4.3
+	 * @see #getMatchStatistics()
+	 */
+	public void setMatchStatisticsEnabled(boolean matchStatisticsEnabled) {
+		this.matchStatisticsEnabled = matchStatisticsEnabled;
+		this.matchStatistics = (matchStatisticsEnabled ? new MatchStatistics() : null);
+	}
+
 
 	@Override
 	public ClassFilter getClassFilter() {
@@ -218,7 +272,10 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 			this.pointcutClassLoader = (this.beanFactory instanceof ConfigurableBeanFactory ?
 					((ConfigurableBeanFactory) this.beanFactory).getBeanClassLoader() :
 					ClassUtils.getDefaultClassLoader());
-			this.pointcutExpression = buildPointcutExpression(this.pointcutClassLoader);
+			PointcutExpression pointcutExpression = buildPointcutExpression(this.pointcutClassLoader);
+			this.prefilter = PointcutExpressionPrefilter.forExpression(replaceBooleanOperators(getExpression()),
+					this.pointcutParameterNames, this.pointcutParameterTypes, this.pointcutClassLoader);
+			this.pointcutExpression = pointcutExpression;
 		}
 	}
 
@@ -283,6 +340,20 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		return this.pointcutExpression;
 	}
 
+	/**
+	 * Return the match statistics for this pointcut.
+	 * <p>
+	 *  返回此切入点的匹配统计信息
+	 * 
+	 * 
+	 * @return the statistics, or {@code null} if not enabled
+	 * @since 4.3
+	 * @see #setMatchStatisticsEnabled
+	 */
+	public MatchStatistics getMatchStatistics() {
+		return this.matchStatistics;
+	}
+
 	@Override
 	public boolean matches(Class<?> targetClass) {
 		checkReadyToMatch();
@@ -309,6 +380,13 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	public boolean matches(Method method, Class<?> targetClass, boolean beanHasIntroductions) {
 		checkReadyToMatch();
 		Method targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+		if (this.prefilter != null && !this.prefilter.mayMatch(targetMethod, method)) {
+			MatchStatistics matchStatistics = this.matchStatistics;
+			if (matchStatistics != null) {
+				matchStatistics.prefilterRejections.incrementAndGet();
+			}
+			return false;
+		}
 		ShadowMatch shadowMatch = getShadowMatch(targetMethod, method);
 
 		// Special handling for this, target, @this, @target, @annotation
@@ -460,6 +538,7 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 				Method methodToMatch = targetMethod;
 				shadowMatch = this.shadowMatchCache.get(targetMethod);
 				if (shadowMatch == null) {
+					long startTime = System.nanoTime();
 					try {
 						shadowMatch = this.pointcutExpression.matchesMethodExecution(methodToMatch);
 					}
@@ -503,12 +582,41 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 								fallbackExpression.matchesMethodExecution(methodToMatch));
 					}
 					this.shadowMatchCache.put(targetMethod, shadowMatch);
+					MatchStatistics matchStatistics = this.matchStatistics;
+					if (matchStatistics != null) {
+						matchStatistics.recordShadowMatch(System.nanoTime() - startTime);
+					}
 				}
 			}
 		}
 		return shadowMatch;
 	}
 
+	/**
+	 * Create the shadow match cache for a pointcut: soft-referenced and
+	 * bounded by the {@value #SHADOW_MATCH_CACHE_LIMIT_PROPERTY_NAME} property,
+	 * so that a pointcut evaluated against many classes does not retain a shadow
+	 * match for every method it has ever seen. Evicted entries are recomputed.
+	 */
+	private static Map<Method, ShadowMatch> createShadowMatchCache() {
+		return new ConcurrentReferenceHashMap<Method, ShadowMatch>(32, 0.75f, 4,
+				ConcurrentReferenceHashMap.ReferenceType.SOFT, shadowMatchCacheLimit, 1);
+	}
+
+	private static int determineShadowMatchCacheLimit() {
+		String limit = SpringProperties.getProperty(SHADOW_MATCH_CACHE_LIMIT_PROPERTY_NAME);
+		if (limit == null) {
+			return 1024;
+		}
+		try {
+			return Math.max(Integer.parseInt(limit.trim()), 0);
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalStateException("Invalid value for " + SHADOW_MATCH_CACHE_LIMIT_PROPERTY_NAME +
+					": " + limit, ex);
+		}
+	}
+
 
 	@Override
 	public boolean equals(Object other) {
@@ -683,7 +791,10 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 		// Initialize transient fields.
 		// pointcutExpression will be initialized lazily by checkReadyToMatch()
-		this.shadowMatchCache = new ConcurrentHashMap<Method, ShadowMatch>(32);
+		this.shadowMatchCache = createShadowMatchCache();
+		if (this.matchStatisticsEnabled) {
+			this.matchStatistics = new MatchStatistics();
+		}
 	}
 
 
@@ -730,4 +841,56 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		}
 	}
 
+
+	/**
+	 * Statistics about the matching work spent on a pointcut:
+	 * methods rejected by the cheap pre-filter versus shadow matches
+	 * computed by the AspectJ weaver, including the time spent on the latter.
+	 * <p>
+	 *  关于切入点匹配工作的统计信息：被低成本预过滤器拒绝的方法与由AspectJ编织器计算的阴影匹配,包括后者所花费的时间
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public static class MatchStatistics {
+
+		private final AtomicLong prefilterRejections = new AtomicLong();
+
+		private final AtomicLong shadowMatchCount = new AtomicLong();
+
+		private final AtomicLong shadowMatchNanos = new AtomicLong();
+
+		void recordShadowMatch(long nanos) {
+			this.shadowMatchCount.incrementAndGet();
+			this.shadowMatchNanos.addAndGet(nanos);
+		}
+
+		/**
+		 * Return the number of methods rejected without consulting the weaver.
+		 */
+		public long getPrefilterRejections() {
+			return this.prefilterRejections.get();
+		}
+
+		/**
+		 * Return the number of shadow matches computed by the weaver.
+		 */
+		public long getShadowMatchCount() {
+			return this.shadowMatchCount.get();
+		}
+
+		/**
+		 * Return the total time spent computing shadow matches, in milliseconds.
+		 */
+		public long getShadowMatchTimeMillis() {
+			return this.shadowMatchNanos.get() / 1000000;
+		}
+
+		@Override
+		public String toString() {
+			return getShadowMatchCount() + " shadow matches in " +
+					getShadowMatchTimeMillis() + " ms, " + getPrefilterRejections() + " pre-filter rejections";
+		}
+	}
+
 }
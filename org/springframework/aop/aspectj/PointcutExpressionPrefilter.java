@@ -0,0 +1,274 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.aspectj;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.PatternMatchUtils;
+
+/**
+ * Cheap pre-filter for AspectJ pointcut expressions, rejecting methods that
+ * cannot possibly match before asking the AspectJ weaver for a shadow match.
+ *
+ * <p>Only top-level conjuncts of an expression without top-level disjunctions
+ * are considered, since only those are guaranteed to be required for a match:
+ * <ul>
+ * <li>{@code execution(...)} with a literal or wildcarded method name pattern
+ * (e.g. {@code find*}) requires the method name to match that pattern;</li>
+ * <li>{@code @annotation(...)} with a fully qualified annotation type, or with
+ * a bound pointcut parameter, requires the method to declare that annotation.</li>
+ * </ul>
+ * Anything else (negations, parenthesized groups, named pointcut references,
+ * unresolvable types) is conservatively ignored.
+ *
+ * <p>
+ *  AspectJ切入点表达式的低成本预过滤器,在向AspectJ编织器请求阴影匹配之前拒绝不可能匹配的方法
+ * 
+ * <p>仅考虑没有顶层析取的表达式的顶层合取项,因为只有这些对匹配是必需的：
+ * <ul>
+ * <li>带有字面或通配符方法名称模式(例如{@code find*})的{@code execution(...)}要求方法名称与该模式匹配;</li>
+ * <li>带有完全限定注释类型或绑定切入点参数的{@code @annotation(...)}要求方法声明该注释</li>
+ * </ul>
+ * 其他任何内容(否定,带括号的组,命名切入点引用,无法解析的类型)都会被保守地忽略
+ * 
+ * 
+ * @since 4.3
+ * @see AspectJExpressionPointcut
+ */
+class PointcutExpressionPrefilter {
+
+	private static final String EXECUTION = "execution";
+
+	private static final String AT_ANNOTATION = "@annotation";
+
+
+	private final String[] methodNamePatterns;
+
+	private final Class<? extends Annotation>[] requiredAnnotations;
+
+
+	private PointcutExpressionPrefilter(List<String> methodNamePatterns,
+			List<Class<? extends Annotation>> requiredAnnotations) {
+
+		this.methodNamePatterns = methodNamePatterns.toArray(new String[methodNamePatterns.size()]);
+		this.requiredAnnotations = toAnnotationTypeArray(requiredAnnotations);
+	}
+
+
+	/**
+	 * Determine whether the given method may match the pointcut expression.
+	 * <p>
+	 *  确定给定方法是否可能匹配切入点表达式
+	 * 
+	 * 
+	 * @param targetMethod the most specific method on the target class
+	 * @param originalMethod the method as originally invoked (e.g. on an interface)
+	 * @return {@code false} if the method definitely does not match
+	 */
+	public boolean mayMatch(Method targetMethod, Method originalMethod) {
+		for (String methodNamePattern : this.methodNamePatterns) {
+			if (!PatternMatchUtils.simpleMatch(methodNamePattern, targetMethod.getName()) &&
+					!PatternMatchUtils.simpleMatch(methodNamePattern, originalMethod.getName())) {
+				return false;
+			}
+		}
+		for (Class<? extends Annotation> requiredAnnotation : this.requiredAnnotations) {
+			if (!targetMethod.isAnnotationPresent(requiredAnnotation) &&
+					!originalMethod.isAnnotationPresent(requiredAnnotation)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Build a pre-filter for the given pointcut expression.
+	 * <p>
+	 *  为给定的切入点表达式构建预过滤器
+	 * 
+	 * 
+	 * @param expression the pointcut expression (with boolean operators already
+	 * replaced by their symbolic form)
+	 * @param parameterNames the pointcut parameter names
+	 * @param parameterTypes the pointcut parameter types
+	 * @param classLoader the ClassLoader to resolve annotation types with
+	 * @return the pre-filter, or {@code null} if no constraints could be extracted
+	 */
+	public static PointcutExpressionPrefilter forExpression(String expression,
+			String[] parameterNames, Class<?>[] parameterTypes, ClassLoader classLoader) {
+
+		List<String> conjuncts = splitTopLevelConjuncts(expression);
+		if (conjuncts == null) {
+			return null;
+		}
+		List<String> methodNamePatterns = new ArrayList<String>();
+		List<Class<? extends Annotation>> requiredAnnotations = new ArrayList<Class<? extends Annotation>>();
+		for (String conjunct : conjuncts) {
+			String argument = extractArgument(conjunct, EXECUTION);
+			if (argument != null) {
+				String methodNamePattern = extractMethodNamePattern(argument);
+				if (methodNamePattern != null) {
+					methodNamePatterns.add(methodNamePattern);
+				}
+				continue;
+			}
+			argument = extractArgument(conjunct, AT_ANNOTATION);
+			if (argument != null) {
+				Class<? extends Annotation> annotationType =
+						resolveAnnotationType(argument, parameterNames, parameterTypes, classLoader);
+				if (annotationType != null) {
+					requiredAnnotations.add(annotationType);
+				}
+			}
+		}
+		if (methodNamePatterns.isEmpty() && requiredAnnotations.isEmpty()) {
+			return null;
+		}
+		return new PointcutExpressionPrefilter(methodNamePatterns, requiredAnnotations);
+	}
+
+	/**
+	 * Split the expression into its top-level {@code &&} conjuncts.
+	 * @return the conjuncts, or {@code null} if the expression contains a
+	 * top-level {@code ||} or unbalanced parentheses
+	 */
+	private static List<String> splitTopLevelConjuncts(String expression) {
+		List<String> conjuncts = new ArrayList<String>();
+		int depth = 0;
+		int start = 0;
+		for (int i = 0; i < expression.length(); i++) {
+			char c = expression.charAt(i);
+			if (c == '(') {
+				depth++;
+			}
+			else if (c == ')') {
+				if (--depth < 0) {
+					return null;
+				}
+			}
+			else if (depth == 0 && i + 1 < expression.length() && expression.charAt(i + 1) == c) {
+				if (c == '|') {
+					return null;
+				}
+				if (c == '&') {
+					conjuncts.add(expression.substring(start, i).trim());
+					start = i + 2;
+					i++;
+				}
+			}
+		}
+		if (depth != 0) {
+			return null;
+		}
+		conjuncts.add(expression.substring(start).trim());
+		return conjuncts;
+	}
+
+	/**
+	 * Return the argument of the given designator if the conjunct consists of
+	 * exactly that designator, e.g. "{@code * foo(..)}" for "{@code execution(* foo(..))}".
+	 */
+	private static String extractArgument(String conjunct, String designator) {
+		if (!conjunct.startsWith(designator) || !conjunct.endsWith(")")) {
+			return null;
+		}
+		String rest = conjunct.substring(designator.length()).trim();
+		if (!rest.startsWith("(")) {
+			return null;
+		}
+		// Make sure the opening parenthesis is closed only at the very end
+		int depth = 0;
+		for (int i = 0; i < rest.length(); i++) {
+			char c = rest.charAt(i);
+			if (c == '(') {
+				depth++;
+			}
+			else if (c == ')' && --depth == 0 && i != rest.length() - 1) {
+				return null;
+			}
+		}
+		return rest.substring(1, rest.length() - 1).trim();
+	}
+
+	/**
+	 * Extract the method name pattern from an execution pattern such as
+	 * "{@code public * com.example..*Service.find*(java.lang.String, ..)}".
+	 * @return the name pattern, or {@code null} if none or if it matches any name
+	 */
+	private static String extractMethodNamePattern(String executionPattern) {
+		int paramsStart = executionPattern.indexOf('(');
+		if (paramsStart <= 0) {
+			return null;
+		}
+		String signature = executionPattern.substring(0, paramsStart).trim();
+		if (signature.indexOf('@') != -1 || signature.indexOf(')') != -1) {
+			// Annotation patterns or nested expressions: don't try to interpret
+			return null;
+		}
+		int nameStart = Math.max(signature.lastIndexOf(' '), signature.lastIndexOf('.')) + 1;
+		String namePattern = signature.substring(nameStart);
+		if (namePattern.isEmpty() || "*".equals(namePattern)) {
+			return null;
+		}
+		for (int i = 0; i < namePattern.length(); i++) {
+			char c = namePattern.charAt(i);
+			if (c != '*' && !Character.isJavaIdentifierPart(c)) {
+				return null;
+			}
+		}
+		return namePattern;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Class<? extends Annotation> resolveAnnotationType(String argument,
+			String[] parameterNames, Class<?>[] parameterTypes, ClassLoader classLoader) {
+
+		Class<?> type = null;
+		for (int i = 0; i < parameterNames.length; i++) {
+			if (parameterNames[i].equals(argument)) {
+				type = parameterTypes[i];
+				break;
+			}
+		}
+		if (type == null) {
+			if (argument.indexOf('.') == -1 || argument.indexOf('*') != -1 ||
+					argument.indexOf('+') != -1 || argument.indexOf(' ') != -1) {
+				// Unqualified name (resolved relative to the declaring scope by AspectJ) or type pattern
+				return null;
+			}
+			try {
+				type = ClassUtils.forName(argument, classLoader);
+			}
+			catch (Throwable ex) {
+				return null;
+			}
+		}
+		return (type.isAnnotation() ? (Class<? extends Annotation>) type : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Class<? extends Annotation>[] toAnnotationTypeArray(List<Class<? extends Annotation>> types) {
+		return (Class<? extends Annotation>[]) types.toArray(new Class<?>[types.size()]);
+	}
+
+}
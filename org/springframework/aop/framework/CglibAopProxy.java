@@ -17,6 +17,7 @@
 
 package org.springframework.aop.framework;
 
+import java.io.File;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -39,6 +40,8 @@ import org.springframework.aop.TargetSource;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.cglib.core.ClassGenerator;
 import org.springframework.cglib.core.CodeGenerationException;
+import org.springframework.cglib.core.GeneratorStrategy;
+import org.springframework.cglib.core.PersistentGeneratorStrategy;
 import org.springframework.cglib.core.SpringNamingPolicy;
 import org.springframework.cglib.proxy.Callback;
 import org.springframework.cglib.proxy.CallbackFilter;
@@ -206,10 +209,10 @@ class CglibAopProxy implements AopProxy, Serializable {
 					enhancer.setUseCache(false);
 				}
 			}
+			Class<?>[] proxiedInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised);
 			enhancer.setSuperclass(proxySuperClass);
-			enhancer.setInterfaces(AopProxyUtils.completeProxiedInterfaces(this.advised));
+			enhancer.setInterfaces(proxiedInterfaces);
 			enhancer.setNamingPolicy(SpringNamingPolicy.INSTANCE);
-			enhancer.setStrategy(new ClassLoaderAwareUndeclaredThrowableStrategy(classLoader));
 
 			Callback[] callbacks = getCallbacks(rootClass);
 			Class<?>[] types = new Class<?>[callbacks.length];
@@ -217,10 +220,19 @@ class CglibAopProxy implements AopProxy, Serializable {
 				types[x] = callbacks[x].getClass();
 			}
 			// fixedInterceptorMap only populated at this point, after getCallbacks call above
-			enhancer.setCallbackFilter(new ProxyCallbackFilter(
-					this.advised.getConfigurationOnlyCopy(), this.fixedInterceptorMap, this.fixedInterceptorOffset));
+			ProxyCallbackFilter callbackFilter = new ProxyCallbackFilter(
+					this.advised.getConfigurationOnlyCopy(), this.fixedInterceptorMap, this.fixedInterceptorOffset);
+			enhancer.setCallbackFilter(callbackFilter);
 			enhancer.setCallbackTypes(types);
 
+			GeneratorStrategy strategy = new ClassLoaderAwareUndeclaredThrowableStrategy(classLoader);
+			File cacheDirectory = PersistentGeneratorStrategy.getCacheDirectory();
+			if (cacheDirectory != null) {
+				strategy = new PersistentProxyGeneratorStrategy(strategy, cacheDirectory,
+						proxySuperClass, proxiedInterfaces, types, callbackFilter);
+			}
+			enhancer.setStrategy(strategy);
+
 			// Generate the proxy class and create a proxy instance.
 			return createProxyClassAndInstance(enhancer, callbacks);
 		}
@@ -1090,4 +1102,53 @@ class CglibAopProxy implements AopProxy, Serializable {
 		}
 	}
 
+
+	/**
+	 * Persists generated proxy classes, keyed by the proxy's superclass and interfaces
+	 * (including their class file digests), the callback types and the callback index
+	 * that the {@link ProxyCallbackFilter} assigns to each candidate method.
+	 */
+	private static class PersistentProxyGeneratorStrategy extends PersistentGeneratorStrategy {
+
+		private final Class<?> superclass;
+
+		private final Class<?>[] interfaces;
+
+		private final Class<?>[] callbackTypes;
+
+		private final ProxyCallbackFilter callbackFilter;
+
+		public PersistentProxyGeneratorStrategy(GeneratorStrategy delegate, File cacheDirectory,
+				Class<?> superclass, Class<?>[] interfaces, Class<?>[] callbackTypes, ProxyCallbackFilter callbackFilter) {
+
+			super(delegate, cacheDirectory);
+			this.superclass = superclass;
+			this.interfaces = interfaces;
+			this.callbackTypes = callbackTypes;
+			this.callbackFilter = callbackFilter;
+		}
+
+		@Override
+		protected String buildCacheKey() {
+			StringBuilder key = new StringBuilder("CglibAopProxy; superclass ");
+			if (!appendTypeSignature(key, this.superclass)) {
+				return null;
+			}
+			if (this.interfaces != null) {
+				for (Class<?> ifc : this.interfaces) {
+					key.append(" interface ");
+					if (!appendTypeSignature(key, ifc)) {
+						return null;
+					}
+				}
+			}
+			key.append(" callbacks ");
+			for (Class<?> callbackType : this.callbackTypes) {
+				key.append(callbackType.getName()).append(';');
+			}
+			appendCallbackAssignments(key, this.callbackFilter, this.superclass, this.interfaces);
+			return key.toString();
+		}
+	}
+
 }
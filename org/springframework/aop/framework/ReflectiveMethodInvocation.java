@@ -74,6 +74,8 @@ import org.springframework.core.BridgeMethodResolver;
  */
 public class ReflectiveMethodInvocation implements ProxyMethodInvocation, Cloneable {
 
+	private static final Object[] NO_ARGS = new Object[0];
+
 	protected final Object proxy;
 
 	protected final Object target;
@@ -171,7 +173,7 @@ public class ReflectiveMethodInvocation implements ProxyMethodInvocation, Clonea
 
 	@Override
 	public final Object[] getArguments() {
-		return (this.arguments != null ? this.arguments : new Object[0]);
+		return (this.arguments != null ? this.arguments : NO_ARGS);
 	}
 
 	@Override
@@ -60,6 +60,42 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
 
 	private BeanFactoryAdvisorRetrievalHelper advisorRetrievalHelper;
 
+	private boolean cacheAdvisorApplicability = true;
+
+	private transient volatile AdvisorApplicabilityIndex advisorApplicabilityIndex;
+
+
+	/**
+	 * Set whether to cache which candidate Advisors apply to a bean class,
+	 * sharing the method-level pointcut matching across all beans of the same
+	 * class. Default is "true".
+	 * <p>Matches that depend on the current bean name (as exposed through
+	 * {@link ProxyCreationContext}) are detected and evaluated per bean.
+	 * Switch this flag off for pointcuts with other non-static matching state.
+	 * <p>
+	 *  设置是否缓存哪些候选顾问适用于某个bean类,从而在同一类的所有bean之间共享方法级切入点匹配默认值为"true"
+	 * <p>依赖于当前bean名称(通过{@link ProxyCreationContext}公开)的匹配会被检测到并按bean计算对于具有其他非静态匹配状态的切入点,请关闭此标志
+	 * 
+	 * 
+	 * @since 4.3
+	 * @see AopUtils#findAdvisorsThatCanApply
+	 */
+	public void setCacheAdvisorApplicability(boolean cacheAdvisorApplicability) {
+		this.cacheAdvisorApplicability = cacheAdvisorApplicability;
+	}
+
+	/**
+	 * Return whether to cache which candidate Advisors apply to a bean class.
+	 * <p>
+	 *  返回是否缓存哪些候选顾问适用于某个bean类
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public boolean isCacheAdvisorApplicability() {
+		return this.cacheAdvisorApplicability;
+	}
+
 
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) {
@@ -138,6 +174,9 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
 
 		ProxyCreationContext.setCurrentProxiedBeanName(beanName);
 		try {
+			if (this.cacheAdvisorApplicability && !candidateAdvisors.isEmpty()) {
+				return getAdvisorApplicabilityIndex(candidateAdvisors).findAdvisorsThatCanApply(beanClass);
+			}
 			return AopUtils.findAdvisorsThatCanApply(candidateAdvisors, beanClass);
 		}
 		finally {
@@ -145,6 +184,19 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
 		}
 	}
 
+	/**
+	 * Obtain the applicability index for the given candidate Advisors,
+	 * rebuilding it if the candidates changed since the last call.
+	 */
+	private AdvisorApplicabilityIndex getAdvisorApplicabilityIndex(List<Advisor> candidateAdvisors) {
+		AdvisorApplicabilityIndex index = this.advisorApplicabilityIndex;
+		if (index == null || !index.isIndexFor(candidateAdvisors)) {
+			index = new AdvisorApplicabilityIndex(candidateAdvisors);
+			this.advisorApplicabilityIndex = index;
+		}
+		return index;
+	}
+
 	/**
 	 * Return whether the Advisor bean with the given name is eligible
 	 * for proxying in the first place.
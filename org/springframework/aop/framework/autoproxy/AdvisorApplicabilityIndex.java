@@ -0,0 +1,258 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework.autoproxy;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.IntroductionAdvisor;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.aop.support.annotation.AnnotationMethodMatcher;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Precomputed index over a fixed list of candidate Advisors, determining the
+ * Advisors that can apply to a given bean class with the same semantics as
+ * {@link AopUtils#findAdvisorsThatCanApply(List, Class)}.
+ *
+ * <p>Match results are memoized per bean class, so that beans sharing a class
+ * only pay for method-level pointcut matching once. Results that read the
+ * {@link ProxyCreationContext#getCurrentProxiedBeanName() current bean name}
+ * are detected and re-evaluated for every bean. Advisors whose class filter is
+ * an {@link AnnotationClassFilter} not matching the class, or whose method matcher
+ * is an {@link AnnotationMethodMatcher} while no method in the class hierarchy
+ * declares the annotation, are pruned up front. Subclasses of those may override
+ * their matching and are therefore always evaluated in full.
+ *
+ * <p>
+ *  针对一组固定候选顾问的预计算索引,以与{@link AopUtils#findAdvisorsThatCanApply(List, Class)}相同的语义确定可应用于给定bean类的顾问
+ * 
+ * <p>匹配结果按bean类缓存,因此共享同一类的bean只需进行一次方法级切入点匹配读取{@link ProxyCreationContext#getCurrentProxiedBeanName() 当前bean名称}
+ * 的结果会被检测到,并针对每个bean重新计算类过滤器为不匹配该类的{@link AnnotationClassFilter},或方法匹配器为{@link AnnotationMethodMatcher}
+ * 而类层次结构中没有方法声明该注释的顾问会被提前排除它们的子类可能会覆盖其匹配逻辑,因此始终会被完整计算
+ * 
+ * 
+ * @since 4.3
+ * @see AbstractAdvisorAutoProxyCreator#setCacheAdvisorApplicability
+ */
+class AdvisorApplicabilityIndex {
+
+	private static final byte NOT_APPLICABLE = 0;
+
+	private static final byte APPLICABLE = 1;
+
+	private static final byte BEAN_DEPENDENT = 2;
+
+	/** Marker for classes whose introduction matches depend on the bean name */
+	private static final byte[] NOT_SHARABLE = new byte[0];
+
+
+	private final Advisor[] advisors;
+
+	private final boolean[] introductions;
+
+	private final ClassFilter[] annotationClassFilters;
+
+	private final Class<? extends Annotation>[] requiredMethodAnnotations;
+
+	private final boolean hasRequiredMethodAnnotations;
+
+	private final Map<Class<?>, byte[]> applicabilityCache = new ConcurrentHashMap<Class<?>, byte[]>(256);
+
+
+	/**
+	 * Create a new AdvisorApplicabilityIndex for the given candidate Advisors.
+	 * <p>
+	 *  为给定的候选顾问创建一个新的AdvisorApplicabilityIndex
+	 * 
+	 * 
+	 * @param candidateAdvisors the candidate Advisors, in order
+	 */
+	@SuppressWarnings("unchecked")
+	public AdvisorApplicabilityIndex(List<Advisor> candidateAdvisors) {
+		int size = candidateAdvisors.size();
+		this.advisors = candidateAdvisors.toArray(new Advisor[size]);
+		this.introductions = new boolean[size];
+		this.annotationClassFilters = new ClassFilter[size];
+		this.requiredMethodAnnotations = new Class[size];
+		boolean hasRequiredMethodAnnotations = false;
+		for (int i = 0; i < size; i++) {
+			Advisor advisor = this.advisors[i];
+			if (advisor instanceof IntroductionAdvisor) {
+				this.introductions[i] = true;
+			}
+			else if (advisor instanceof PointcutAdvisor) {
+				Pointcut pointcut = ((PointcutAdvisor) advisor).getPointcut();
+				ClassFilter classFilter = (pointcut != null ? pointcut.getClassFilter() : null);
+				if (classFilter != null && classFilter.getClass() == AnnotationClassFilter.class) {
+					this.annotationClassFilters[i] = classFilter;
+				}
+				MethodMatcher methodMatcher = (pointcut != null ? pointcut.getMethodMatcher() : null);
+				if (methodMatcher != null && methodMatcher.getClass() == AnnotationMethodMatcher.class) {
+					this.requiredMethodAnnotations[i] = ((AnnotationMethodMatcher) methodMatcher).getAnnotationType();
+					hasRequiredMethodAnnotations = true;
+				}
+			}
+		}
+		this.hasRequiredMethodAnnotations = hasRequiredMethodAnnotations;
+	}
+
+
+	/**
+	 * Return whether this index has been built for exactly the given Advisors,
+	 * i.e. the same Advisor instances in the same order.
+	 * <p>
+	 *  返回此索引是否恰好是为给定的顾问构建的,即相同顺序的相同顾问实例
+	 * 
+	 */
+	public boolean isIndexFor(List<Advisor> candidateAdvisors) {
+		if (candidateAdvisors.size() != this.advisors.length) {
+			return false;
+		}
+		int i = 0;
+		for (Advisor candidate : candidateAdvisors) {
+			if (candidate != this.advisors[i++]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determine the indexed Advisors that can apply to the given class.
+	 * <p>Expected to be called with the current proxied bean name exposed
+	 * through {@link ProxyCreationContext}.
+	 * <p>
+	 *  确定可以应用于给定类的索引顾问<p>调用时应已通过{@link ProxyCreationContext}公开当前代理的bean名称
+	 * 
+	 * 
+	 * @param clazz the target class
+	 * @return a new List of Advisors that can apply to an object of the given class
+	 */
+	public List<Advisor> findAdvisorsThatCanApply(Class<?> clazz) {
+		byte[] applicability = this.applicabilityCache.get(clazz);
+		if (applicability == null) {
+			applicability = determineApplicability(clazz);
+			this.applicabilityCache.put(clazz, applicability);
+		}
+		if (applicability == NOT_SHARABLE) {
+			return AopUtils.findAdvisorsThatCanApply(Arrays.asList(this.advisors), clazz);
+		}
+
+		List<Advisor> eligibleAdvisors = new LinkedList<Advisor>();
+		for (int i = 0; i < this.advisors.length; i++) {
+			if (this.introductions[i] && applicability[i] == APPLICABLE) {
+				eligibleAdvisors.add(this.advisors[i]);
+			}
+		}
+		boolean hasIntroductions = !eligibleAdvisors.isEmpty();
+		for (int i = 0; i < this.advisors.length; i++) {
+			if (!this.introductions[i] && (applicability[i] == APPLICABLE ||
+					(applicability[i] == BEAN_DEPENDENT && AopUtils.canApply(this.advisors[i], clazz, hasIntroductions)))) {
+				eligibleAdvisors.add(this.advisors[i]);
+			}
+		}
+		return eligibleAdvisors;
+	}
+
+	/**
+	 * Compute the applicability of each indexed Advisor for the given class.
+	 * @return the applicability per Advisor, or {@link #NOT_SHARABLE} if the
+	 * introduction matches depend on the current bean name
+	 */
+	private byte[] determineApplicability(Class<?> clazz) {
+		byte[] applicability = new byte[this.advisors.length];
+		ProxyCreationContext.resetCurrentProxiedBeanNameAccessed();
+
+		boolean hasIntroductions = false;
+		for (int i = 0; i < this.advisors.length; i++) {
+			if (this.introductions[i]) {
+				if (AopUtils.canApply(this.advisors[i], clazz)) {
+					applicability[i] = APPLICABLE;
+					hasIntroductions = true;
+				}
+				if (ProxyCreationContext.resetCurrentProxiedBeanNameAccessed()) {
+					return NOT_SHARABLE;
+				}
+			}
+		}
+
+		Set<Class<? extends Annotation>> methodAnnotations =
+				(this.hasRequiredMethodAnnotations ? findDeclaredMethodAnnotationTypes(clazz) : null);
+		for (int i = 0; i < this.advisors.length; i++) {
+			if (this.introductions[i]) {
+				continue;
+			}
+			ClassFilter annotationClassFilter = this.annotationClassFilters[i];
+			if (annotationClassFilter != null && !annotationClassFilter.matches(clazz)) {
+				// The class lacks the annotation: the pointcut's class filter rejects it anyway
+				applicability[i] = NOT_APPLICABLE;
+				continue;
+			}
+			Class<? extends Annotation> requiredMethodAnnotation = this.requiredMethodAnnotations[i];
+			if (requiredMethodAnnotation != null && !methodAnnotations.contains(requiredMethodAnnotation)) {
+				// No method carries the annotation: the method matcher cannot match anywhere
+				applicability[i] = NOT_APPLICABLE;
+				continue;
+			}
+			boolean applicable = AopUtils.canApply(this.advisors[i], clazz, hasIntroductions);
+			if (ProxyCreationContext.resetCurrentProxiedBeanNameAccessed()) {
+				applicability[i] = BEAN_DEPENDENT;
+			}
+			else if (applicable) {
+				applicability[i] = APPLICABLE;
+			}
+		}
+		return applicability;
+	}
+
+	/**
+	 * Collect the types of all annotations declared on any method of the given
+	 * class, its superclasses and its interfaces, i.e. on any method that
+	 * {@link AnnotationMethodMatcher} could possibly inspect.
+	 */
+	private static Set<Class<? extends Annotation>> findDeclaredMethodAnnotationTypes(Class<?> clazz) {
+		Set<Class<? extends Annotation>> annotationTypes = new HashSet<Class<? extends Annotation>>();
+		Set<Class<?>> classes = new LinkedHashSet<Class<?>>(ClassUtils.getAllInterfacesForClassAsSet(clazz));
+		classes.add(clazz);
+		for (Class<?> candidate : classes) {
+			for (Method method : ReflectionUtils.getAllDeclaredMethods(candidate)) {
+				for (Annotation annotation : method.getDeclaredAnnotations()) {
+					annotationTypes.add(annotation.annotationType());
+				}
+			}
+		}
+		return annotationTypes;
+	}
+
+}
@@ -37,6 +37,10 @@ public class ProxyCreationContext {
 	private static final ThreadLocal<String> currentProxiedBeanName =
 			new NamedThreadLocal<String>("Name of currently proxied bean");
 
+	/** ThreadLocal marking whether the current proxied bean name has been read */
+	private static final ThreadLocal<Boolean> currentProxiedBeanNameAccessed =
+			new NamedThreadLocal<Boolean>("Whether the name of currently proxied bean has been accessed");
+
 
 	/**
 	 * Return the name of the currently proxied bean instance.
@@ -47,6 +51,7 @@ public class ProxyCreationContext {
 	 * @return the name of the bean, or {@code null} if none available
 	 */
 	public static String getCurrentProxiedBeanName() {
+		currentProxiedBeanNameAccessed.set(Boolean.TRUE);
 		return currentProxiedBeanName.get();
 	}
 
@@ -66,4 +71,25 @@ public class ProxyCreationContext {
 		}
 	}
 
+	/**
+	 * Return whether the current proxied bean name has been read since the
+	 * last call to this method, resetting the marker.
+	 * <p>Used to detect Advisor matches that depend on the bean name and
+	 * therefore cannot be shared across beans of the same class.
+	 * <p>
+	 *  返回自上次调用此方法以来是否读取过当前代理的bean名称,并重置该标记
+	 * <p>用于检测依赖于bean名称的顾问匹配,此类匹配结果不能在同一类的bean之间共享
+	 * 
+	 * 
+	 * @return {@code true} if {@link #getCurrentProxiedBeanName()} has been called
+	 * @since 4.3
+	 */
+	static boolean resetCurrentProxiedBeanNameAccessed() {
+		boolean accessed = (currentProxiedBeanNameAccessed.get() != null);
+		if (accessed) {
+			currentProxiedBeanNameAccessed.remove();
+		}
+		return accessed;
+	}
+
 }
@@ -35,6 +35,8 @@ import org.springframework.util.ConcurrencyThrottleSupport;
  *
  * <p>The default concurrency limit of this interceptor is 1.
  * Specify the "concurrencyLimit" bean property to change this value.
+ * Set "maxWait" to reject invocations that cannot enter in time, and
+ * "adaptiveConcurrency" to adjust the limit to the observed latency.
  *
  * <p>
  * 
@@ -55,7 +55,7 @@ public abstract class ExposeBeanNameAdvisors {
 	 *  绑定目前正在ReflectiveMethodInvocation中调用的bean的bean名称userAttributes Map
 	 * 
 	 */
-	private static final String BEAN_NAME_ATTRIBUTE = ExposeBeanNameAdvisors.class.getName() + ".BEAN_NAME";
+	static final String BEAN_NAME_ATTRIBUTE = ExposeBeanNameAdvisors.class.getName() + ".BEAN_NAME";
 
 
 	/**
@@ -0,0 +1,278 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, fixed-memory latency histogram with logarithmic buckets.
+ *
+ * <p>Each power-of-two range of nanoseconds is split into 8 linear sub-buckets,
+ * so that recorded values are kept with a relative precision of 1/8 (reported
+ * as the bucket midpoint) across the entire range from nanoseconds to hours,
+ * in a fixed array of 352 counters. Recording takes two or three atomic
+ * updates; reading is a consistent-enough snapshot for monitoring purposes.
+ *
+ * <p>The getters are meant for JMX exposure, e.g. as composite data of a
+ * {@link LatencyMonitorMXBean}.
+ *
+ * <p>
+ *  无锁,固定内存,具有对数桶的延迟直方图
+ * 
+ * <p>每个2的幂的纳秒范围被分成8个线性子桶,因此记录的值在从纳秒到小时的整个范围内以1/8的相对精度(报告为桶的中点)保存在352个计数器的固定数组中记录只需两到三次原子更新;读取则提供对监控来说足够一致的快照
+ * 
+ * <p>这些getter用于JMX公开,例如作为{@link LatencyMonitorMXBean}的复合数据
+ * 
+ * 
+ * @since 4.3
+ * @see LatencyHistogramMonitorInterceptor
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Values at or above 2^46 ns (about 19.5 hours) go into the last bucket */
+	private static final int MAX_EXPONENT = 46;
+
+	private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private static final double NANOS_PER_MILLI = 1000000d;
+
+
+	private final String name;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	private final AtomicLong errorCount = new AtomicLong();
+
+	private final AtomicLong totalNanos = new AtomicLong();
+
+	private final AtomicLong maxNanos = new AtomicLong();
+
+
+	/**
+	 * Create a new LatencyHistogram.
+	 * <p>
+	 *  创建一个新的LatencyHistogram
+	 * 
+	 * 
+	 * @param name the name of the monitored operation
+	 */
+	public LatencyHistogram(String name) {
+		this.name = name;
+	}
+
+
+	/**
+	 * Record the latency of a single operation.
+	 * <p>
+	 *  记录单个操作的延迟
+	 * 
+	 * 
+	 * @param nanos the elapsed time in nanoseconds
+	 * @param failed whether the operation failed with an exception
+	 */
+	public void record(long nanos, boolean failed) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		this.buckets.incrementAndGet(bucketIndex(nanos));
+		this.totalNanos.addAndGet(nanos);
+		if (failed) {
+			this.errorCount.incrementAndGet();
+		}
+		long max;
+		while (nanos > (max = this.maxNanos.get()) && !this.maxNanos.compareAndSet(max, nanos)) {
+			// retry
+		}
+	}
+
+	/**
+	 * Reset all recorded values. Values recorded concurrently may get lost.
+	 * <p>
+	 *  重置所有记录的值并发记录的值可能会丢失
+	 * 
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			this.buckets.set(i, 0);
+		}
+		this.errorCount.set(0);
+		this.totalNanos.set(0);
+		this.maxNanos.set(0);
+	}
+
+	/**
+	 * Return the name of the monitored operation.
+	 * <p>
+	 *  返回被监控操作的名称
+	 * 
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the number of recorded operations.
+	 * <p>
+	 *  返回记录的操作次数
+	 * 
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			count += this.buckets.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * Return the number of recorded operations that failed with an exception.
+	 * <p>
+	 *  返回因异常而失败的记录操作次数
+	 * 
+	 */
+	public long getErrorCount() {
+		return this.errorCount.get();
+	}
+
+	/**
+	 * Return the mean latency in milliseconds.
+	 * <p>
+	 *  返回平均延迟(毫秒)
+	 * 
+	 */
+	public double getMeanMillis() {
+		long count = getCount();
+		return (count > 0 ? this.totalNanos.get() / (double) count / NANOS_PER_MILLI : 0);
+	}
+
+	/**
+	 * Return the maximum latency in milliseconds.
+	 * <p>
+	 *  返回最大延迟(毫秒)
+	 * 
+	 */
+	public double getMaxMillis() {
+		return this.maxNanos.get() / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * Return the median latency in milliseconds.
+	 * <p>
+	 *  返回延迟中位数(毫秒)
+	 * 
+	 */
+	public double getP50Millis() {
+		return getPercentileMillis(50);
+	}
+
+	/**
+	 * Return the 90th percentile latency in milliseconds.
+	 * <p>
+	 *  返回第90百分位延迟(毫秒)
+	 * 
+	 */
+	public double getP90Millis() {
+		return getPercentileMillis(90);
+	}
+
+	/**
+	 * Return the 99th percentile latency in milliseconds.
+	 * <p>
+	 *  返回第99百分位延迟(毫秒)
+	 * 
+	 */
+	public double getP99Millis() {
+		return getPercentileMillis(99);
+	}
+
+	/**
+	 * Return the 99.9th percentile latency in milliseconds.
+	 * <p>
+	 *  返回第99.9百分位延迟(毫秒)
+	 * 
+	 */
+	public double getP999Millis() {
+		return getPercentileMillis(99.9);
+	}
+
+	/**
+	 * Return the given percentile of the recorded latencies in milliseconds.
+	 * <p>
+	 *  返回记录延迟的给定百分位数(毫秒)
+	 * 
+	 * 
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the latency, or 0 if nothing has been recorded yet
+	 */
+	public double getPercentileMillis(double percentile) {
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = this.buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= rank && counts[i] > 0) {
+				return Math.min(bucketMidpoint(i), this.maxNanos.get()) / NANOS_PER_MILLI;
+			}
+		}
+		return getMaxMillis();
+	}
+
+	@Override
+	public String toString() {
+		return this.name + ": count=" + getCount() + ", errors=" + getErrorCount() + ", mean=" + getMeanMillis() +
+				"ms, p50=" + getP50Millis() + "ms, p99=" + getP99Millis() + "ms, max=" + getMaxMillis() + "ms";
+	}
+
+
+	static int bucketIndex(long nanos) {
+		if (nanos < SUB_BUCKETS) {
+			return (int) nanos;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		if (exponent >= MAX_EXPONENT) {
+			return BUCKET_COUNT - 1;
+		}
+		int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long bucketMidpoint(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		int subBucket = index % SUB_BUCKETS;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		long lowerBound = (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+		return lowerBound + width / 2;
+	}
+
+}
@@ -0,0 +1,305 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * AOP Alliance {@code MethodInterceptor} for performance monitoring that
+ * records the latency of every invocation into a {@link LatencyHistogram}
+ * per method, grouped per monitored bean. This interceptor has no effect
+ * on the intercepted method call.
+ *
+ * <p>Monitored beans are identified by the bean name exposed through
+ * {@link ExposeBeanNameAdvisors}, if any, and by their target class otherwise.
+ *
+ * <p>Unlike {@link PerformanceMonitorInterceptor}, which just logs each call,
+ * and {@link JamonPerformanceMonitorInterceptor}, which requires JAMon, this
+ * interceptor keeps percentiles, maximum, count and error count in lock-free,
+ * fixed-memory histograms, at the cost of a few atomic increments per call.
+ * It records regardless of the log level, so it can be applied to an entire
+ * service layer via auto-proxying.
+ *
+ * <p>If an {@link #setServer MBeanServer} is specified, typically the one the
+ * application's {@code MBeanExporter} uses, each monitored bean is registered
+ * as a {@link LatencyMonitorMXBean} on its first invocation, under the name
+ * "{@code <domain>:type=LatencyMonitor,interceptor=<interceptor>,name=<bean>}",
+ * with the interceptor identified by its own bean name (or identity, if it has none).
+ *
+ * <p>
+ *  用于性能监视的AOP联盟{@code MethodInterceptor},将每次调用的延迟按方法记录到{@link LatencyHistogram}中,并按被监控的bean分组此拦截器对被截取的方法调用没有影响
+ * 
+ * <p>被监控的bean通过{@link ExposeBeanNameAdvisors}公开的bean名称(如果有)来标识,否则通过其目标类来标识
+ * 
+ * <p>与仅记录每次调用的{@link PerformanceMonitorInterceptor}以及需要JAMon的{@link JamonPerformanceMonitorInterceptor}不同,此拦截器在无锁,固定内存的直方图中保存百分位数,最大值,计数和错误计数,每次调用仅需几次原子递增它的记录与日志级别无关,因此可以通过自动代理应用于整个服务层
+ * 
+ * <p>如果指定了{@link #setServer MBeanServer}(通常是应用程序的{@code MBeanExporter}所使用的那个),每个被监控的bean会在首次调用时以"{@code <domain>:type=LatencyMonitor,interceptor=<interceptor>,name=<bean>}"为名注册为{@link LatencyMonitorMXBean},
+ * 其中拦截器通过其自身的bean名称(如果没有,则通过其标识)来标识
+ * 
+ * 
+ * @since 4.3
+ * @see LatencyHistogram
+ * @see LatencyMonitorMXBean
+ */
+@SuppressWarnings("serial")
+public class LatencyHistogramMonitorInterceptor extends AbstractMonitoringInterceptor
+		implements BeanNameAware, DisposableBean {
+
+	/** The default JMX domain for registered latency monitors */
+	public static final String DEFAULT_OBJECT_NAME_DOMAIN = "org.springframework.aop.interceptor";
+
+	private static final Log jmxLogger = LogFactory.getLog(LatencyHistogramMonitorInterceptor.class);
+
+
+	private transient MBeanServer server;
+
+	private String objectNameDomain = DEFAULT_OBJECT_NAME_DOMAIN;
+
+	private String interceptorName;
+
+	/** Monitors per exposed bean name, or per target class (possibly a generated subclass) */
+	private transient ConcurrentMap<Object, BeanLatencyMonitor> monitors =
+			new ConcurrentHashMap<Object, BeanLatencyMonitor>(64);
+
+
+	/**
+	 * Specify the {@code MBeanServer} to register a {@link LatencyMonitorMXBean}
+	 * per monitored bean with. Default is none, i.e. no JMX registration.
+	 * <p>
+	 *  指定用于为每个被监控bean注册{@link LatencyMonitorMXBean}的{@code MBeanServer}默认为无,即不进行JMX注册
+	 * 
+	 */
+	public void setServer(MBeanServer server) {
+		this.server = server;
+	}
+
+	/**
+	 * Specify the JMX domain for the registered latency monitors.
+	 * Default is "org.springframework.aop.interceptor".
+	 * <p>
+	 *  指定已注册延迟监视器的JMX域默认为"org.springframework.aop.interceptor"
+	 * 
+	 */
+	public void setObjectNameDomain(String objectNameDomain) {
+		this.objectNameDomain = objectNameDomain;
+	}
+
+	/**
+	 * Set this interceptor's bean name, distinguishing its monitors' JMX names
+	 * from the ones of other latency monitor interceptors.
+	 * <p>
+	 *  设置此拦截器的bean名称,用于将其监视器的JMX名称与其他延迟监视拦截器的区分开
+	 * 
+	 */
+	@Override
+	public void setBeanName(String name) {
+		this.interceptorName = name;
+	}
+
+
+	/**
+	 * Always record, independent of the log level.
+	 * <p>
+	 *  始终记录,与日志级别无关
+	 * 
+	 */
+	@Override
+	protected boolean isInterceptorEnabled(MethodInvocation invocation, Log logger) {
+		return true;
+	}
+
+	@Override
+	protected Object invokeUnderTrace(MethodInvocation invocation, Log logger) throws Throwable {
+		long startTime = System.nanoTime();
+		boolean failed = true;
+		try {
+			Object result = invocation.proceed();
+			failed = false;
+			return result;
+		}
+		finally {
+			getMonitor(invocation).getHistogram(invocation.getMethod()).record(System.nanoTime() - startTime, failed);
+		}
+	}
+
+	/**
+	 * Return the latency monitors for all beans invoked so far.
+	 * <p>
+	 *  返回迄今为止调用过的所有bean的延迟监视器
+	 * 
+	 */
+	public List<LatencyMonitorMXBean> getLatencyMonitors() {
+		return new ArrayList<LatencyMonitorMXBean>(this.monitors.values());
+	}
+
+	/**
+	 * Unregister all latency monitors from the {@code MBeanServer}, if any.
+	 * <p>
+	 *  从{@code MBeanServer}中注销所有延迟监视器(如果有)
+	 */
+	@Override
+	public void destroy() {
+		for (BeanLatencyMonitor monitor : this.monitors.values()) {
+			if (monitor.objectName != null) {
+				try {
+					this.server.unregisterMBean(monitor.objectName);
+				}
+				catch (JMException ex) {
+					jmxLogger.warn("Could not unregister latency monitor MBean [" + monitor.objectName + "]", ex);
+				}
+				monitor.objectName = null;
+			}
+		}
+	}
+
+
+	private BeanLatencyMonitor getMonitor(MethodInvocation invocation) {
+		Object key = (invocation instanceof ProxyMethodInvocation ? ((ProxyMethodInvocation) invocation)
+				.getUserAttribute(ExposeBeanNameAdvisors.BEAN_NAME_ATTRIBUTE) : null);
+		if (key == null) {
+			Object target = invocation.getThis();
+			key = (target != null ? target.getClass() : invocation.getMethod().getDeclaringClass());
+		}
+		BeanLatencyMonitor monitor = this.monitors.get(key);
+		if (monitor == null) {
+			String beanName = (key instanceof Class ? ClassUtils.getUserClass((Class<?>) key).getName() : (String) key);
+			monitor = new BeanLatencyMonitor(getPrefix() + beanName + getSuffix());
+			BeanLatencyMonitor existing = this.monitors.putIfAbsent(key, monitor);
+			if (existing != null) {
+				return existing;
+			}
+			registerMonitor(monitor);
+		}
+		return monitor;
+	}
+
+	private void registerMonitor(BeanLatencyMonitor monitor) {
+		if (this.server == null) {
+			return;
+		}
+		String interceptorName = (this.interceptorName != null ?
+				this.interceptorName : ObjectUtils.getIdentityHexString(this));
+		try {
+			ObjectName objectName = new ObjectName(this.objectNameDomain + ":type=LatencyMonitor,interceptor=" +
+					ObjectName.quote(interceptorName) + ",name=" + ObjectName.quote(monitor.getBeanName()));
+			if (this.server.isRegistered(objectName)) {
+				// E.g. same-named classes from different ClassLoaders, or a shared server across contexts
+				jmxLogger.warn("Not registering latency monitor for [" + monitor.getBeanName() +
+						"]: MBean name [" + objectName + "] already in use");
+				return;
+			}
+			this.server.registerMBean(monitor, objectName);
+			monitor.objectName = objectName;
+		}
+		catch (JMException ex) {
+			jmxLogger.warn("Could not register latency monitor MBean for [" + monitor.getBeanName() + "]", ex);
+		}
+	}
+
+
+	//---------------------------------------------------------------------
+	// Serialization support
+	//---------------------------------------------------------------------
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		// Rely on default serialization, just initialize state after deserialization.
+		ois.defaultReadObject();
+
+		// Initialize transient fields.
+		this.monitors = new ConcurrentHashMap<Object, BeanLatencyMonitor>(64);
+	}
+
+
+	/**
+	 * Latency histograms for the methods of a single bean.
+	 */
+	private static class BeanLatencyMonitor implements LatencyMonitorMXBean {
+
+		private final String beanName;
+
+		private final ConcurrentMap<Method, LatencyHistogram> histograms =
+				new ConcurrentHashMap<Method, LatencyHistogram>(16);
+
+		volatile ObjectName objectName;
+
+		public BeanLatencyMonitor(String beanName) {
+			this.beanName = beanName;
+		}
+
+		public LatencyHistogram getHistogram(Method method) {
+			LatencyHistogram histogram = this.histograms.get(method);
+			if (histogram == null) {
+				histogram = new LatencyHistogram(getMethodSignature(method));
+				LatencyHistogram existing = this.histograms.putIfAbsent(method, histogram);
+				if (existing != null) {
+					histogram = existing;
+				}
+			}
+			return histogram;
+		}
+
+		@Override
+		public String getBeanName() {
+			return this.beanName;
+		}
+
+		@Override
+		public List<LatencyHistogram> getMethodLatencies() {
+			return new ArrayList<LatencyHistogram>(this.histograms.values());
+		}
+
+		@Override
+		public void reset() {
+			for (LatencyHistogram histogram : this.histograms.values()) {
+				histogram.reset();
+			}
+		}
+
+		private static String getMethodSignature(Method method) {
+			StringBuilder sb = new StringBuilder(method.getName()).append('(');
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			for (int i = 0; i < parameterTypes.length; i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+				sb.append(parameterTypes[i].getSimpleName());
+			}
+			return sb.append(')').toString();
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import java.util.List;
+
+/**
+ * JMX management interface for the method latencies of a single bean,
+ * as recorded by {@link LatencyHistogramMonitorInterceptor}.
+ *
+ * <p>
+ *  单个bean的方法延迟的JMX管理接口,由{@link LatencyHistogramMonitorInterceptor}记录
+ * 
+ * 
+ * @since 4.3
+ */
+public interface LatencyMonitorMXBean {
+
+	/**
+	 * Return the name of the monitored bean, i.e. its user-level class name.
+	 * <p>
+	 *  返回被监控bean的名称,即其用户级类名
+	 * 
+	 */
+	String getBeanName();
+
+	/**
+	 * Return the latency histograms of all methods invoked so far.
+	 * <p>
+	 *  返回迄今为止调用过的所有方法的延迟直方图
+	 * 
+	 */
+	List<LatencyHistogram> getMethodLatencies();
+
+	/**
+	 * Reset the latency histograms of all methods.
+	 * <p>
+	 *  重置所有方法的延迟直方图
+	 */
+	void reset();
+
+}
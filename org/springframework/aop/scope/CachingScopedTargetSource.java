@@ -0,0 +1,151 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.scope;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.ref.WeakReference;
+
+import org.springframework.aop.target.SimpleBeanTargetSource;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.CacheableScope;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.util.StringUtils;
+
+/**
+ * TargetSource for scoped proxies that caches the target bean per thread for as
+ * long as its {@link CacheableScope} reports the same active scope instance,
+ * sparing repeated calls on the proxy the bean name resolution, merged bean
+ * definition lookup and {@link Scope#get} round trip of
+ * {@link SimpleBeanTargetSource}. Falls back to the latter for scopes that do
+ * not implement {@code CacheableScope}.
+ *
+ * <p>Scope instance and target are only weakly referenced, so a thread does not
+ * keep them alive beyond the end of the scope instance. A target removed from
+ * the scope other than through the proxy's {@link ScopedObject#removeFromScope()}
+ * remains cached until the scope instance changes.
+ *
+ * <p>
+ *  作用域代理的TargetSource,只要其{@link CacheableScope}报告相同的活动作用域实例,就按线程缓存目标bean,
+ * 使对代理的重复调用免去{@link SimpleBeanTargetSource}的bean名称解析、合并bean定义查找和{@link Scope#get}往返对于未实现{@code CacheableScope}的作用域,回退到后者
+ * 
+ *  <p>作用域实例和目标仅被弱引用,因此线程不会使它们在作用域实例结束后仍保持存活不是通过代理的{@link ScopedObject#removeFromScope()}从作用域中移除的目标,在作用域实例改变之前仍保持缓存
+ * 
+ * 
+ * @since 4.3
+ * @see CacheableScope#getCurrentScopeInstance()
+ */
+@SuppressWarnings("serial")
+class CachingScopedTargetSource extends SimpleBeanTargetSource {
+
+	private static final Object NO_CACHEABLE_SCOPE = new Object();
+
+	private transient volatile Object scope;
+
+	private transient ThreadLocal<CachedTarget> cachedTarget = new NamedThreadLocal<CachedTarget>("Cached scoped target");
+
+
+	@Override
+	public Object getTarget() throws Exception {
+		CacheableScope scope = getCacheableScope();
+		Object scopeInstance = (scope != null ? scope.getCurrentScopeInstance() : null);
+		if (scopeInstance == null) {
+			return super.getTarget();
+		}
+		CachedTarget cached = this.cachedTarget.get();
+		if (cached != null) {
+			Object target = cached.getTarget(scopeInstance);
+			if (target != null) {
+				return target;
+			}
+		}
+		Object target = super.getTarget();
+		this.cachedTarget.set(new CachedTarget(scopeInstance, target));
+		return target;
+	}
+
+	/**
+	 * Clear the target cached for the current thread, e.g. after it
+	 * has been removed from its scope.
+	 */
+	public void clearCachedTarget() {
+		this.cachedTarget.remove();
+	}
+
+	private CacheableScope getCacheableScope() {
+		Object scope = this.scope;
+		if (scope == null) {
+			BeanFactory beanFactory = getBeanFactory();
+			if (!(beanFactory instanceof ConfigurableBeanFactory)) {
+				scope = NO_CACHEABLE_SCOPE;
+			}
+			else {
+				ConfigurableBeanFactory cbf = (ConfigurableBeanFactory) beanFactory;
+				String scopeName;
+				try {
+					scopeName = cbf.getMergedBeanDefinition(getTargetBeanName()).getScope();
+				}
+				catch (NoSuchBeanDefinitionException ex) {
+					// Let getBean report the missing target.
+					return null;
+				}
+				Scope registeredScope = (StringUtils.hasLength(scopeName) ? cbf.getRegisteredScope(scopeName) : null);
+				scope = (registeredScope instanceof CacheableScope ? registeredScope : NO_CACHEABLE_SCOPE);
+			}
+			this.scope = scope;
+		}
+		return (scope != NO_CACHEABLE_SCOPE ? (CacheableScope) scope : null);
+	}
+
+
+	//---------------------------------------------------------------------
+	// Serialization support
+	//---------------------------------------------------------------------
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		// Rely on default serialization, just initialize state after deserialization.
+		ois.defaultReadObject();
+
+		// Initialize transient fields.
+		this.cachedTarget = new NamedThreadLocal<CachedTarget>("Cached scoped target");
+	}
+
+
+	/**
+	 * Target obtained within a specific scope instance.
+	 */
+	private static class CachedTarget {
+
+		private final WeakReference<Object> scopeInstance;
+
+		private final WeakReference<Object> target;
+
+		public CachedTarget(Object scopeInstance, Object target) {
+			this.scopeInstance = new WeakReference<Object>(scopeInstance);
+			this.target = new WeakReference<Object>(target);
+		}
+
+		public Object getTarget(Object scopeInstance) {
+			return (this.scopeInstance.get() == scopeInstance ? this.target.get() : null);
+		}
+	}
+
+}
@@ -23,7 +23,6 @@ import org.springframework.aop.framework.AopInfrastructureBean;
 import org.springframework.aop.framework.ProxyConfig;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.aop.support.DelegatingIntroductionInterceptor;
-import org.springframework.aop.target.SimpleBeanTargetSource;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.FactoryBean;
@@ -63,7 +62,7 @@ import org.springframework.util.ClassUtils;
 public class ScopedProxyFactoryBean extends ProxyConfig implements FactoryBean<Object>, BeanFactoryAware {
 
 	/** The TargetSource that manages scoping */
-	private final SimpleBeanTargetSource scopedTargetSource = new SimpleBeanTargetSource();
+	private final CachingScopedTargetSource scopedTargetSource = new CachingScopedTargetSource();
 
 	/** The name of the target bean */
 	private String targetBeanName;
@@ -116,7 +115,8 @@ public class ScopedProxyFactoryBean extends ProxyConfig implements FactoryBean<O
 		}
 
 		// Add an introduction that implements only the methods on ScopedObject.
-		ScopedObject scopedObject = new DefaultScopedObject(cbf, this.scopedTargetSource.getTargetBeanName());
+		ScopedObject scopedObject =
+				new CacheClearingScopedObject(cbf, this.scopedTargetSource.getTargetBeanName(), this.scopedTargetSource);
 		pf.addAdvice(new DelegatingIntroductionInterceptor(scopedObject));
 
 		// Add the AopInfrastructureBean marker to indicate that the scoped proxy
@@ -148,4 +148,29 @@ public class ScopedProxyFactoryBean extends ProxyConfig implements FactoryBean<O
 		return true;
 	}
 
+
+
+	/**
+	 * ScopedObject that also clears the target cached by the proxy's
+	 * TargetSource when removing the target from its scope.
+	 */
+	@SuppressWarnings("serial")
+	private static class CacheClearingScopedObject extends DefaultScopedObject {
+
+		private final CachingScopedTargetSource targetSource;
+
+		public CacheClearingScopedObject(ConfigurableBeanFactory beanFactory, String targetBeanName,
+				CachingScopedTargetSource targetSource) {
+
+			super(beanFactory, targetBeanName);
+			this.targetSource = targetSource;
+		}
+
+		@Override
+		public void removeFromScope() {
+			super.removeFromScope();
+			this.targetSource.clearCachedTarget();
+		}
+	}
+
 }
@@ -55,6 +55,18 @@ public class AnnotationMethodMatcher extends StaticMethodMatcher {
 	}
 
 
+	/**
+	 * Return the annotation type that this matcher looks for.
+	 * <p>
+	 *  返回此匹配器查找的注释类型
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public Class<? extends Annotation> getAnnotationType() {
+		return this.annotationType;
+	}
+
 	@Override
 	public boolean matches(Method method, Class<?> targetClass) {
 		if (method.isAnnotationPresent(this.annotationType)) {
@@ -0,0 +1,583 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.core.NamedThreadLocal;
+
+/**
+ * {@link org.springframework.aop.TargetSource} implementation that holds
+ * objects in a built-in, lock-free pool, without any external dependency.
+ *
+ * <p>Each thread remembers the target it used last and reclaims it without
+ * contention if it is still idle. Other idle targets are kept on a lock-free
+ * stack shared by all threads; ownership of a target is always decided by a
+ * single compare-and-set, so targets never get handed out twice. Only borrows
+ * that find the pool exhausted block, for at most {@link #setMaxWait maxWait}.
+ * Waiting is not fair: a returning thread may reclaim its target before
+ * a waiting borrower wakes up, favoring throughput over fairness.
+ *
+ * <p>Idle targets can be evicted after {@link #setMinEvictableIdleTimeMillis
+ * minEvictableIdleTimeMillis}. Eviction runs are piggybacked on target returns,
+ * at most once per {@link #setTimeBetweenEvictionRunsMillis
+ * timeBetweenEvictionRunsMillis}, so no background thread is needed.
+ *
+ * <p>Borrow statistics are exposed via {@link ConcurrentPoolingTargetSourceMBean},
+ * which makes instances of this class exportable as standard JMX MBeans.
+ *
+ * <p>
+ *  {@link org.springframework.aop.TargetSource}实现,将对象保存在内置的无锁池中,不依赖任何外部库
+ * 
+ * <p>每个线程记住它上次使用的目标,如果该目标仍处于空闲状态,则无争用地重新获取它其他空闲目标保存在所有线程共享的无锁栈上;目标的所有权总是由单个比较并交换决定,因此目标永远不会被重复借出只有发现池已耗尽的借用才会阻塞,最多阻塞{@link #setMaxWait maxWait}等待并不公平：归还目标的线程可能在等待的借用者被唤醒之前重新获取其目标,以吞吐量优先于公平性
+ * 
+ * <p>空闲目标可以在{@link #setMinEvictableIdleTimeMillis minEvictableIdleTimeMillis}之后被逐出逐出运行附加在目标归还时进行,每{@link #setTimeBetweenEvictionRunsMillis timeBetweenEvictionRunsMillis}最多一次,因此不需要后台线程
+ * 
+ * <p>借用统计信息通过{@link ConcurrentPoolingTargetSourceMBean}公开,这使得此类的实例可以作为标准JMX MBean导出
+ * 
+ * 
+ * @since 4.3
+ * @see CommonsPool2TargetSource
+ * @see #setMaxSize
+ * @see #setMaxWait
+ * @see #setMinIdle
+ * @see #setTimeBetweenEvictionRunsMillis
+ * @see #setMinEvictableIdleTimeMillis
+ */
+@SuppressWarnings("serial")
+public class ConcurrentPoolingTargetSource extends AbstractPoolingTargetSource
+		implements ConcurrentPoolingTargetSourceMBean {
+
+	private static final int DEFAULT_MAX_SIZE = 8;
+
+	private static final int IDLE = 0;
+
+	private static final int IN_USE = 1;
+
+	private static final int REMOVED = -1;
+
+
+	private long maxWait = -1;
+
+	private int minIdle = 0;
+
+	private long timeBetweenEvictionRunsMillis = -1;
+
+	private long minEvictableIdleTimeMillis = 1000L * 60L * 30L;
+
+	/** All live targets, whether idle or in use */
+	private final List<PooledTarget> allTargets = new CopyOnWriteArrayList<PooledTarget>();
+
+	/** Head of the lock-free stack of (probably) idle targets */
+	private final AtomicReference<IdleNode> idleStack = new AtomicReference<IdleNode>();
+
+	private final ThreadLocal<PooledTarget> lastTargetInThread =
+			new NamedThreadLocal<PooledTarget>("Last pooled target used by current thread");
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final AtomicInteger waiters = new AtomicInteger();
+
+	private final Object waitMonitor = new Object();
+
+	private final AtomicBoolean evicting = new AtomicBoolean();
+
+	private volatile long nextEvictionRun;
+
+	private volatile boolean closed;
+
+	private final AtomicLong borrowCount = new AtomicLong();
+
+	private final AtomicLong slowBorrowCount = new AtomicLong();
+
+	private final AtomicLong slowBorrowNanos = new AtomicLong();
+
+	private final AtomicLong maxBorrowNanos = new AtomicLong();
+
+	private final AtomicLong exhaustedCount = new AtomicLong();
+
+	private final AtomicLong timeoutCount = new AtomicLong();
+
+	private final AtomicLong createdCount = new AtomicLong();
+
+	private final AtomicLong destroyedCount = new AtomicLong();
+
+
+	/**
+	 * Create a ConcurrentPoolingTargetSource with default settings.
+	 * Default maximum size of the pool is 8.
+	 * <p>
+	 *  使用默认设置创建ConcurrentPoolingTargetSource池的默认最大大小为8
+	 * 
+	 * 
+	 * @see #setMaxSize
+	 */
+	public ConcurrentPoolingTargetSource() {
+		setMaxSize(DEFAULT_MAX_SIZE);
+	}
+
+
+	/**
+	 * Set the maximum waiting time in milliseconds for fetching an object
+	 * from an exhausted pool. Default is -1, waiting forever; 0 fails
+	 * immediately with a {@link NoSuchElementException}.
+	 * <p>
+	 *  设置从已耗尽的池中获取对象的最大等待时间(毫秒)默认值为-1,永远等待; 0会立即以{@link NoSuchElementException}失败
+	 * 
+	 */
+	public void setMaxWait(long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Return the maximum waiting time for fetching an object from the pool.
+	 * <p>
+	 *  返回从池中获取对象的最大等待时间
+	 * 
+	 */
+	public long getMaxWait() {
+		return this.maxWait;
+	}
+
+	/**
+	 * Set the minimum number of idle objects that idle eviction keeps in the pool.
+	 * Default is 0.
+	 * <p>
+	 *  设置空闲逐出在池中保留的最小空闲对象数默认为0
+	 * 
+	 */
+	public void setMinIdle(int minIdle) {
+		this.minIdle = minIdle;
+	}
+
+	/**
+	 * Return the minimum number of idle objects in the pool.
+	 * <p>
+	 *  返回池中空闲对象的最小数量
+	 * 
+	 */
+	public int getMinIdle() {
+		return this.minIdle;
+	}
+
+	/**
+	 * Set the minimum time between eviction runs that check idle objects whether
+	 * they have been idle for too long. Default is -1, not performing any eviction.
+	 * <p>
+	 *  设置检查空闲对象是否空闲时间过长的逐出运行之间的最短时间默认值为-1,不执行任何逐出
+	 * 
+	 */
+	public void setTimeBetweenEvictionRunsMillis(long timeBetweenEvictionRunsMillis) {
+		this.timeBetweenEvictionRunsMillis = timeBetweenEvictionRunsMillis;
+	}
+
+	/**
+	 * Return the minimum time between eviction runs that check idle objects.
+	 * <p>
+	 *  返回检查空闲对象的逐出运行之间的最短时间
+	 * 
+	 */
+	public long getTimeBetweenEvictionRunsMillis() {
+		return this.timeBetweenEvictionRunsMillis;
+	}
+
+	/**
+	 * Set the minimum time that an idle object can sit in the pool before
+	 * it becomes subject to eviction. Default is 1800000 (30 minutes).
+	 * <p>
+	 *  设置空闲对象在成为逐出对象之前可以在池中停留的最短时间默认值为1800000(30分钟)
+	 * 
+	 * 
+	 * @see #setTimeBetweenEvictionRunsMillis
+	 */
+	public void setMinEvictableIdleTimeMillis(long minEvictableIdleTimeMillis) {
+		this.minEvictableIdleTimeMillis = minEvictableIdleTimeMillis;
+	}
+
+	/**
+	 * Return the minimum time that an idle object can sit in the pool.
+	 * <p>
+	 *  返回空闲对象可以在池中停留的最短时间
+	 * 
+	 */
+	public long getMinEvictableIdleTimeMillis() {
+		return this.minEvictableIdleTimeMillis;
+	}
+
+
+	@Override
+	protected void createPool() {
+		logger.debug("Creating concurrent object pool");
+		if (this.timeBetweenEvictionRunsMillis > 0) {
+			this.nextEvictionRun = System.currentTimeMillis() + this.timeBetweenEvictionRunsMillis;
+		}
+	}
+
+	/**
+	 * Borrow a target from the pool: the current thread's last target if idle,
+	 * otherwise any idle target, otherwise a new target as long as the maximum
+	 * size has not been reached, otherwise the next target returned.
+	 * <p>
+	 *  从池中借用目标：如果当前线程上次使用的目标空闲则使用它,否则使用任何空闲目标,在未达到最大大小时创建新目标,否则等待下一个归还的目标
+	 * 
+	 * 
+	 * @throws NoSuchElementException if the pool remained exhausted for the maximum wait time
+	 */
+	@Override
+	public Object getTarget() throws Exception {
+		if (this.closed) {
+			throw new IllegalStateException("Pool for bean '" + getTargetBeanName() + "' has been closed");
+		}
+		this.borrowCount.incrementAndGet();
+		PooledTarget target = this.lastTargetInThread.get();
+		if (target == null || !target.claim()) {
+			target = pollIdle();
+			if (target == null) {
+				target = borrowSlow();
+			}
+			this.lastTargetInThread.set(target);
+		}
+		return target.object;
+	}
+
+	/**
+	 * Return the given target to the pool, waking up a waiting borrower if any.
+	 * <p>
+	 *  将给定目标归还到池中,如果有等待的借用者则唤醒它
+	 * 
+	 */
+	@Override
+	public void releaseTarget(Object target) throws Exception {
+		PooledTarget pooled = this.lastTargetInThread.get();
+		if (pooled == null || pooled.object != target) {
+			pooled = findPooledTarget(target);
+			if (pooled == null) {
+				throw new IllegalStateException("Returned object not currently part of this pool: " + target);
+			}
+			this.lastTargetInThread.set(pooled);
+		}
+		if (this.timeBetweenEvictionRunsMillis > 0) {
+			pooled.lastReturnedTime = System.currentTimeMillis();
+		}
+		if (!pooled.state.compareAndSet(IN_USE, IDLE)) {
+			throw new IllegalStateException("Object has already been returned to this pool: " + target);
+		}
+		if (this.closed) {
+			// Closed while in use: destroy instead of keeping it
+			if (pooled.state.compareAndSet(IDLE, REMOVED)) {
+				remove(pooled);
+			}
+			return;
+		}
+		pushIdle(pooled);
+		if (this.waiters.get() > 0) {
+			synchronized (this.waitMonitor) {
+				this.waitMonitor.notify();
+			}
+		}
+		if (this.timeBetweenEvictionRunsMillis > 0) {
+			evictIfDue();
+		}
+	}
+
+	@Override
+	public int getActiveCount() {
+		return Math.max(this.size.get() - getIdleCount(), 0);
+	}
+
+	@Override
+	public int getIdleCount() {
+		int idleCount = 0;
+		for (PooledTarget target : this.allTargets) {
+			if (target.state.get() == IDLE) {
+				idleCount++;
+			}
+		}
+		return idleCount;
+	}
+
+	@Override
+	public long getBorrowCount() {
+		return this.borrowCount.get();
+	}
+
+	@Override
+	public long getSlowBorrowCount() {
+		return this.slowBorrowCount.get();
+	}
+
+	@Override
+	public double getAverageSlowBorrowMillis() {
+		long count = this.slowBorrowCount.get();
+		return (count > 0 ? this.slowBorrowNanos.get() / (double) count / 1000000 : 0);
+	}
+
+	@Override
+	public double getMaxBorrowMillis() {
+		return this.maxBorrowNanos.get() / 1000000d;
+	}
+
+	@Override
+	public long getExhaustedCount() {
+		return this.exhaustedCount.get();
+	}
+
+	@Override
+	public long getTimeoutCount() {
+		return this.timeoutCount.get();
+	}
+
+	@Override
+	public long getCreatedCount() {
+		return this.createdCount.get();
+	}
+
+	@Override
+	public long getDestroyedCount() {
+		return this.destroyedCount.get();
+	}
+
+
+	/**
+	 * Close the pool, destroying all idle targets. Targets currently in use
+	 * get destroyed when returned.
+	 * <p>
+	 *  关闭池,销毁所有空闲目标当前正在使用的目标在归还时被销毁
+	 */
+	@Override
+	public void destroy() {
+		logger.debug("Closing concurrent object pool");
+		this.closed = true;
+		for (PooledTarget target : this.allTargets) {
+			if (target.state.compareAndSet(IDLE, REMOVED)) {
+				remove(target);
+			}
+		}
+		this.idleStack.set(null);
+		synchronized (this.waitMonitor) {
+			this.waitMonitor.notifyAll();
+		}
+		this.lastTargetInThread.remove();
+	}
+
+
+	private PooledTarget pollIdle() {
+		IdleNode head;
+		while ((head = this.idleStack.get()) != null) {
+			if (this.idleStack.compareAndSet(head, head.next)) {
+				PooledTarget target = head.target;
+				// Clear the marker before claiming, so that a concurrent return re-pushes it
+				target.inIdleStack.set(false);
+				if (target.claim()) {
+					return target;
+				}
+			}
+		}
+		return null;
+	}
+
+	private void pushIdle(PooledTarget target) {
+		if (target.inIdleStack.compareAndSet(false, true)) {
+			IdleNode node = new IdleNode(target);
+			do {
+				node.next = this.idleStack.get();
+			}
+			while (!this.idleStack.compareAndSet(node.next, node));
+		}
+	}
+
+	private PooledTarget borrowSlow() throws Exception {
+		long startTime = System.nanoTime();
+		try {
+			PooledTarget target = createIfBelowMaxSize();
+			if (target == null) {
+				this.exhaustedCount.incrementAndGet();
+				target = awaitIdle(startTime);
+			}
+			return target;
+		}
+		finally {
+			long elapsed = System.nanoTime() - startTime;
+			this.slowBorrowCount.incrementAndGet();
+			this.slowBorrowNanos.addAndGet(elapsed);
+			long max;
+			while (elapsed > (max = this.maxBorrowNanos.get()) && !this.maxBorrowNanos.compareAndSet(max, elapsed)) {
+				// retry
+			}
+		}
+	}
+
+	private PooledTarget createIfBelowMaxSize() {
+		int maxSize = getMaxSize();
+		int current;
+		do {
+			current = this.size.get();
+			if (maxSize > 0 && current >= maxSize) {
+				return null;
+			}
+		}
+		while (!this.size.compareAndSet(current, current + 1));
+
+		boolean created = false;
+		try {
+			PooledTarget target = new PooledTarget(newPrototypeInstance());
+			this.allTargets.add(target);
+			this.createdCount.incrementAndGet();
+			created = true;
+			return target;
+		}
+		finally {
+			if (!created) {
+				this.size.decrementAndGet();
+			}
+		}
+	}
+
+	private PooledTarget awaitIdle(long startTime) throws InterruptedException {
+		if (this.maxWait == 0) {
+			this.timeoutCount.incrementAndGet();
+			throw new NoSuchElementException("Pool exhausted for bean '" + getTargetBeanName() + "'");
+		}
+		long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(this.maxWait);
+		this.waiters.incrementAndGet();
+		try {
+			synchronized (this.waitMonitor) {
+				while (true) {
+					if (this.closed) {
+						throw new IllegalStateException("Pool for bean '" + getTargetBeanName() + "' has been closed");
+					}
+					PooledTarget target = pollIdle();
+					if (target == null) {
+						// Capacity may have been freed by eviction in the meantime
+						target = createIfBelowMaxSize();
+					}
+					if (target != null) {
+						return target;
+					}
+					if (this.maxWait > 0) {
+						long remaining = deadline - System.nanoTime();
+						if (remaining <= 0) {
+							this.timeoutCount.incrementAndGet();
+							throw new NoSuchElementException("Timeout waiting for idle object of bean '" +
+									getTargetBeanName() + "'");
+						}
+						TimeUnit.NANOSECONDS.timedWait(this.waitMonitor, remaining);
+					}
+					else {
+						this.waitMonitor.wait();
+					}
+				}
+			}
+		}
+		finally {
+			this.waiters.decrementAndGet();
+		}
+	}
+
+	private PooledTarget findPooledTarget(Object target) {
+		for (PooledTarget candidate : this.allTargets) {
+			if (candidate.object == target) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private void evictIfDue() {
+		long now = System.currentTimeMillis();
+		if (now < this.nextEvictionRun || !this.evicting.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			this.nextEvictionRun = now + this.timeBetweenEvictionRunsMillis;
+			int evictable = getIdleCount() - this.minIdle;
+			for (PooledTarget target : this.allTargets) {
+				if (evictable <= 0) {
+					break;
+				}
+				if (target.state.get() == IDLE && now - target.lastReturnedTime >= this.minEvictableIdleTimeMillis &&
+						target.state.compareAndSet(IDLE, REMOVED)) {
+					remove(target);
+					evictable--;
+				}
+			}
+		}
+		finally {
+			this.evicting.set(false);
+		}
+	}
+
+	private void remove(PooledTarget target) {
+		this.allTargets.remove(target);
+		this.size.decrementAndGet();
+		this.destroyedCount.incrementAndGet();
+		destroyPrototypeInstance(target.object);
+		if (this.waiters.get() > 0) {
+			// Capacity has been freed for a waiting borrower to create a new target
+			synchronized (this.waitMonitor) {
+				this.waitMonitor.notify();
+			}
+		}
+	}
+
+
+	/**
+	 * A pooled target object along with its pool state.
+	 */
+	private static class PooledTarget {
+
+		final Object object;
+
+		final AtomicInteger state = new AtomicInteger(IN_USE);
+
+		final AtomicBoolean inIdleStack = new AtomicBoolean();
+
+		volatile long lastReturnedTime;
+
+		PooledTarget(Object object) {
+			this.object = object;
+		}
+
+		boolean claim() {
+			return this.state.compareAndSet(IDLE, IN_USE);
+		}
+	}
+
+
+	/**
+	 * Node of the idle stack. A fresh node per push avoids ABA issues.
+	 */
+	private static class IdleNode {
+
+		final PooledTarget target;
+
+		IdleNode next;
+
+		IdleNode(PooledTarget target) {
+			this.target = target;
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+/**
+ * Statistics for a {@link ConcurrentPoolingTargetSource}, on top of the basic
+ * {@link PoolingConfig} properties.
+ *
+ * <p>Follows the JMX standard MBean naming convention, so that a
+ * ConcurrentPoolingTargetSource bean gets exported as-is by
+ * {@link org.springframework.jmx.export.MBeanExporter} autodetection.
+ *
+ * <p>
+ *  {@link ConcurrentPoolingTargetSource}的统计信息,基于{@link PoolingConfig}的基本属性
+ * 
+ * <p>遵循JMX标准MBean命名约定,因此ConcurrentPoolingTargetSource bean会被{@link org.springframework.jmx.export.MBeanExporter}的自动检测按原样导出
+ * 
+ * 
+ * @since 4.3
+ */
+public interface ConcurrentPoolingTargetSourceMBean extends PoolingConfig {
+
+	/**
+	 * Return the total number of targets borrowed from the pool.
+	 * <p>
+	 *  返回从池中借出的目标总数
+	 * 
+	 */
+	long getBorrowCount();
+
+	/**
+	 * Return the number of borrows that could not be served by an idle target
+	 * and therefore had to create a new target or wait for one to be returned.
+	 * <p>
+	 *  返回无法由空闲目标满足,因而必须创建新目标或等待目标归还的借用次数
+	 * 
+	 */
+	long getSlowBorrowCount();
+
+	/**
+	 * Return the average latency of slow borrows, in milliseconds.
+	 * <p>
+	 *  返回慢速借用的平均延迟(以毫秒为单位)
+	 * 
+	 */
+	double getAverageSlowBorrowMillis();
+
+	/**
+	 * Return the maximum latency of a single borrow, in milliseconds.
+	 * <p>
+	 *  返回单次借用的最大延迟(以毫秒为单位)
+	 * 
+	 */
+	double getMaxBorrowMillis();
+
+	/**
+	 * Return the number of borrows that found the pool exhausted,
+	 * i.e. with all targets in use and the maximum size reached.
+	 * <p>
+	 *  返回发现池已耗尽(即所有目标都在使用中且已达到最大大小)的借用次数
+	 * 
+	 */
+	long getExhaustedCount();
+
+	/**
+	 * Return the number of borrows that gave up after the maximum wait time.
+	 * <p>
+	 *  返回在最大等待时间后放弃的借用次数
+	 * 
+	 */
+	long getTimeoutCount();
+
+	/**
+	 * Return the number of targets created so far.
+	 * <p>
+	 *  返回迄今为止创建的目标数量
+	 * 
+	 */
+	long getCreatedCount();
+
+	/**
+	 * Return the number of targets destroyed so far, e.g. through idle eviction.
+	 * <p>
+	 *  返回迄今为止销毁的目标数量,例如通过空闲逐出
+	 */
+	long getDestroyedCount();
+
+}
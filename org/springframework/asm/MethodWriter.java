@@ -1391,10 +1391,6 @@ class MethodWriter extends MethodVisitor {
         if (i.type == ClassWriter.LONG || i.type == ClassWriter.DOUBLE) {
             code.put12(20 /* LDC2_W */, index);
         } else if (index >= 256) {
-            code.put12(20 /* <p>
-            code.put12(20 /*  } else if(index> = 256){
-            code.put12(20 /* 
-            code.put12(20 /* 
             code.put12(19 /* LDC_W */, index);
         } else {
             code.put11(Opcodes.LDC, index);
@@ -1418,14 +1414,6 @@ class MethodWriter extends MethodVisitor {
         }
         // adds the instruction to the bytecode of the method
         if ((var > 255) || (increment > 127) || (increment < -128)) {
-            code.put12(19 /* <p>
-            code.put12(19 /*  } else {codeput11(OpcodesLDC,index); }}
-            code.put12(19 /* 
-            code.put12(19 /* @Override public void visitIincInsn(final int var,final int increment){lastCodeOffset = codelength; if(currentBlock！= null){if(compute == FRAMES){currentBlockframeexecute(OpcodesIINC,var,null,null); }
-            code.put12(19 /* } if(compute！= NOTHING){//更新max locals int n = var + 1; if(n> maxLocals){maxLocals = n; }} //将指令添加到方法
-            code.put12(19 /* 的字节码if((var> 255)||(increment> 127)||(increment <-128)){。
-            code.put12(19 /* 
-            code.put12(19 /* 
             code.putByte(196 /* WIDE */).put12(Opcodes.IINC, var)
                     .putShort(increment);
         } else {
@@ -0,0 +1,53 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.config;
+
+/**
+ * Extension of the {@link Scope} interface for scopes that can identify their
+ * currently active instance (e.g. the current request), allowing callers such
+ * as scoped proxies to cache objects obtained from the scope for as long as
+ * the same instance remains active instead of going through
+ * {@link Scope#get} on every access.
+ *
+ * <p>Implementations must keep their objects referenced for as long as the
+ * corresponding scope instance is active, and must not hand out the same
+ * identity for a later instance of the scope.
+ *
+ * <p>
+ *  {@link Scope}接口的扩展,适用于能够识别当前活动实例(例如当前请求)的作用域,允许诸如作用域代理之类的调用者在同一实例保持活动期间缓存从作用域获取的对象,
+ * 而不是每次访问都通过{@link Scope#get}
+ * 
+ *  <p>实现必须在相应作用域实例活动期间保持对其对象的引用,并且不得为该作用域的后续实例提供相同的标识
+ * 
+ * 
+ * @since 4.3
+ * @see org.springframework.aop.scope.ScopedProxyFactoryBean
+ */
+public interface CacheableScope extends Scope {
+
+	/**
+	 * Return the object identifying the currently active instance of this scope,
+	 * compared by identity, or {@code null} if none is active or objects from the
+	 * current instance are not to be cached.
+	 * <p>
+	 *  返回标识此作用域当前活动实例的对象(按标识比较),如果没有活动实例或不应缓存当前实例中的对象,则返回{@code null}
+	 * 
+	 */
+	Object getCurrentScopeInstance();
+
+}
@@ -0,0 +1,441 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cglib.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.cglib.proxy.CallbackFilter;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.SpringVersion;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link GeneratorStrategy} decorator that persists generated class bytes in a
+ * local directory and serves them from there on subsequent runs, skipping ASM
+ * generation entirely as long as the cache key is unchanged.
+ *
+ * <p>Subclasses provide the cache key via {@link #buildCacheKey()}, typically
+ * consisting of {@link #appendTypeSignature type signatures} (class names plus
+ * digests of their class files) of the superclass and interfaces and a description
+ * of the callback setup. The current Spring and Java versions are always included,
+ * as well as the {@code Enhancer} settings which affect the generated bytecode.
+ * Without a determinable Spring version, no classes get persisted.
+ *
+ * <p>Names of classes served from disk are reported to {@link SpringNamingPolicy},
+ * so that CGLIB never assigns them to freshly generated classes.
+ *
+ * <p>The directory is configured through the {@value #CACHE_DIRECTORY_PROPERTY_NAME}
+ * property, as a JVM system property or via {@link SpringProperties}. Any failure to
+ * read or write the cache falls back to regular generation.
+ *
+ * <p>
+ *  {@link GeneratorStrategy}装饰器,将生成的类字节持久化到本地目录中,并在后续运行中从该目录提供这些字节,
+ * 只要缓存键不变就完全跳过ASM生成
+ * 
+ *  <p>子类通过{@link #buildCacheKey()}提供缓存键,通常由超类和接口的{@link #appendTypeSignature 类型签名}(类名加上其类文件的摘要)以及回调设置的描述组成
+ * 始终包含当前的Spring和Java版本,以及影响生成字节码的{@code Enhancer}设置如果无法确定Spring版本,则不会持久化任何类
+ * 
+ *  <p>从磁盘提供的类的名称会报告给{@link SpringNamingPolicy},因此CGLIB永远不会将它们分配给新生成的类
+ * 
+ *  <p>目录通过{@value #CACHE_DIRECTORY_PROPERTY_NAME}属性配置,可以作为JVM系统属性或通过{@link SpringProperties}设置读取或写入缓存的任何失败都会回退到常规生成
+ * 
+ * 
+ * @since 4.3
+ * @see org.springframework.core.SpringProperties
+ */
+public abstract class PersistentGeneratorStrategy implements GeneratorStrategy {
+
+	/**
+	 * Property that specifies the directory for persisted CGLIB classes:
+	 * {@value}. Persistent caching is disabled unless this is set.
+	 */
+	public static final String CACHE_DIRECTORY_PROPERTY_NAME = "spring.cglib.cacheDirectory";
+
+	private static final int ENTRY_MAGIC = 0x53434743;
+
+	private static final int ENTRY_FORMAT_VERSION = 2;
+
+	private static final String ENTRY_SUFFIX = ".cglib";
+
+	/** Enhancer fields which affect the generated class without being visible to the strategy */
+	private static final String[] GENERATOR_SETTING_FIELDS =
+			new String[] {"useFactory", "interceptDuringConstruction", "serialVersionUID"};
+
+	private static final Log logger = LogFactory.getLog(PersistentGeneratorStrategy.class);
+
+	private static final Map<Class<?>, String> classFileDigestCache =
+			new ConcurrentReferenceHashMap<Class<?>, String>(64);
+
+	/** Class names served from disk per ClassLoader, to never define the same name twice */
+	private static final Map<ClassLoader, Set<String>> servedClassNames = new WeakHashMap<ClassLoader, Set<String>>();
+
+	/** Class names served from disk in any ClassLoader, to be avoided by the naming policy */
+	private static final Set<String> allServedClassNames =
+			Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>(64));
+
+
+	private final GeneratorStrategy delegate;
+
+	private final File cacheDirectory;
+
+
+	/**
+	 * Create a new PersistentGeneratorStrategy.
+	 * <p>
+	 *  创建一个新的PersistentGeneratorStrategy
+	 * 
+	 * 
+	 * @param delegate the strategy that actually generates classes on a cache miss
+	 * @param cacheDirectory the directory to persist generated classes in
+	 */
+	protected PersistentGeneratorStrategy(GeneratorStrategy delegate, File cacheDirectory) {
+		this.delegate = delegate;
+		this.cacheDirectory = cacheDirectory;
+	}
+
+
+	@Override
+	public byte[] generate(ClassGenerator cg) throws Exception {
+		String key = buildFullCacheKey(cg);
+		if (key == null) {
+			return this.delegate.generate(cg);
+		}
+		ClassLoader classLoader = (cg instanceof AbstractClassGenerator ?
+				((AbstractClassGenerator) cg).getClassLoader() : null);
+		byte[] keyBytes = key.getBytes("UTF-8");
+		File entry = new File(this.cacheDirectory, DigestUtils.md5DigestAsHex(keyBytes) + ENTRY_SUFFIX);
+
+		byte[] bytes = readEntry(entry, keyBytes, classLoader);
+		if (bytes != null) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Loaded CGLIB class bytes from " + entry);
+			}
+			return bytes;
+		}
+
+		bytes = this.delegate.generate(cg);
+		writeEntry(entry, keyBytes, bytes);
+		return bytes;
+	}
+
+	/**
+	 * Build the cache key for the class about to be generated.
+	 * <p>
+	 *  为即将生成的类构建缓存键
+	 * 
+	 * 
+	 * @return the key, or {@code null} if the class should not be persisted
+	 * (e.g. because a class file digest could not be determined)
+	 * @see #appendTypeSignature
+	 */
+	protected abstract String buildCacheKey();
+
+	private String buildFullCacheKey(ClassGenerator cg) {
+		String springVersion = SpringVersion.getVersion();
+		if (springVersion == null) {
+			return null;
+		}
+		String settings = describeGeneratorSettings(cg);
+		if (settings == null) {
+			return null;
+		}
+		String key = buildCacheKey();
+		if (key == null) {
+			return null;
+		}
+		return "Spring " + springVersion + "; Java " + System.getProperty("java.version") + "; " +
+				settings + "; " + key;
+	}
+
+	/**
+	 * Describe the generator type along with its {@link #GENERATOR_SETTING_FIELDS}.
+	 * These are not exposed by CGLIB, so they are read reflectively; for generators
+	 * without those fields, {@code null} is returned and nothing gets persisted.
+	 */
+	private static String describeGeneratorSettings(ClassGenerator cg) {
+		StringBuilder sb = new StringBuilder(cg.getClass().getName());
+		for (String fieldName : GENERATOR_SETTING_FIELDS) {
+			Field field = ReflectionUtils.findField(cg.getClass(), fieldName);
+			if (field == null) {
+				return null;
+			}
+			ReflectionUtils.makeAccessible(field);
+			sb.append(' ').append(fieldName).append('=').append(ReflectionUtils.getField(field, cg));
+		}
+		return sb.toString();
+	}
+
+	private byte[] readEntry(File entry, byte[] keyBytes, ClassLoader classLoader) {
+		if (!entry.isFile()) {
+			return null;
+		}
+		try {
+			DataInputStream in = new DataInputStream(new FileInputStream(entry));
+			try {
+				if (in.readInt() != ENTRY_MAGIC || in.readInt() != ENTRY_FORMAT_VERSION ||
+						in.readInt() != keyBytes.length) {
+					return null;
+				}
+				byte[] storedKeyBytes = new byte[keyBytes.length];
+				in.readFully(storedKeyBytes);
+				if (!Arrays.equals(storedKeyBytes, keyBytes)) {
+					return null;
+				}
+				String className = in.readUTF();
+				byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				if (ClassUtils.isPresent(className, classLoader)) {
+					// Name already taken in this ClassLoader (e.g. by a freshly generated class)
+					return null;
+				}
+				synchronized (servedClassNames) {
+					Set<String> names = servedClassNames.get(classLoader);
+					if (names == null) {
+						names = new HashSet<String>();
+						servedClassNames.put(classLoader, names);
+					}
+					if (!names.add(className)) {
+						// Already defined from disk in this ClassLoader: generate a fresh one
+						return null;
+					}
+				}
+				allServedClassNames.add(className);
+				return bytes;
+			}
+			finally {
+				in.close();
+			}
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not read CGLIB class cache entry " + entry, ex);
+			}
+			return null;
+		}
+	}
+
+	private void writeEntry(File entry, byte[] keyBytes, byte[] bytes) {
+		File tempFile = null;
+		try {
+			if (!this.cacheDirectory.isDirectory() && !this.cacheDirectory.mkdirs()) {
+				throw new IOException("Could not create directory " + this.cacheDirectory);
+			}
+			String className = new ClassReader(bytes).getClassName().replace('/', '.');
+			tempFile = File.createTempFile("cglib", ".tmp", this.cacheDirectory);
+			DataOutputStream out = new DataOutputStream(new FileOutputStream(tempFile));
+			try {
+				out.writeInt(ENTRY_MAGIC);
+				out.writeInt(ENTRY_FORMAT_VERSION);
+				// Length-prefixed rather than writeUTF, which is limited to 64K
+				out.writeInt(keyBytes.length);
+				out.write(keyBytes);
+				out.writeUTF(className);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+			finally {
+				out.close();
+			}
+			// Atomically replace, so that concurrent readers never see a partial entry
+			if (!tempFile.renameTo(entry)) {
+				entry.delete();
+				if (!tempFile.renameTo(entry)) {
+					throw new IOException("Could not rename " + tempFile + " to " + entry);
+				}
+			}
+			tempFile = null;
+		}
+		catch (Exception ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not write CGLIB class cache entry " + entry, ex);
+			}
+		}
+		finally {
+			if (tempFile != null) {
+				tempFile.delete();
+			}
+		}
+	}
+
+
+	@Override
+	public boolean equals(Object other) {
+		return (this == other || (other instanceof PersistentGeneratorStrategy &&
+				this.delegate.equals(((PersistentGeneratorStrategy) other).delegate)));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.delegate.hashCode();
+	}
+
+
+	/**
+	 * Return the configured cache directory, if any.
+	 * <p>
+	 *  返回已配置的缓存目录(如果有)
+	 * 
+	 * 
+	 * @return the directory, or {@code null} if persistent caching is disabled
+	 * @see #CACHE_DIRECTORY_PROPERTY_NAME
+	 */
+	public static File getCacheDirectory() {
+		String directory = SpringProperties.getProperty(CACHE_DIRECTORY_PROPERTY_NAME);
+		return (directory != null && directory.length() > 0 ? new File(directory) : null);
+	}
+
+	/**
+	 * Determine whether a class of the given name has been served from disk,
+	 * in which case the name must not be assigned to a newly generated class.
+	 * <p>
+	 *  确定给定名称的类是否已从磁盘提供,在这种情况下,该名称不得分配给新生成的类
+	 * 
+	 * 
+	 * @param className the candidate class name
+	 * @see SpringNamingPolicy
+	 */
+	static boolean isServedClassName(String className) {
+		return allServedClassNames.contains(className);
+	}
+
+	/**
+	 * Append the signature of the given type to the key: its name plus a digest
+	 * of its class file, for the type itself as well as all of its superclasses
+	 * and interfaces. JDK types are only represented by name, since the Java
+	 * version is part of the key anyway.
+	 * <p>
+	 *  将给定类型的签名追加到键中:其名称加上其类文件的摘要,包括该类型本身及其所有超类和接口JDK类型仅以名称表示,因为Java版本无论如何都是键的一部分
+	 * 
+	 * 
+	 * @param key the key to append to
+	 * @param type the type to describe
+	 * @return {@code false} if a class file could not be found (e.g. for a class
+	 * generated at runtime), in which case no key should be built
+	 */
+	protected static boolean appendTypeSignature(StringBuilder key, Class<?> type) {
+		for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+			if (!appendClassSignature(key, clazz)) {
+				return false;
+			}
+		}
+		for (Class<?> ifc : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+			if (!appendClassSignature(key, ifc)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Append the callback index that the given filter assigns to each method of the
+	 * given superclass and interfaces, in a stable order. This captures filter decisions
+	 * which depend on more than the type signatures, e.g. on meta-annotations.
+	 * <p>
+	 *  以稳定的顺序追加给定过滤器为给定超类和接口的每个方法分配的回调索引这涵盖了不仅仅取决于类型签名的过滤器决策,例如取决于元注解的决策
+	 * 
+	 * 
+	 * @param key the key to append to
+	 * @param filter the callback filter to consult
+	 * @param superclass the superclass of the class to generate
+	 * @param interfaces the interfaces of the class to generate (may be {@code null})
+	 */
+	protected static void appendCallbackAssignments(StringBuilder key, CallbackFilter filter,
+			Class<?> superclass, Class<?>[] interfaces) {
+
+		List<Method> methods = new ArrayList<Method>();
+		Collections.addAll(methods, ReflectionUtils.getAllDeclaredMethods(superclass));
+		if (interfaces != null) {
+			for (Class<?> ifc : interfaces) {
+				Collections.addAll(methods, ifc.getMethods());
+			}
+		}
+		Collections.sort(methods, new Comparator<Method>() {
+			@Override
+			public int compare(Method m1, Method m2) {
+				return m1.toString().compareTo(m2.toString());
+			}
+		});
+		key.append(" methods ");
+		for (Method method : methods) {
+			key.append(method).append('=').append(filter.accept(method)).append(';');
+		}
+	}
+
+	private static boolean appendClassSignature(StringBuilder key, Class<?> clazz) {
+		key.append(clazz.getName());
+		if (clazz.getClassLoader() != null) {
+			String digest = getClassFileDigest(clazz);
+			if (digest == null) {
+				return false;
+			}
+			key.append('@').append(digest);
+		}
+		key.append(';');
+		return true;
+	}
+
+	private static String getClassFileDigest(Class<?> clazz) {
+		String digest = classFileDigestCache.get(clazz);
+		if (digest == null) {
+			InputStream is = clazz.getClassLoader().getResourceAsStream(
+					ClassUtils.convertClassNameToResourcePath(clazz.getName()) + ClassUtils.CLASS_FILE_SUFFIX);
+			if (is == null) {
+				return null;
+			}
+			try {
+				try {
+					digest = DigestUtils.md5DigestAsHex(is);
+				}
+				finally {
+					is.close();
+				}
+			}
+			catch (IOException ex) {
+				return null;
+			}
+			classFileDigestCache.put(clazz, digest);
+		}
+		return digest;
+	}
+
+}
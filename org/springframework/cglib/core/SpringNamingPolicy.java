@@ -25,6 +25,10 @@ package org.springframework.cglib.core;
  * version (used by some other library) and Spring's embedded variant,
  * in case the same class happens to get proxied for different purposes.
  *
+ * <p>As of 4.3, names of classes served by a {@link PersistentGeneratorStrategy}
+ * are considered taken as well, so that they never get assigned to newly
+ * generated classes.
+ *
  * <p>
  * 
  * 
@@ -40,4 +44,14 @@ public class SpringNamingPolicy extends DefaultNamingPolicy {
 		return "BySpringCGLIB";
 	}
 
+	@Override
+	public String getClassName(String prefix, String source, Object key, final Predicate names) {
+		return super.getClassName(prefix, source, key, new Predicate() {
+			@Override
+			public boolean evaluate(Object name) {
+				return (names.evaluate(name) || PersistentGeneratorStrategy.isServedClassName((String) name));
+			}
+		});
+	}
+
 }
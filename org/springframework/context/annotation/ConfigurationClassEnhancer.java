@@ -17,6 +17,7 @@
 
 package org.springframework.context.annotation;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -36,6 +37,8 @@ import org.springframework.beans.factory.support.SimpleInstantiationStrategy;
 import org.springframework.cglib.core.ClassGenerator;
 import org.springframework.cglib.core.Constants;
 import org.springframework.cglib.core.DefaultGeneratorStrategy;
+import org.springframework.cglib.core.GeneratorStrategy;
+import org.springframework.cglib.core.PersistentGeneratorStrategy;
 import org.springframework.cglib.core.SpringNamingPolicy;
 import org.springframework.cglib.proxy.Callback;
 import org.springframework.cglib.proxy.CallbackFilter;
@@ -134,7 +137,12 @@ class ConfigurationClassEnhancer {
 		enhancer.setInterfaces(new Class<?>[] {EnhancedConfiguration.class});
 		enhancer.setUseFactory(false);
 		enhancer.setNamingPolicy(SpringNamingPolicy.INSTANCE);
-		enhancer.setStrategy(new BeanFactoryAwareGeneratorStrategy(classLoader));
+		GeneratorStrategy strategy = new BeanFactoryAwareGeneratorStrategy(classLoader);
+		File cacheDirectory = PersistentGeneratorStrategy.getCacheDirectory();
+		if (cacheDirectory != null) {
+			strategy = new PersistentConfigurationGeneratorStrategy(strategy, cacheDirectory, superclass);
+		}
+		enhancer.setStrategy(strategy);
 		enhancer.setCallbackFilter(CALLBACK_FILTER);
 		enhancer.setCallbackTypes(CALLBACK_FILTER.getCallbackTypes());
 		return enhancer;
@@ -558,4 +566,39 @@ class ConfigurationClassEnhancer {
 		}
 	}
 
+
+	/**
+	 * Persists enhanced configuration classes, keyed by the configuration class
+	 * (including its class file digest), the callback types and the callback index
+	 * that the {@link ConditionalCallbackFilter} assigns to each candidate method,
+	 * reflecting {@code @Bean} declarations via meta-annotations as well.
+	 */
+	private static class PersistentConfigurationGeneratorStrategy extends PersistentGeneratorStrategy {
+
+		private final Class<?> configClass;
+
+		public PersistentConfigurationGeneratorStrategy(GeneratorStrategy delegate, File cacheDirectory,
+				Class<?> configClass) {
+
+			super(delegate, cacheDirectory);
+			this.configClass = configClass;
+		}
+
+		@Override
+		protected String buildCacheKey() {
+			StringBuilder key = new StringBuilder("ConfigurationClassEnhancer; superclass ");
+			if (!appendTypeSignature(key, this.configClass) ||
+					!appendTypeSignature(key.append(" interface "), EnhancedConfiguration.class)) {
+				return null;
+			}
+			key.append(" callbacks ");
+			for (Class<?> callbackType : CALLBACK_FILTER.getCallbackTypes()) {
+				key.append(callbackType.getName()).append(';');
+			}
+			appendCallbackAssignments(key, CALLBACK_FILTER, this.configClass,
+					new Class<?>[] {EnhancedConfiguration.class});
+			return key.toString();
+		}
+	}
+
 }
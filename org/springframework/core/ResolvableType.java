@@ -38,6 +38,7 @@ import org.springframework.core.SerializableTypeWrapper.TypeProvider;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
@@ -108,7 +109,11 @@ public class ResolvableType implements Serializable {
 	private static final ResolvableType[] EMPTY_TYPES_ARRAY = new ResolvableType[0];
 
 	private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache =
-			new ConcurrentReferenceHashMap<ResolvableType, ResolvableType>(256);
+			new ConcurrentReferenceHashMap<ResolvableType, ResolvableType>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
+
+	/** Canonical {@link #forClass(Class)} instances, sharing their lazily resolved state */
+	private static final ConcurrentReferenceHashMap<Class<?>, ResolvableType> classCache =
+			new ConcurrentReferenceHashMap<Class<?>, ResolvableType>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
 
 
 	/**
@@ -159,6 +164,8 @@ public class ResolvableType implements Serializable {
 
 	private ResolvableType[] generics;
 
+	private VariableResolver variableResolverAdapter;
+
 
 	/**
 	 * Private constructor used to create a new {@link ResolvableType} for cache key purposes,
@@ -228,7 +235,7 @@ public class ResolvableType implements Serializable {
 		this.typeProvider = null;
 		this.variableResolver = null;
 		this.componentType = null;
-		this.hash = null;
+		this.hash = this.resolved.hashCode();
 	}
 
 
@@ -334,6 +341,13 @@ public class ResolvableType implements Serializable {
 			return false;
 		}
 
+		// Shortcut for plain, non-generic classes: no wildcards or generics to check
+		if (this.type instanceof Class && other.type instanceof Class && this.componentType == null &&
+				!this.resolved.isArray() && getGenerics().length == 0) {
+			return (matchedBefore != null ? this.resolved.equals(other.resolved) :
+					ClassUtils.isAssignable(this.resolved, other.resolved));
+		}
+
 		// Deal with array by delegating to the component type
 		if (isArray()) {
 			return (other.isArray() && getComponentType().isAssignableFrom(other.getComponentType()));
@@ -1043,7 +1057,12 @@ public class ResolvableType implements Serializable {
 		if (this == NONE) {
 			return null;
 		}
-		return new DefaultVariableResolver();
+		VariableResolver variableResolver = this.variableResolverAdapter;
+		if (variableResolver == null) {
+			variableResolver = new DefaultVariableResolver();
+			this.variableResolverAdapter = variableResolver;
+		}
+		return variableResolver;
 	}
 
 	/**
@@ -1095,9 +1114,12 @@ public class ResolvableType implements Serializable {
 	 * Return a {@link ResolvableType} for the specified {@link Class},
 	 * using the full generic type information for assignability checks.
 	 * For example: {@code ResolvableType.forClass(MyArrayList.class)}.
+	 * <p>As of 4.3, a shared canonical instance is returned for each class, so that
+	 * lazily resolved super types, interfaces and generics are computed only once.
 	 * <p>
 	 *  为指定的{@link类}返回{@link ResolvableType},使用完整的通用类型信息进行可分配性检查例如：{@code ResolvableTypeforClass(MyArrayListclass)}
 	 * 。
+	 * <p>从4.3开始,每个类返回一个共享的规范实例,因此延迟解析的父类型、接口和泛型只计算一次
 	 * 
 	 * 
 	 * @param sourceClass the source class ({@code null} is semantically
@@ -1107,7 +1129,16 @@ public class ResolvableType implements Serializable {
 	 * @see #forClassWithGenerics(Class, Class...)
 	 */
 	public static ResolvableType forClass(Class<?> sourceClass) {
-		return new ResolvableType(sourceClass);
+		Class<?> key = (sourceClass != null ? sourceClass : Object.class);
+		ResolvableType resolvableType = classCache.get(key);
+		if (resolvableType == null) {
+			resolvableType = new ResolvableType(key);
+			ResolvableType existing = classCache.putIfAbsent(key, resolvableType);
+			if (existing != null) {
+				resolvableType = existing;
+			}
+		}
+		return resolvableType;
 	}
 
 	/**
@@ -1641,6 +1672,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static void clearCache() {
 		cache.clear();
+		classCache.clear();
 	}
 
 
@@ -0,0 +1,139 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Base class for synthesized annotations implemented by classes generated at
+ * runtime (see {@code SynthesizedAnnotationClassGenerator}), as an alternative
+ * to JDK dynamic proxies backed by a {@link SynthesizedAnnotationInvocationHandler}.
+ *
+ * <p>Generated subclasses hold each attribute value in a final field and implement
+ * the attribute methods as plain field accessors. This base class provides
+ * {@code equals}, {@code hashCode} and {@code toString} implementations with the
+ * same semantics as the proxy-based variant.
+ *
+ * <p>Only public for access from generated classes defined in another class loader;
+ * not intended to be extended by application code.
+ *
+ * <p>
+ *  由运行时生成的类(参见{@code SynthesizedAnnotationClassGenerator})实现的合成注解的基类,作为由{@link SynthesizedAnnotationInvocationHandler}支持的JDK动态代理的替代方案
+ * 
+ *  <p>生成的子类将每个属性值保存在final字段中,并将属性方法实现为普通的字段访问器此基类提供与基于代理的变体具有相同语义的{@code equals},{@code hashCode}和{@code toString}实现
+ * 
+ *  <p>仅为了在另一个类加载器中定义的生成类能够访问而公开;不打算由应用程序代码扩展
+ * 
+ * 
+ * @since 4.3
+ * @see AnnotationUtils#synthesizeAnnotation(Annotation, java.lang.reflect.AnnotatedElement)
+ */
+public abstract class AbstractSynthesizedAnnotation implements Annotation, SynthesizedAnnotation {
+
+	private final Class<? extends Annotation> annotationType;
+
+	private final Object[] attributeValues;
+
+	private volatile String toStringValue;
+
+
+	/**
+	 * Create a new synthesized annotation.
+	 * <p>
+	 *  创建一个新的合成注解
+	 * 
+	 * 
+	 * @param annotationType the synthesized annotation type
+	 * @param attributeValues the attribute values, in the order of
+	 * {@link AnnotationUtils#getAttributeMethods(Class)}; not exposed to users
+	 */
+	protected AbstractSynthesizedAnnotation(Class<? extends Annotation> annotationType, Object[] attributeValues) {
+		this.annotationType = annotationType;
+		this.attributeValues = attributeValues;
+	}
+
+
+	@Override
+	public final Class<? extends Annotation> annotationType() {
+		return this.annotationType;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!this.annotationType.isInstance(other)) {
+			return false;
+		}
+
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(this.annotationType);
+		for (int i = 0; i < this.attributeValues.length; i++) {
+			Object otherValue = ReflectionUtils.invokeMethod(attributeMethods.get(i), other);
+			if (!ObjectUtils.nullSafeEquals(this.attributeValues[i], otherValue)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 0;
+
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(this.annotationType);
+		for (int i = 0; i < this.attributeValues.length; i++) {
+			Object value = this.attributeValues[i];
+			int hashCode;
+			if (value.getClass().isArray()) {
+				hashCode = SynthesizedAnnotationInvocationHandler.hashCodeForArray(value);
+			}
+			else {
+				hashCode = value.hashCode();
+			}
+			result += (127 * attributeMethods.get(i).getName().hashCode()) ^ hashCode;
+		}
+
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		String toStringValue = this.toStringValue;
+		if (toStringValue == null) {
+			StringBuilder sb = new StringBuilder("@").append(this.annotationType.getName()).append("(");
+			List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(this.annotationType);
+			for (int i = 0; i < this.attributeValues.length; i++) {
+				sb.append(attributeMethods.get(i).getName());
+				sb.append('=');
+				sb.append(SynthesizedAnnotationInvocationHandler.attributeValueToString(this.attributeValues[i]));
+				sb.append(i < this.attributeValues.length - 1 ? ", " : "");
+			}
+			toStringValue = sb.append(")").toString();
+			this.toStringValue = toStringValue;
+		}
+		return toStringValue;
+	}
+
+}
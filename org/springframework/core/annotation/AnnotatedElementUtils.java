@@ -19,6 +19,8 @@ package org.springframework.core.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -30,6 +32,7 @@ import java.util.Set;
 
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -139,6 +142,24 @@ public class AnnotatedElementUtils {
 
 	private static final Processor<Boolean> alwaysTrueAnnotationProcessor = new AlwaysTrueBooleanAnnotationProcessor();
 
+	/**
+	 * Marker for cached lookups that did not find a matching annotation.
+	 * <p>
+	 *  缓存的查找未找到匹配注解时使用的标记
+	 * 
+	 */
+	private static final Object NOT_FOUND = new Object();
+
+	/**
+	 * Merged annotation attributes and synthesized merged annotations per element,
+	 * with all {@link AliasFor @AliasFor} resolution already applied.
+	 * <p>
+	 *  每个元素的合并注解属性和合成的合并注解,已经应用了所有{@link AliasFor @AliasFor}解析
+	 * 
+	 */
+	private static final Map<MergedAnnotationCacheKey, Object> mergedAnnotationCache =
+			new ConcurrentReferenceHashMap<MergedAnnotationCacheKey, Object>(256);
+
 
 	/**
 	 * Build an adapted {@link AnnotatedElement} for the given annotations,
@@ -412,10 +433,7 @@ public class AnnotatedElementUtils {
 			AnnotatedElement element, Class<? extends Annotation> annotationType) {
 
 		Assert.notNull(annotationType, "annotationType must not be null");
-		AnnotationAttributes attributes = searchWithGetSemantics(element, annotationType, null,
-				new MergedAnnotationAttributesProcessor());
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, false, false);
-		return attributes;
+		return getCachedMergedAnnotationAttributes(element, annotationType, null, false, false, false);
 	}
 
 	/**
@@ -483,10 +501,8 @@ public class AnnotatedElementUtils {
 			String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
 		Assert.hasLength(annotationName, "annotationName must not be null or empty");
-		AnnotationAttributes attributes = searchWithGetSemantics(element, null, annotationName,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		return getCachedMergedAnnotationAttributes(element, null, annotationName, false,
+				classValuesAsString, nestedAnnotationsAsMap);
 	}
 
 	/**
@@ -515,7 +531,10 @@ public class AnnotatedElementUtils {
 	 */
 	public static <A extends Annotation> A getMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		Assert.notNull(annotationType, "annotationType must not be null");
+		return getCachedMergedAnnotation(element, annotationType, false);
+	}
 
+	private static <A extends Annotation> A doGetMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		// Shortcut: directly present on the element, with no merging needed?
 		if (!(element instanceof Class)) {
 			// Do not use this shortcut against a Class: Inherited annotations
@@ -527,7 +546,7 @@ public class AnnotatedElementUtils {
 		}
 
 		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = getMergedAnnotationAttributes(element, annotationType);
+		AnnotationAttributes attributes = doGetMergedAnnotationAttributes(element, annotationType, null, false, false, false);
 		return AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element);
 	}
 
@@ -792,10 +811,8 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithFindSemantics(element, annotationType, null,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		return getCachedMergedAnnotationAttributes(element, annotationType, null, true,
+				classValuesAsString, nestedAnnotationsAsMap);
 	}
 
 	/**
@@ -835,10 +852,8 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithFindSemantics(element, null, annotationName,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		return getCachedMergedAnnotationAttributes(element, null, annotationName, true,
+				classValuesAsString, nestedAnnotationsAsMap);
 	}
 
 	/**
@@ -867,7 +882,10 @@ public class AnnotatedElementUtils {
 	 */
 	public static <A extends Annotation> A findMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		Assert.notNull(annotationType, "annotationType must not be null");
+		return getCachedMergedAnnotation(element, annotationType, true);
+	}
 
+	private static <A extends Annotation> A doFindMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		// Shortcut: directly present on the element, with no merging needed?
 		if (!(element instanceof Class)) {
 			// Do not use this shortcut against a Class: Inherited annotations
@@ -879,7 +897,7 @@ public class AnnotatedElementUtils {
 		}
 
 		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = findMergedAnnotationAttributes(element, annotationType, false, false);
+		AnnotationAttributes attributes = doGetMergedAnnotationAttributes(element, annotationType, null, true, false, false);
 		return AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element);
 	}
 
@@ -1040,6 +1058,129 @@ public class AnnotatedElementUtils {
 		return postProcessAndSynthesizeAggregatedResults(element, annotationType, processor.getAggregatedResults());
 	}
 
+	/**
+	 * Clear the internal merged annotation cache.
+	 * <p>
+	 *  清除内部合并注解缓存
+	 * 
+	 * @since 4.3
+	 */
+	static void clearCache() {
+		mergedAnnotationCache.clear();
+	}
+
+	/**
+	 * Retrieve the merged, synthesized annotation for the given element from the
+	 * merged annotation cache, computing it on first access. Synthesized annotations
+	 * are immutable and therefore shared between callers.
+	 * <p>
+	 *  从合并注解缓存中获取给定元素的合并合成注解,在首次访问时计算合成注解是不可变的,因此在调用者之间共享
+	 * 
+	 */
+	@SuppressWarnings("unchecked")
+	private static <A extends Annotation> A getCachedMergedAnnotation(AnnotatedElement element,
+			Class<A> annotationType, boolean findSemantics) {
+
+		if (!isCacheable(element)) {
+			return (findSemantics ? doFindMergedAnnotation(element, annotationType) :
+					doGetMergedAnnotation(element, annotationType));
+		}
+		MergedAnnotationCacheKey cacheKey =
+				new MergedAnnotationCacheKey(element, annotationType, findSemantics, false, false, true);
+		Object result = mergedAnnotationCache.get(cacheKey);
+		if (result == null) {
+			result = (findSemantics ? doFindMergedAnnotation(element, annotationType) :
+					doGetMergedAnnotation(element, annotationType));
+			mergedAnnotationCache.put(cacheKey, (result != null ? result : NOT_FOUND));
+		}
+		return (result != NOT_FOUND ? (A) result : null);
+	}
+
+	/**
+	 * Retrieve the merged annotation attributes for the given element from the
+	 * merged annotation cache, computing them on first access. Since
+	 * {@link AnnotationAttributes} are mutable, a copy of the cached instance
+	 * is returned to each caller.
+	 * <p>
+	 *  从合并注解缓存中获取给定元素的合并注解属性,在首次访问时计算由于{@link AnnotationAttributes}是可变的,因此向每个调用者返回缓存实例的副本
+	 * 
+	 */
+	private static AnnotationAttributes getCachedMergedAnnotationAttributes(AnnotatedElement element,
+			Class<? extends Annotation> annotationType, String annotationName, boolean findSemantics,
+			boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+
+		if (!isCacheable(element)) {
+			return doGetMergedAnnotationAttributes(element, annotationType, annotationName, findSemantics,
+					classValuesAsString, nestedAnnotationsAsMap);
+		}
+		MergedAnnotationCacheKey cacheKey = new MergedAnnotationCacheKey(element,
+				(annotationType != null ? annotationType : annotationName), findSemantics,
+				classValuesAsString, nestedAnnotationsAsMap, false);
+		Object result = mergedAnnotationCache.get(cacheKey);
+		if (result == null) {
+			result = doGetMergedAnnotationAttributes(element, annotationType, annotationName, findSemantics,
+					classValuesAsString, nestedAnnotationsAsMap);
+			mergedAnnotationCache.put(cacheKey, (result != null ? result : NOT_FOUND));
+		}
+		return (result != NOT_FOUND ? copyAnnotationAttributes((AnnotationAttributes) result) : null);
+	}
+
+	private static AnnotationAttributes doGetMergedAnnotationAttributes(AnnotatedElement element,
+			Class<? extends Annotation> annotationType, String annotationName, boolean findSemantics,
+			boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+
+		MergedAnnotationAttributesProcessor processor =
+				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap);
+		AnnotationAttributes attributes = (findSemantics ?
+				searchWithFindSemantics(element, annotationType, annotationName, processor) :
+				searchWithGetSemantics(element, annotationType, annotationName, processor));
+		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
+		return attributes;
+	}
+
+	/**
+	 * Only cache lookups against classes and reflective members: other
+	 * {@link AnnotatedElement} implementations (e.g. adapters created per call)
+	 * do not reliably implement {@code equals} and {@code hashCode}.
+	 * <p>
+	 *  仅缓存针对类和反射成员的查找：其他{@link AnnotatedElement}实现(例如每次调用创建的适配器)不能可靠地实现{@code equals}和{@code hashCode}
+	 * 
+	 */
+	private static boolean isCacheable(AnnotatedElement element) {
+		return (element instanceof Class || element instanceof Member);
+	}
+
+	/**
+	 * Create a deep copy of the given attributes, copying nested
+	 * {@code AnnotationAttributes} as well as array values.
+	 * <p>
+	 *  创建给定属性的深层副本,复制嵌套的{@code AnnotationAttributes}以及数组值
+	 * 
+	 */
+	private static AnnotationAttributes copyAnnotationAttributes(AnnotationAttributes original) {
+		AnnotationAttributes copy = new AnnotationAttributes(original);
+		for (Map.Entry<String, Object> entry : copy.entrySet()) {
+			Object value = entry.getValue();
+			if (value instanceof AnnotationAttributes) {
+				entry.setValue(copyAnnotationAttributes((AnnotationAttributes) value));
+			}
+			else if (value instanceof AnnotationAttributes[]) {
+				AnnotationAttributes[] nested = ((AnnotationAttributes[]) value).clone();
+				for (int i = 0; i < nested.length; i++) {
+					nested[i] = copyAnnotationAttributes(nested[i]);
+				}
+				entry.setValue(nested);
+			}
+			else if (value != null && value.getClass().isArray()) {
+				int length = Array.getLength(value);
+				Object array = Array.newInstance(value.getClass().getComponentType(), length);
+				System.arraycopy(value, 0, array, 0, length);
+				entry.setValue(array);
+			}
+		}
+		return copy;
+	}
+
 	/**
 	 * Search for annotations of the specified {@code annotationName} or
 	 * {@code annotationType} on the specified {@code element}, following
@@ -1910,4 +2051,53 @@ public class AnnotatedElementUtils {
 		}
 	}
 
+
+	/**
+	 * Cache key for the merged annotation cache.
+	 * <p>
+	 *  合并注解缓存的缓存键
+	 * 
+	 */
+	private static final class MergedAnnotationCacheKey {
+
+		private final AnnotatedElement element;
+
+		private final Object annotationTypeOrName;
+
+		private final int flags;
+
+		public MergedAnnotationCacheKey(AnnotatedElement element, Object annotationTypeOrName,
+				boolean findSemantics, boolean classValuesAsString, boolean nestedAnnotationsAsMap,
+				boolean synthesized) {
+
+			this.element = element;
+			this.annotationTypeOrName = annotationTypeOrName;
+			this.flags = (findSemantics ? 1 : 0) | (classValuesAsString ? 2 : 0) |
+					(nestedAnnotationsAsMap ? 4 : 0) | (synthesized ? 8 : 0);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MergedAnnotationCacheKey)) {
+				return false;
+			}
+			MergedAnnotationCacheKey otherKey = (MergedAnnotationCacheKey) other;
+			return (this.flags == otherKey.flags && this.element.equals(otherKey.element) &&
+					this.annotationTypeOrName.equals(otherKey.annotationTypeOrName));
+		}
+
+		@Override
+		public int hashCode() {
+			return ((this.element.hashCode() * 29 + this.annotationTypeOrName.hashCode()) * 29 + this.flags);
+		}
+
+		@Override
+		public String toString() {
+			return "@" + this.annotationTypeOrName + " on " + this.element + " [" + this.flags + "]";
+		}
+	}
+
 }
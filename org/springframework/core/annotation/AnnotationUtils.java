@@ -40,6 +40,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.util.Assert;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
@@ -145,25 +146,25 @@ public abstract class AnnotationUtils {
 	private static final String REPEATABLE_CLASS_NAME = "java.lang.annotation.Repeatable";
 
 	private static final Map<AnnotationCacheKey, Annotation> findAnnotationCache =
-			new ConcurrentReferenceHashMap<AnnotationCacheKey, Annotation>(256);
+			new ConcurrentReferenceHashMap<AnnotationCacheKey, Annotation>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
 
 	private static final Map<AnnotationCacheKey, Boolean> metaPresentCache =
-			new ConcurrentReferenceHashMap<AnnotationCacheKey, Boolean>(256);
+			new ConcurrentReferenceHashMap<AnnotationCacheKey, Boolean>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
 
 	private static final Map<Class<?>, Boolean> annotatedInterfaceCache =
-			new ConcurrentReferenceHashMap<Class<?>, Boolean>(256);
+			new ConcurrentReferenceHashMap<Class<?>, Boolean>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
 
 	private static final Map<Class<? extends Annotation>, Boolean> synthesizableCache =
-			new ConcurrentReferenceHashMap<Class<? extends Annotation>, Boolean>(256);
+			new ConcurrentReferenceHashMap<Class<? extends Annotation>, Boolean>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
 
 	private static final Map<Class<? extends Annotation>, Map<String, List<String>>> attributeAliasesCache =
-			new ConcurrentReferenceHashMap<Class<? extends Annotation>, Map<String, List<String>>>(256);
+			new ConcurrentReferenceHashMap<Class<? extends Annotation>, Map<String, List<String>>>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
 
 	private static final Map<Class<? extends Annotation>, List<Method>> attributeMethodsCache =
-			new ConcurrentReferenceHashMap<Class<? extends Annotation>, List<Method>>(256);
+			new ConcurrentReferenceHashMap<Class<? extends Annotation>, List<Method>>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
 
 	private static final Map<Method, AliasDescriptor> aliasDescriptorCache =
-			new ConcurrentReferenceHashMap<Method, AliasDescriptor>(256);
+			new ConcurrentReferenceHashMap<Method, AliasDescriptor>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
 
 	private static transient Log logger;
 
@@ -1697,6 +1698,12 @@ public abstract class AnnotationUtils {
 
 		DefaultAnnotationAttributeExtractor attributeExtractor =
 				new DefaultAnnotationAttributeExtractor(annotation, annotatedElement);
+		A synthesized = SynthesizedAnnotationClassGenerator.synthesize(attributeExtractor);
+		if (synthesized != null) {
+			return synthesized;
+		}
+
+		// Fall back to a JDK dynamic proxy with lazy attribute extraction
 		InvocationHandler handler = new SynthesizedAnnotationInvocationHandler(attributeExtractor);
 
 		// Can always expose Spring's SynthesizedAnnotation marker since we explicitly check for a
@@ -1752,6 +1759,11 @@ public abstract class AnnotationUtils {
 
 		MapAnnotationAttributeExtractor attributeExtractor =
 				new MapAnnotationAttributeExtractor(attributes, annotationType, annotatedElement);
+		A synthesized = SynthesizedAnnotationClassGenerator.synthesize(attributeExtractor);
+		if (synthesized != null) {
+			return synthesized;
+		}
+
 		InvocationHandler handler = new SynthesizedAnnotationInvocationHandler(attributeExtractor);
 		Class<?>[] exposedInterfaces = (canExposeSynthesizedMarker(annotationType) ?
 				new Class<?>[] {annotationType, SynthesizedAnnotation.class} : new Class<?>[] {annotationType});
@@ -2196,6 +2208,27 @@ public abstract class AnnotationUtils {
 	}
 
 
+	/**
+	 * Clear the internal annotation metadata cache, including the merged
+	 * annotation cache of {@link AnnotatedElementUtils}.
+	 * <p>
+	 *  清除内部注解元数据缓存,包括{@link AnnotatedElementUtils}的合并注解缓存
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public static void clearCache() {
+		findAnnotationCache.clear();
+		metaPresentCache.clear();
+		annotatedInterfaceCache.clear();
+		synthesizableCache.clear();
+		attributeAliasesCache.clear();
+		attributeMethodsCache.clear();
+		aliasDescriptorCache.clear();
+		AnnotatedElementUtils.clearCache();
+	}
+
+
 	/**
 	 * Cache key for the AnnotatedElement cache.
 	 * <p>
@@ -18,7 +18,8 @@
 package org.springframework.core.annotation;
 
 /**
- * Marker interface implemented by synthesized annotation proxies.
+ * Marker interface implemented by synthesized annotations, be it JDK dynamic
+ * proxies or generated {@link AbstractSynthesizedAnnotation} subclasses.
  *
  * <p>Used to detect whether an annotation has already been synthesized.
  *
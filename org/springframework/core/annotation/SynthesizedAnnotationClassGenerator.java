@@ -0,0 +1,326 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.SpringProperties;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Generates and instantiates {@link AbstractSynthesizedAnnotation} subclasses for
+ * synthesizable annotation types, using the ASM library bundled with Spring.
+ *
+ * <p>Each generated class implements the annotation interface with one final field
+ * per attribute, so that attribute access is a plain field read (plus an array clone
+ * for array attributes) instead of a round trip through a {@link java.lang.reflect.Proxy}
+ * and its invocation handler.
+ *
+ * <p>Returns {@code null} whenever a class cannot be generated or the attribute values
+ * cannot be extracted eagerly, in which case callers fall back to the proxy-based
+ * variant with its lazy attribute extraction and error reporting.
+ *
+ * <p>
+ *  使用Spring捆绑的ASM库为可合成的注解类型生成并实例化{@link AbstractSynthesizedAnnotation}子类
+ * 
+ *  <p>每个生成的类使用每个属性一个final字段来实现注解接口,因此属性访问是一次普通的字段读取(对于数组属性再加上一次数组克隆),而不是通过{@link java.lang.reflect.Proxy}及其调用处理程序往返
+ * 
+ *  <p>每当无法生成类或者无法急切地提取属性值时返回{@code null},在这种情况下,调用者回退到基于代理的变体,保留其延迟的属性提取和错误报告
+ * 
+ * 
+ * @since 4.3
+ */
+abstract class SynthesizedAnnotationClassGenerator {
+
+	/**
+	 * System property that instructs Spring to always synthesize annotations as
+	 * JDK dynamic proxies instead of generated classes: {@code spring.annotation.synthesize.useProxy}.
+	 * <p>
+	 *  指示Spring始终将注解合成为JDK动态代理而不是生成类的系统属性：{@code spring.annotation.synthesize.useProxy}
+	 * 
+	 */
+	public static final String USE_PROXY_PROPERTY_NAME = "spring.annotation.synthesize.useProxy";
+
+	private static final boolean useProxy = SpringProperties.getFlag(USE_PROXY_PROPERTY_NAME);
+
+	private static final String CLASS_NAME_SUFFIX = "$$SpringSynthesized";
+
+	private static final String SUPER_CLASS_NAME = Type.getInternalName(AbstractSynthesizedAnnotation.class);
+
+	private static final String CONSTRUCTOR_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE,
+			Type.getType(Class.class), Type.getType(Object[].class));
+
+	/** Marker for annotation types which cannot be implemented by a generated class */
+	private static final Object NOT_GENERATABLE = new Object();
+
+	private static final Map<Class<? extends Annotation>, Object> constructorCache =
+			new ConcurrentReferenceHashMap<Class<? extends Annotation>, Object>(256);
+
+	private static final Map<ClassLoader, SynthesizedAnnotationClassLoader> classLoaderCache =
+			new ConcurrentReferenceHashMap<ClassLoader, SynthesizedAnnotationClassLoader>(16);
+
+
+	/**
+	 * Synthesize an annotation backed by a generated class for the annotation type
+	 * of the given attribute extractor.
+	 * <p>
+	 *  为给定属性提取器的注解类型合成一个由生成类支持的注解
+	 * 
+	 * 
+	 * @param attributeExtractor the extractor to obtain all attribute values from
+	 * @return the synthesized annotation, or {@code null} if the proxy-based
+	 * variant needs to be used instead
+	 */
+	@SuppressWarnings("unchecked")
+	public static <A extends Annotation> A synthesize(AnnotationAttributeExtractor<?> attributeExtractor) {
+		if (useProxy) {
+			return null;
+		}
+		Class<? extends Annotation> annotationType = attributeExtractor.getAnnotationType();
+		Constructor<?> constructor = getConstructor(annotationType);
+		if (constructor == null) {
+			return null;
+		}
+
+		Object[] attributeValues;
+		try {
+			attributeValues = extractAttributeValues(attributeExtractor);
+		}
+		catch (RuntimeException ex) {
+			// Let the proxy-based variant report the problem on attribute access
+			return null;
+		}
+
+		try {
+			return (A) constructor.newInstance(annotationType, attributeValues);
+		}
+		catch (Throwable ex) {
+			constructorCache.put(annotationType, NOT_GENERATABLE);
+			return null;
+		}
+	}
+
+	private static Object[] extractAttributeValues(AnnotationAttributeExtractor<?> attributeExtractor) {
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(attributeExtractor.getAnnotationType());
+		Object[] attributeValues = new Object[attributeMethods.size()];
+		for (int i = 0; i < attributeValues.length; i++) {
+			Method attributeMethod = attributeMethods.get(i);
+			Object value = attributeExtractor.getAttributeValue(attributeMethod);
+			if (value == null) {
+				throw new IllegalStateException(String.format(
+						"%s returned null for attribute name [%s] from attribute source [%s]",
+						attributeExtractor.getClass().getName(), attributeMethod.getName(), attributeExtractor.getSource()));
+			}
+			// Synthesize nested annotations, just like the proxy-based variant does on access.
+			if (value instanceof Annotation) {
+				value = AnnotationUtils.synthesizeAnnotation((Annotation) value, attributeExtractor.getAnnotatedElement());
+			}
+			else if (value instanceof Annotation[]) {
+				value = AnnotationUtils.synthesizeAnnotationArray((Annotation[]) value, attributeExtractor.getAnnotatedElement());
+			}
+			attributeValues[i] = value;
+		}
+		return attributeValues;
+	}
+
+	private static Constructor<?> getConstructor(Class<? extends Annotation> annotationType) {
+		Object constructor = constructorCache.get(annotationType);
+		if (constructor == null) {
+			constructor = NOT_GENERATABLE;
+			if (isGeneratable(annotationType)) {
+				try {
+					SynthesizedAnnotationClassLoader classLoader = getClassLoader(annotationType.getClassLoader());
+					constructor = classLoader.defineSynthesizedClass(annotationType).getConstructor(
+							Class.class, Object[].class);
+				}
+				catch (Throwable ex) {
+					// Not loadable from the annotation's ClassLoader, or rejected by the JVM
+					// -> fall back to proxy-based synthesis for this annotation type.
+				}
+			}
+			constructorCache.put(annotationType, constructor);
+		}
+		return (constructor != NOT_GENERATABLE ? (Constructor<?>) constructor : null);
+	}
+
+	/**
+	 * Generated classes live in a separate class loader and therefore in a different
+	 * runtime package: only public annotation types with public attribute types qualify.
+	 * <p>
+	 *  生成的类位于单独的类加载器中,因此位于不同的运行时包中：只有具有公共属性类型的公共注解类型才符合条件
+	 * 
+	 */
+	private static boolean isGeneratable(Class<? extends Annotation> annotationType) {
+		if (annotationType.getClassLoader() == null || !Modifier.isPublic(annotationType.getModifiers())) {
+			return false;
+		}
+		for (Method attributeMethod : AnnotationUtils.getAttributeMethods(annotationType)) {
+			Class<?> returnType = attributeMethod.getReturnType();
+			while (returnType.isArray()) {
+				returnType = returnType.getComponentType();
+			}
+			if (!returnType.isPrimitive() && !Modifier.isPublic(returnType.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static SynthesizedAnnotationClassLoader getClassLoader(ClassLoader parent) {
+		SynthesizedAnnotationClassLoader classLoader = classLoaderCache.get(parent);
+		if (classLoader == null) {
+			synchronized (classLoaderCache) {
+				classLoader = classLoaderCache.get(parent);
+				if (classLoader == null) {
+					classLoader = new SynthesizedAnnotationClassLoader(parent);
+					classLoaderCache.put(parent, classLoader);
+				}
+			}
+		}
+		return classLoader;
+	}
+
+	static byte[] generateClass(String className, Class<? extends Annotation> annotationType) {
+		String internalName = className.replace('.', '/');
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(annotationType);
+
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+				internalName, null, SUPER_CLASS_NAME, new String[] {Type.getInternalName(annotationType)});
+
+		for (int i = 0; i < attributeMethods.size(); i++) {
+			cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, fieldName(i),
+					Type.getDescriptor(attributeMethods.get(i).getReturnType()), null, null).visitEnd();
+		}
+
+		// Constructor: pass everything to the superclass, then unpack the values into fields
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitVarInsn(Opcodes.ALOAD, 2);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, SUPER_CLASS_NAME, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+		for (int i = 0; i < attributeMethods.size(); i++) {
+			Type type = Type.getType(attributeMethods.get(i).getReturnType());
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(Opcodes.AALOAD);
+			unbox(mv, type);
+			mv.visitFieldInsn(Opcodes.PUTFIELD, internalName, fieldName(i), type.getDescriptor());
+		}
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Attribute accessors: return the field, cloning arrays to protect our state
+		for (int i = 0; i < attributeMethods.size(); i++) {
+			Method attributeMethod = attributeMethods.get(i);
+			Type type = Type.getType(attributeMethod.getReturnType());
+			mv = cw.visitMethod(Opcodes.ACC_PUBLIC, attributeMethod.getName(),
+					Type.getMethodDescriptor(attributeMethod), null, null);
+			mv.visitCode();
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitFieldInsn(Opcodes.GETFIELD, internalName, fieldName(i), type.getDescriptor());
+			if (type.getSort() == Type.ARRAY) {
+				mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, type.getDescriptor(), "clone", "()Ljava/lang/Object;", false);
+				mv.visitTypeInsn(Opcodes.CHECKCAST, type.getDescriptor());
+			}
+			mv.visitInsn(type.getOpcode(Opcodes.IRETURN));
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static String fieldName(int index) {
+		return "attribute" + index;
+	}
+
+	private static void unbox(MethodVisitor mv, Type type) {
+		String wrapper;
+		switch (type.getSort()) {
+			case Type.BOOLEAN: wrapper = "java/lang/Boolean"; break;
+			case Type.CHAR: wrapper = "java/lang/Character"; break;
+			case Type.BYTE: wrapper = "java/lang/Byte"; break;
+			case Type.SHORT: wrapper = "java/lang/Short"; break;
+			case Type.INT: wrapper = "java/lang/Integer"; break;
+			case Type.FLOAT: wrapper = "java/lang/Float"; break;
+			case Type.LONG: wrapper = "java/lang/Long"; break;
+			case Type.DOUBLE: wrapper = "java/lang/Double"; break;
+			case Type.ARRAY:
+				mv.visitTypeInsn(Opcodes.CHECKCAST, type.getDescriptor());
+				return;
+			default:
+				mv.visitTypeInsn(Opcodes.CHECKCAST, type.getInternalName());
+				return;
+		}
+		mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+		mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getClassName() + "Value",
+				"()" + type.getDescriptor(), false);
+	}
+
+
+	/**
+	 * ClassLoader for generated synthesized annotation classes: a child of the
+	 * annotation type's ClassLoader which resolves Spring's synthesized annotation
+	 * infrastructure against Spring's own ClassLoader.
+	 * <p>
+	 *  生成的合成注解类的类加载器：注解类型的类加载器的子加载器,它针对Spring自己的类加载器解析Spring的合成注解基础设施
+	 * 
+	 */
+	private static class SynthesizedAnnotationClassLoader extends ClassLoader {
+
+		public SynthesizedAnnotationClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (name.equals(AbstractSynthesizedAnnotation.class.getName())) {
+				return AbstractSynthesizedAnnotation.class;
+			}
+			if (name.equals(SynthesizedAnnotation.class.getName())) {
+				return SynthesizedAnnotation.class;
+			}
+			return super.loadClass(name, resolve);
+		}
+
+		public synchronized Class<?> defineSynthesizedClass(Class<? extends Annotation> annotationType) {
+			String className = annotationType.getName() + CLASS_NAME_SUFFIX;
+			Class<?> existing = findLoadedClass(className);
+			if (existing != null) {
+				return existing;
+			}
+			byte[] bytes = generateClass(className, annotationType);
+			return defineClass(className, bytes, 0, bytes.length);
+		}
+	}
+
+}
@@ -224,7 +224,7 @@ class SynthesizedAnnotationInvocationHandler implements InvocationHandler {
 	 * 
 	 * @param array the array to compute the hash code for
 	 */
-	private int hashCodeForArray(Object array) {
+	static int hashCodeForArray(Object array) {
 		if (array instanceof boolean[]) {
 			return Arrays.hashCode((boolean[]) array);
 		}
@@ -274,7 +274,7 @@ class SynthesizedAnnotationInvocationHandler implements InvocationHandler {
 		return sb.append(")").toString();
 	}
 
-	private String attributeValueToString(Object value) {
+	static String attributeValueToString(Object value) {
 		if (value instanceof Object[]) {
 			return "[" + StringUtils.arrayToDelimitedString((Object[]) value, ", ") + "]";
 		}
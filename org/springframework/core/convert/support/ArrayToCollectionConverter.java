@@ -19,7 +19,7 @@ package org.springframework.core.convert.support;
 
 import java.lang.reflect.Array;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.springframework.core.CollectionFactory;
@@ -35,6 +35,9 @@ import org.springframework.core.convert.converter.ConditionalGenericConverter;
  * Will perform an element conversion from the source component type
  * to the collection's parameterized type if necessary.
  *
+ * <p>For a plain {@link Iterable} target type, returns a read-only view that converts
+ * elements lazily during iteration instead of materializing a collection.
+ *
  * <p>
  * 
  * 
@@ -54,13 +57,20 @@ final class ArrayToCollectionConverter implements ConditionalGenericConverter {
 
 	@Override
 	public Set<ConvertiblePair> getConvertibleTypes() {
-		return Collections.singleton(new ConvertiblePair(Object[].class, Collection.class));
+		Set<ConvertiblePair> convertibleTypes = new LinkedHashSet<ConvertiblePair>(2);
+		convertibleTypes.add(new ConvertiblePair(Object[].class, Collection.class));
+		convertibleTypes.add(new ConvertiblePair(Object[].class, Iterable.class));
+		return convertibleTypes;
 	}
 
 	@Override
 	public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
-		return ConversionUtils.canConvertElements(
-				sourceType.getElementTypeDescriptor(), targetType.getElementTypeDescriptor(), this.conversionService);
+		if (!targetType.isCollection() && targetType.getType() != Iterable.class) {
+			// Other Iterable types (e.g. java.nio.file.Path) are left to further converters
+			return false;
+		}
+		return ConversionUtils.canConvertElements(sourceType.getElementTypeDescriptor(),
+				ConversionUtils.getTargetElementType(targetType), this.conversionService);
 	}
 
 	@Override
@@ -69,8 +79,13 @@ final class ArrayToCollectionConverter implements ConditionalGenericConverter {
 			return null;
 		}
 
+		TypeDescriptor elementDesc = ConversionUtils.getTargetElementType(targetType);
+		if (targetType.getType() == Iterable.class) {
+			// Plain Iterable target: convert elements lazily instead of materializing a collection
+			return new ConvertingIterable(source, this.conversionService, sourceType, elementDesc);
+		}
+
 		int length = Array.getLength(source);
-		TypeDescriptor elementDesc = targetType.getElementTypeDescriptor();
 		Collection<Object> target = CollectionFactory.createCollection(targetType.getType(),
 				(elementDesc != null ? elementDesc.getType() : null), length);
 
@@ -81,11 +96,11 @@ final class ArrayToCollectionConverter implements ConditionalGenericConverter {
 			}
 		}
 		else {
+			ElementConverter elementConverter =
+					ElementConverter.forContainer(this.conversionService, sourceType, elementDesc);
 			for (int i = 0; i < length; i++) {
 				Object sourceElement = Array.get(source, i);
-				Object targetElement = this.conversionService.convert(sourceElement,
-						sourceType.elementTypeDescriptor(sourceElement), elementDesc);
-				target.add(targetElement);
+				target.add(elementConverter.convert(sourceElement));
 			}
 		}
 		return target;
@@ -18,7 +18,7 @@
 package org.springframework.core.convert.support;
 
 import java.util.Collection;
-import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.springframework.core.CollectionFactory;
@@ -34,6 +34,9 @@ import org.springframework.core.convert.converter.ConditionalGenericConverter;
  * target collection. Will perform an element conversion from the source collection's
  * parameterized type to the target collection's parameterized type if necessary.
  *
+ * <p>For a plain {@link Iterable} target type, returns a read-only view that converts
+ * elements lazily during iteration instead of copying the source collection.
+ *
  * <p>
  * 
  * 
@@ -53,13 +56,20 @@ final class CollectionToCollectionConverter implements ConditionalGenericConvert
 
 	@Override
 	public Set<ConvertiblePair> getConvertibleTypes() {
-		return Collections.singleton(new ConvertiblePair(Collection.class, Collection.class));
+		Set<ConvertiblePair> convertibleTypes = new LinkedHashSet<ConvertiblePair>(2);
+		convertibleTypes.add(new ConvertiblePair(Collection.class, Collection.class));
+		convertibleTypes.add(new ConvertiblePair(Collection.class, Iterable.class));
+		return convertibleTypes;
 	}
 
 	@Override
 	public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
-		return ConversionUtils.canConvertElements(
-				sourceType.getElementTypeDescriptor(), targetType.getElementTypeDescriptor(), this.conversionService);
+		if (!targetType.isCollection() && targetType.getType() != Iterable.class) {
+			// Other Iterable types (e.g. java.nio.file.Path) are left to further converters
+			return false;
+		}
+		return ConversionUtils.canConvertElements(sourceType.getElementTypeDescriptor(),
+				ConversionUtils.getTargetElementType(targetType), this.conversionService);
 	}
 
 	@Override
@@ -74,22 +84,30 @@ final class CollectionToCollectionConverter implements ConditionalGenericConvert
 		if (!copyRequired && sourceCollection.isEmpty()) {
 			return source;
 		}
-		TypeDescriptor elementDesc = targetType.getElementTypeDescriptor();
+		TypeDescriptor elementDesc = ConversionUtils.getTargetElementType(targetType);
 		if (elementDesc == null && !copyRequired) {
 			return source;
 		}
+		ElementConverter elementConverter = (elementDesc != null ?
+				ElementConverter.forContainer(this.conversionService, sourceType, elementDesc) : null);
+		if (!copyRequired && elementConverter.canBypassElementConversion()) {
+			return source;
+		}
+		if (targetType.getType() == Iterable.class) {
+			// Plain Iterable target: convert elements lazily instead of materializing a copy
+			return new ConvertingIterable(source, this.conversionService, sourceType, elementDesc);
+		}
 
 		// At this point, we need a collection copy in any case, even if just for finding out about element copies...
 		Collection<Object> target = CollectionFactory.createCollection(targetType.getType(),
 				(elementDesc != null ? elementDesc.getType() : null), sourceCollection.size());
 
-		if (elementDesc == null) {
+		if (elementConverter == null) {
 			target.addAll(sourceCollection);
 		}
 		else {
 			for (Object sourceElement : sourceCollection) {
-				Object targetElement = this.conversionService.convert(sourceElement,
-						sourceType.elementTypeDescriptor(sourceElement), elementDesc);
+				Object targetElement = elementConverter.convert(sourceElement);
 				target.add(targetElement);
 				if (sourceElement != targetElement) {
 					copyRequired = true;
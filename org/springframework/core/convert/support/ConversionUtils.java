@@ -71,6 +71,21 @@ abstract class ConversionUtils {
 		}
 	}
 
+	/**
+	 * Determine the target element type for a collection, array or plain
+	 * {@link Iterable} target type.
+	 * <p>
+	 *  确定集合、数组或普通{@link Iterable}目标类型的目标元素类型
+	 * 
+	 */
+	public static TypeDescriptor getTargetElementType(TypeDescriptor targetType) {
+		if (targetType.isCollection() || targetType.isArray()) {
+			return targetType.getElementTypeDescriptor();
+		}
+		Class<?> elementType = targetType.getResolvableType().as(Iterable.class).resolveGeneric(0);
+		return (elementType != null ? TypeDescriptor.valueOf(elementType) : null);
+	}
+
 	public static Class<?> getEnumType(Class<?> targetType) {
 		Class<?> enumType = targetType;
 		while (enumType != null && !enumType.isEnum()) {
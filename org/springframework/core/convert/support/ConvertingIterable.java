@@ -0,0 +1,165 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * Read-only {@link Iterable} view over a source collection or array that converts
+ * each element lazily while iterating, without materializing a target collection.
+ * Used for {@code Iterable} conversion targets.
+ *
+ * <p>Each call to {@link #iterator()} starts a new conversion pass over the
+ * current contents of the source.
+ *
+ * <p>
+ *  源集合或数组上的只读{@link Iterable}视图,在迭代时延迟转换每个元素,而不会生成目标集合用于{@code Iterable}转换目标
+ * 
+ *  <p>每次调用{@link #iterator()}都会对源的当前内容开始新的转换过程
+ * 
+ * 
+ * @since 4.3
+ */
+final class ConvertingIterable implements Iterable<Object> {
+
+	private final Object source;
+
+	private final ConversionService conversionService;
+
+	private final TypeDescriptor sourceType;
+
+	private final TypeDescriptor targetElementType;
+
+
+	/**
+	 * Create a lazily converting view over the given collection or array.
+	 * <p>
+	 *  在给定的集合或数组上创建延迟转换的视图
+	 * 
+	 * @param source the source collection, other {@code Iterable}, or array
+	 * @param conversionService the ConversionService to convert elements with
+	 * @param sourceType the type descriptor of the source container
+	 * @param targetElementType the target element type
+	 * (may be {@code null} to pass elements through unchanged)
+	 */
+	public ConvertingIterable(Object source, ConversionService conversionService,
+			TypeDescriptor sourceType, TypeDescriptor targetElementType) {
+
+		this.source = source;
+		this.conversionService = conversionService;
+		this.sourceType = sourceType;
+		this.targetElementType = targetElementType;
+	}
+
+
+	@Override
+	public Iterator<Object> iterator() {
+		// ElementConverter instances are not thread-safe: one per iteration
+		ElementConverter elementConverter = (this.targetElementType != null ?
+				ElementConverter.forContainer(this.conversionService, this.sourceType, this.targetElementType) : null);
+		if (this.source.getClass().isArray()) {
+			return new ArrayIterator(this.source, elementConverter);
+		}
+		return new ConvertingIterator(((Iterable<?>) this.source).iterator(), elementConverter);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		Iterator<Object> it = iterator();
+		while (it.hasNext()) {
+			sb.append(it.next());
+			if (it.hasNext()) {
+				sb.append(", ");
+			}
+		}
+		return sb.append(']').toString();
+	}
+
+
+	private static class ConvertingIterator implements Iterator<Object> {
+
+		private final Iterator<?> sourceIterator;
+
+		private final ElementConverter elementConverter;
+
+		public ConvertingIterator(Iterator<?> sourceIterator, ElementConverter elementConverter) {
+			this.sourceIterator = sourceIterator;
+			this.elementConverter = elementConverter;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.sourceIterator.hasNext();
+		}
+
+		@Override
+		public Object next() {
+			Object sourceElement = this.sourceIterator.next();
+			return (this.elementConverter != null ? this.elementConverter.convert(sourceElement) : sourceElement);
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Converting view is read-only");
+		}
+	}
+
+
+	private static class ArrayIterator implements Iterator<Object> {
+
+		private final Object array;
+
+		private final int length;
+
+		private final ElementConverter elementConverter;
+
+		private int index;
+
+		public ArrayIterator(Object array, ElementConverter elementConverter) {
+			this.array = array;
+			this.length = Array.getLength(array);
+			this.elementConverter = elementConverter;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (this.index < this.length);
+		}
+
+		@Override
+		public Object next() {
+			if (this.index >= this.length) {
+				throw new NoSuchElementException();
+			}
+			Object sourceElement = Array.get(this.array, this.index++);
+			return (this.elementConverter != null ? this.elementConverter.convert(sourceElement) : sourceElement);
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Converting view is read-only");
+		}
+	}
+
+}
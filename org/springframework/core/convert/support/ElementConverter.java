@@ -0,0 +1,140 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+
+/**
+ * Converts the elements of a collection, array or delimited String to a common
+ * target element type. The underlying {@link GenericConverter} is resolved once per
+ * distinct source element class instead of going through the full
+ * {@link ConversionService} lookup for every single element.
+ *
+ * <p>Not thread-safe: to be used for a single conversion run only.
+ *
+ * <p>
+ *  将集合、数组或分隔字符串的元素转换为公共目标元素类型底层{@link GenericConverter}按每个不同的源元素类解析一次,而不是对每个元素都通过完整的{@link ConversionService}进行查找
+ * 
+ *  <p>非线程安全：仅用于单次转换过程
+ * 
+ * 
+ * @since 4.3
+ */
+final class ElementConverter {
+
+	private final ConversionService conversionService;
+
+	private final TypeDescriptor sourceType;
+
+	private final boolean narrowPerElement;
+
+	private final TypeDescriptor targetElementType;
+
+	private Class<?> lastElementClass;
+
+	private TypeDescriptor lastSourceElementType;
+
+	private GenericConverter lastConverter;
+
+
+	private ElementConverter(ConversionService conversionService, TypeDescriptor sourceType,
+			boolean narrowPerElement, TypeDescriptor targetElementType) {
+
+		this.conversionService = conversionService;
+		this.sourceType = sourceType;
+		this.narrowPerElement = narrowPerElement;
+		this.targetElementType = targetElementType;
+	}
+
+
+	/**
+	 * Create an ElementConverter for the elements of the given collection or array type,
+	 * narrowing the source element descriptor to each element's runtime class.
+	 * <p>
+	 *  为给定集合或数组类型的元素创建ElementConverter,将源元素描述符缩小到每个元素的运行时类
+	 * 
+	 */
+	public static ElementConverter forContainer(ConversionService conversionService,
+			TypeDescriptor sourceContainerType, TypeDescriptor targetElementType) {
+
+		return new ElementConverter(conversionService, sourceContainerType, true, targetElementType);
+	}
+
+	/**
+	 * Create an ElementConverter for source elements that all share the given type,
+	 * e.g. the fields of a delimited String.
+	 * <p>
+	 *  为全部共享给定类型的源元素创建ElementConverter,例如分隔字符串的各个字段
+	 * 
+	 */
+	public static ElementConverter forElementType(ConversionService conversionService,
+			TypeDescriptor sourceElementType, TypeDescriptor targetElementType) {
+
+		return new ElementConverter(conversionService, sourceElementType, false, targetElementType);
+	}
+
+
+	/**
+	 * Convert the given source element to the target element type.
+	 * <p>
+	 *  将给定的源元素转换为目标元素类型
+	 * 
+	 */
+	public Object convert(Object sourceElement) {
+		if (sourceElement == null || !(this.conversionService instanceof GenericConversionService)) {
+			return this.conversionService.convert(sourceElement, getSourceElementType(sourceElement), this.targetElementType);
+		}
+		Class<?> elementClass = sourceElement.getClass();
+		if (elementClass != this.lastElementClass) {
+			TypeDescriptor sourceElementType = getSourceElementType(sourceElement);
+			this.lastConverter = ((GenericConversionService) this.conversionService).getConverter(
+					sourceElementType, this.targetElementType);
+			this.lastSourceElementType = sourceElementType;
+			this.lastElementClass = elementClass;
+		}
+		if (this.lastConverter == null) {
+			// Let the ConversionService report the missing converter in its usual way
+			return this.conversionService.convert(sourceElement, this.lastSourceElementType, this.targetElementType);
+		}
+		return ConversionUtils.invokeConverter(
+				this.lastConverter, sourceElement, this.lastSourceElementType, this.targetElementType);
+	}
+
+	/**
+	 * Determine whether every element of the source container can be passed through
+	 * unchanged, based on its declared element type. Only returns {@code true} if the
+	 * ConversionService would not apply any converter between the declared element types.
+	 * <p>
+	 *  根据声明的元素类型确定源容器的每个元素是否都可以原样传递只有当ConversionService在声明的元素类型之间不会应用任何转换器时才返回{@code true}
+	 * 
+	 */
+	public boolean canBypassElementConversion() {
+		TypeDescriptor sourceElementType =
+				(this.narrowPerElement ? this.sourceType.getElementTypeDescriptor() : this.sourceType);
+		return (sourceElementType != null && this.conversionService instanceof GenericConversionService &&
+				((GenericConversionService) this.conversionService).canBypassConvert(
+						sourceElementType, this.targetElementType));
+	}
+
+	private TypeDescriptor getSourceElementType(Object sourceElement) {
+		return (this.narrowPerElement ? this.sourceType.elementTypeDescriptor(sourceElement) : this.sourceType);
+	}
+
+}
@@ -27,6 +27,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionException;
@@ -66,6 +67,15 @@ import org.springframework.util.StringUtils;
  */
 public class GenericConversionService implements ConfigurableConversionService {
 
+	/**
+	 * Default maximum number of descriptor-sensitive entries in the converter cache: 256.
+	 * <p>
+	 *  转换器缓存中与描述符相关的条目的默认最大数量：256
+	 * 
+	 * @since 4.3
+	 */
+	public static final int DEFAULT_CONVERTER_CACHE_LIMIT = 256;
+
 	/**
 	 * General NO-OP converter used when conversion is not required.
 	 * <p>
@@ -100,9 +110,59 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private final Converters converters = new Converters();
 
+	private volatile int converterCacheLimit = DEFAULT_CONVERTER_CACHE_LIMIT;
+
+	/** Converters for plain source/target types, keyed by raw source class and then raw target class */
+	private final ConcurrentMap<Class<?>, Map<Class<?>, GenericConverter>> typeConverterCache =
+			new ConcurrentReferenceHashMap<Class<?>, Map<Class<?>, GenericConverter>>(64);
+
+	/** Fast access cache for descriptor-sensitive converter lookups, e.g. generic collections */
 	private final Map<ConverterCacheKey, GenericConverter> converterCache =
 			new ConcurrentReferenceHashMap<ConverterCacheKey, GenericConverter>(64);
 
+	/** Bounded FIFO registry for descriptor-sensitive entries, evicting from the access cache */
+	@SuppressWarnings("serial")
+	private final Map<ConverterCacheKey, GenericConverter> converterCreationCache =
+			new LinkedHashMap<ConverterCacheKey, GenericConverter>(64) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<ConverterCacheKey, GenericConverter> eldest) {
+					if (size() > getConverterCacheLimit()) {
+						converterCache.remove(eldest.getKey());
+						return true;
+					}
+					else {
+						return false;
+					}
+				}
+			};
+
+
+	/**
+	 * Specify the maximum number of descriptor-sensitive entries in the converter cache
+	 * (i.e. lookups involving annotated, collection, array or map type descriptors).
+	 * Lookups between plain types are cached per raw class pair and not subject to this limit.
+	 * <p>Default is 256. A limit of 0 turns off caching of descriptor-sensitive lookups.
+	 * <p>
+	 *  指定转换器缓存中与描述符相关的条目的最大数量(即涉及注解、集合、数组或Map类型描述符的查找)普通类型之间的查找按原始类对缓存,不受此限制<p>默认值为256;设置为0将关闭对描述符相关查找的缓存
+	 * 
+	 * @since 4.3
+	 */
+	public void setConverterCacheLimit(int converterCacheLimit) {
+		this.converterCacheLimit = converterCacheLimit;
+		invalidateCache();
+	}
+
+	/**
+	 * Return the maximum number of descriptor-sensitive entries in the converter cache.
+	 * <p>
+	 *  返回转换器缓存中与描述符相关的条目的最大数量
+	 * 
+	 * @since 4.3
+	 */
+	public int getConverterCacheLimit() {
+		return this.converterCacheLimit;
+	}
+
 
 	// ConverterRegistry implementation
 
@@ -280,24 +340,24 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 * @see #getDefaultConverter(TypeDescriptor, TypeDescriptor)
 	 */
 	protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		if (isPlainType(sourceType) && isPlainType(targetType)) {
+			return getConverterForPlainTypes(sourceType, targetType);
+		}
+
 		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
 		GenericConverter converter = this.converterCache.get(key);
 		if (converter != null) {
 			return (converter != NO_MATCH ? converter : null);
 		}
 
-		converter = this.converters.find(sourceType, targetType);
-		if (converter == null) {
-			converter = getDefaultConverter(sourceType, targetType);
-		}
-
-		if (converter != null) {
-			this.converterCache.put(key, converter);
-			return converter;
+		converter = findConverter(sourceType, targetType);
+		if (this.converterCacheLimit > 0) {
+			synchronized (this.converterCreationCache) {
+				this.converterCache.put(key, converter);
+				this.converterCreationCache.put(key, converter);
+			}
 		}
-
-		this.converterCache.put(key, NO_MATCH);
-		return null;
+		return (converter != NO_MATCH ? converter : null);
 	}
 
 	/**
@@ -334,8 +394,69 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return generics;
 	}
 
+	/**
+	 * Look up the converter for two plain type descriptors through the two-level
+	 * raw class cache, without allocating a cache key on a cache hit.
+	 * <p>
+	 *  通过两级原始类缓存查找两个普通类型描述符的转换器,缓存命中时不分配缓存键
+	 * 
+	 */
+	private GenericConverter getConverterForPlainTypes(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		Map<Class<?>, GenericConverter> convertersForSource = this.typeConverterCache.get(sourceType.getType());
+		if (convertersForSource != null) {
+			GenericConverter converter = convertersForSource.get(targetType.getType());
+			if (converter != null) {
+				return (converter != NO_MATCH ? converter : null);
+			}
+		}
+		else {
+			convertersForSource = new ConcurrentReferenceHashMap<Class<?>, GenericConverter>(16, 1);
+			Map<Class<?>, GenericConverter> existing =
+					this.typeConverterCache.putIfAbsent(sourceType.getType(), convertersForSource);
+			if (existing != null) {
+				convertersForSource = existing;
+			}
+		}
+
+		GenericConverter converter = findConverter(sourceType, targetType);
+		convertersForSource.put(targetType.getType(), converter);
+		return (converter != NO_MATCH ? converter : null);
+	}
+
+	/**
+	 * Perform an exhaustive search for a matching converter, falling back to the
+	 * default converter. Returns {@link #NO_MATCH} if no converter applies.
+	 * <p>
+	 *  对匹配的转换器进行详尽搜索,并回退到默认转换器如果没有适用的转换器,则返回{@link #NO_MATCH}
+	 * 
+	 */
+	private GenericConverter findConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		GenericConverter converter = this.converters.find(sourceType, targetType);
+		if (converter == null) {
+			converter = getDefaultConverter(sourceType, targetType);
+		}
+		return (converter != null ? converter : NO_MATCH);
+	}
+
+	/**
+	 * Determine whether the given descriptor is fully identified by its raw class,
+	 * i.e. carries no annotations and no element, key or value type descriptors.
+	 * Such descriptors are equal to {@link TypeDescriptor#valueOf(Class)} for their type.
+	 * <p>
+	 *  确定给定的描述符是否完全由其原始类标识,即不携带注解,也没有元素、键或值类型描述符这样的描述符等于其类型的{@link TypeDescriptor#valueOf(Class)}
+	 * 
+	 */
+	private static boolean isPlainType(TypeDescriptor typeDescriptor) {
+		return (typeDescriptor.getAnnotations().length == 0 && !typeDescriptor.isCollection() &&
+				!typeDescriptor.isArray() && !typeDescriptor.isMap());
+	}
+
 	private void invalidateCache() {
-		this.converterCache.clear();
+		this.typeConverterCache.clear();
+		synchronized (this.converterCreationCache) {
+			this.converterCache.clear();
+			this.converterCreationCache.clear();
+		}
 	}
 
 	private Object handleConverterNotFound(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
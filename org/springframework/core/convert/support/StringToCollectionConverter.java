@@ -79,8 +79,10 @@ final class StringToCollectionConverter implements ConditionalGenericConverter {
 			}
 		}
 		else {
+			ElementConverter elementConverter =
+					ElementConverter.forElementType(this.conversionService, sourceType, elementDesc);
 			for (String field : fields) {
-				Object targetElement = this.conversionService.convert(field.trim(), sourceType, elementDesc);
+				Object targetElement = elementConverter.convert(field.trim());
 				target.add(targetElement);
 			}
 		}
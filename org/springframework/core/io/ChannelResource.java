@@ -0,0 +1,78 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Extended interface for a resource whose content can be accessed through
+ * NIO channels. Provides a {@link #readableChannel() channel accessor} as
+ * well as a {@link #getMappedBuffer() memory-mapped read view}.
+ *
+ * <p>Callers that find a {@link java.nio.channels.FileChannel} behind
+ * {@link #readableChannel()} may transfer its content directly to a target
+ * channel, e.g. through
+ * {@link org.springframework.util.StreamUtils#copy(java.nio.channels.FileChannel, long, long, java.io.OutputStream)},
+ * instead of streaming it through heap buffers.
+ *
+ * <p>
+ *  资源的扩展接口,其内容可以通过NIO通道访问提供{@link #readableChannel()通道访问器}以及{@link #getMappedBuffer()内存映射读取视图}
+ * <p>在{@link #readableChannel()}后面找到{@link java.nio.channels.FileChannel}的调用者可以将其内容直接传输到目标通道,例如通过{@link org.springframework.util.StreamUtils#copy(java.nio.channels.FileChannel, long, long, java.io.OutputStream)},而不是通过堆缓冲区进行流式传输
+ * 
+ * 
+ * @since 4.3
+ * @see FileSystemResource
+ * @see PathResource
+ */
+public interface ChannelResource extends Resource {
+
+	/**
+	 * Return a {@link ReadableByteChannel} for the underlying resource,
+	 * positioned at the start of its content.
+	 * <p>It is expected that each call creates a <i>fresh</i> channel,
+	 * to be closed by the caller. Implementations backed by a file return
+	 * a {@link java.nio.channels.FileChannel}.
+	 * <p>
+	 *  返回底层资源的{@link ReadableByteChannel},位于其内容的开头<p>预计每次调用都会创建一个<i>新的</i>通道,由调用者关闭由文件支持的实现返回{@link java.nio.channels.FileChannel}
+	 * 
+	 * 
+	 * @throws java.io.FileNotFoundException if the underlying resource doesn't exist
+	 * @throws IOException if the channel could not be opened
+	 * @see #getInputStream()
+	 */
+	ReadableByteChannel readableChannel() throws IOException;
+
+	/**
+	 * Return a read-only, memory-mapped view of the entire content of the
+	 * underlying resource.
+	 * <p>The mapping remains valid after this call, independent of any channel
+	 * that was used to establish it; it is released once the returned buffer
+	 * gets garbage-collected. Note that a single mapping cannot exceed
+	 * {@link Integer#MAX_VALUE} bytes.
+	 * <p>
+	 *  返回底层资源的全部内容的只读内存映射视图<p>在此调用之后映射仍然有效,与用于建立映射的任何通道无关;一旦返回的缓冲区被垃圾回收,映射就会被释放请注意,单个映射不能超过{@link Integer#MAX_VALUE}字节
+	 * 
+	 * 
+	 * @throws java.io.FileNotFoundException if the underlying resource doesn't exist
+	 * @throws IOException if the content could not be mapped, e.g. because it is too large
+	 */
+	ByteBuffer getMappedBuffer() throws IOException;
+
+}
@@ -25,6 +25,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -32,7 +35,7 @@ import org.springframework.util.StringUtils;
 /**
  * {@link Resource} implementation for {@code java.io.File} handles.
  * Supports resolution as a {@code File} and also as a {@code URL}.
- * Implements the extended {@link WritableResource} interface.
+ * Implements the extended {@link WritableResource} and {@link ChannelResource} interfaces.
  *
  * <p>
  *  {@code javaioFile}的{@link资源}实现处理支持将解析为{@code文件},也作为{@code URL}实现扩展{@link WritableResource}界面
@@ -42,7 +45,7 @@ import org.springframework.util.StringUtils;
  * @since 28.12.2003
  * @see java.io.File
  */
-public class FileSystemResource extends AbstractResource implements WritableResource {
+public class FileSystemResource extends AbstractResource implements WritableResource, ChannelResource {
 
 	private final File file;
 
@@ -146,6 +149,42 @@ public class FileSystemResource extends AbstractResource implements WritableReso
 		return new FileInputStream(this.file);
 	}
 
+	/**
+	 * This implementation opens a FileChannel for the underlying file.
+	 * <p>
+	 *  此实现为底层文件打开FileChannel
+	 * 
+	 * 
+	 * @see java.io.FileInputStream#getChannel()
+	 */
+	@Override
+	public ReadableByteChannel readableChannel() throws IOException {
+		return new FileInputStream(this.file).getChannel();
+	}
+
+	/**
+	 * This implementation maps the underlying file in read-only mode.
+	 * <p>
+	 *  此实现以只读模式映射底层文件
+	 * 
+	 * 
+	 * @see java.nio.channels.FileChannel#map
+	 */
+	@Override
+	public ByteBuffer getMappedBuffer() throws IOException {
+		FileChannel channel = new FileInputStream(this.file).getChannel();
+		try {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(getDescription() + " is too large to be mapped: " + size + " bytes");
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		finally {
+			channel.close();
+		}
+	}
+
 	/**
 	 * This implementation checks whether the underlying file is marked as writable
 	 * (and corresponds to an actual file with content, not to a directory).
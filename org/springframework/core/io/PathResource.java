@@ -24,10 +24,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 import org.springframework.lang.UsesJava7;
 import org.springframework.util.Assert;
@@ -35,7 +39,7 @@ import org.springframework.util.Assert;
 /**
  * {@link Resource} implementation for {@code java.nio.file.Path} handles.
  * Supports resolution as File, and also as URL.
- * Implements the extended {@link WritableResource} interface.
+ * Implements the extended {@link WritableResource} and {@link ChannelResource} interfaces.
  *
  * <p>
  *  {@code javaniofilePath}的{@link资源}实现支持以文件形式支持解析,也可以以URL形式实现扩展{@link WritableResource}界面
@@ -47,7 +51,7 @@ import org.springframework.util.Assert;
  * @see java.nio.file.Path
  */
 @UsesJava7
-public class PathResource extends AbstractResource implements WritableResource {
+public class PathResource extends AbstractResource implements WritableResource, ChannelResource {
 
 	private final Path path;
 
@@ -166,6 +170,52 @@ public class PathResource extends AbstractResource implements WritableResource {
 		return Files.newInputStream(this.path);
 	}
 
+	/**
+	 * This implementation opens a FileChannel for the underlying file.
+	 * <p>
+	 *  此实现为底层文件打开FileChannel
+	 * 
+	 * 
+	 * @see java.nio.channels.FileChannel#open(Path, OpenOption...)
+	 */
+	@Override
+	public ReadableByteChannel readableChannel() throws IOException {
+		return openChannel();
+	}
+
+	/**
+	 * This implementation maps the underlying file in read-only mode.
+	 * <p>
+	 *  此实现以只读模式映射底层文件
+	 * 
+	 * 
+	 * @see java.nio.channels.FileChannel#map
+	 */
+	@Override
+	public ByteBuffer getMappedBuffer() throws IOException {
+		FileChannel channel = openChannel();
+		try {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(getDescription() + " is too large to be mapped: " + size + " bytes");
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		finally {
+			channel.close();
+		}
+	}
+
+	private FileChannel openChannel() throws IOException {
+		if (!exists()) {
+			throw new FileNotFoundException(getPath() + " (no such file or directory)");
+		}
+		if (Files.isDirectory(this.path)) {
+			throw new FileNotFoundException(getPath() + " (is a directory)");
+		}
+		return FileChannel.open(this.path, StandardOpenOption.READ);
+	}
+
 	/**
 	 * This implementation checks whether the underlying file is marked as writable
 	 * (and corresponds to an actual file with content, not to a directory).
@@ -207,6 +207,71 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator implement
 		return this.concurrencyThrottle.isThrottleActive();
 	}
 
+	/**
+	 * Set whether to adapt the concurrency limit to the observed task latency,
+	 * starting from the configured {@link #setConcurrencyLimit "concurrencyLimit"}.
+	 * <p>
+	 *  设置是否根据观察到的任务延迟调整并发限制,从配置的{@link #setConcurrencyLimit "concurrencyLimit"}开始
+	 * 
+	 * 
+	 * @since 4.3
+	 * @see ConcurrencyThrottleSupport#setAdaptiveConcurrency
+	 */
+	public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+		this.concurrencyThrottle.setAdaptiveConcurrency(adaptiveConcurrency);
+	}
+
+	/**
+	 * Set the upper bound for an adaptive concurrency limit.
+	 * Default is the configured {@link #setConcurrencyLimit "concurrencyLimit"}.
+	 * <p>
+	 *  设置自适应并发限制的上限默认为配置的{@link #setConcurrencyLimit "concurrencyLimit"}
+	 * 
+	 * 
+	 * @since 4.3
+	 * @see ConcurrencyThrottleSupport#setMaxConcurrencyLimit
+	 */
+	public void setMaxConcurrencyLimit(int maxConcurrencyLimit) {
+		this.concurrencyThrottle.setMaxConcurrencyLimit(maxConcurrencyLimit);
+	}
+
+	/**
+	 * Return the concurrency limit currently in effect.
+	 * <p>
+	 *  返回当前生效的并发限制
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public final int getCurrentConcurrencyLimit() {
+		return this.concurrencyThrottle.getCurrentConcurrencyLimit();
+	}
+
+	/**
+	 * Return the number of throttled tasks currently executing.
+	 * <p>
+	 *  返回当前正在执行的受限任务数
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public final int getConcurrencyCount() {
+		return this.concurrencyThrottle.getConcurrencyCount();
+	}
+
+	/**
+	 * Return the number of tasks rejected for not getting to start
+	 * within their start timeout.
+	 * <p>
+	 *  返回因未能在启动超时内开始而被拒绝的任务数
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public final long getRejectedCount() {
+		return this.concurrencyThrottle.getRejectedCount();
+	}
+
 
 	/**
 	 * Executes the given task, within a concurrency throttle
@@ -227,7 +292,9 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator implement
 	 * if configured (through the superclass's settings).
 	 * <p>Executes urgent tasks (with 'immediate' timeout) directly,
 	 * bypassing the concurrency throttle (if active). All other
-	 * tasks are subject to throttling.
+	 * tasks are subject to throttling, waiting at most for the given
+	 * start timeout (unless indefinite) before being rejected with a
+	 * {@link TaskTimeoutException}.
 	 * <p>
 	 * 执行给定的任务,如果配置(通过超类的设置)执行紧急任务(直接超时)直接执行紧急任务(绕过并发油门)(如果处于活动状态)所有其他任务都受到限制
 	 * 
@@ -240,8 +307,8 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator implement
 		Assert.notNull(task, "Runnable must not be null");
 		Runnable taskToUse = (this.taskDecorator != null ? this.taskDecorator.decorate(task) : task);
 		if (isThrottleActive() && startTimeout > TIMEOUT_IMMEDIATE) {
-			this.concurrencyThrottle.beforeAccess();
-			doExecute(new ConcurrencyThrottlingRunnable(taskToUse));
+			long token = this.concurrencyThrottle.beforeAccess(startTimeout < TIMEOUT_INDEFINITE ? startTimeout : -1);
+			doExecute(new ConcurrencyThrottlingRunnable(taskToUse, token));
 		}
 		else {
 			doExecute(taskToUse);
@@ -313,6 +380,21 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator implement
 		protected void afterAccess() {
 			super.afterAccess();
 		}
+
+		@Override
+		protected long beforeAccess(long maxWait) {
+			return super.beforeAccess(maxWait);
+		}
+
+		@Override
+		protected void afterAccess(long token) {
+			super.afterAccess(token);
+		}
+
+		@Override
+		protected RuntimeException createAccessRejectedException(String message) {
+			return new TaskTimeoutException(message);
+		}
 	}
 
 
@@ -326,8 +408,11 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator implement
 
 		private final Runnable target;
 
-		public ConcurrencyThrottlingRunnable(Runnable target) {
+		private final long token;
+
+		public ConcurrencyThrottlingRunnable(Runnable target, long token) {
 			this.target = target;
+			this.token = token;
 		}
 
 		@Override
@@ -336,7 +421,7 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator implement
 				this.target.run();
 			}
 			finally {
-				concurrencyThrottle.afterAccess();
+				concurrencyThrottle.afterAccess(this.token);
 			}
 		}
 	}
@@ -0,0 +1,530 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task.support;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * Decorator for a shared {@link Executor}, isolating a group of tasks into a
+ * bulkhead: at most {@link #setMaxConcurrency "maxConcurrency"} of its tasks are
+ * handed to the target executor at any time, further tasks wait in a queue of
+ * this bulkhead (bounded through {@link #setQueueCapacity "queueCapacity"})
+ * rather than in the target's queue, and tasks beyond that are rejected
+ * according to the {@link RejectionPolicy}. A slow downstream dependency can
+ * therefore only tie up its bulkhead's share of the target's threads.
+ *
+ * <p>Typically defined as an executor bean per isolation domain and referenced
+ * from {@code @Async} through its qualifier, with the application-wide pool as
+ * target. Queue wait time (from submission to start), execution time and
+ * rejection statistics are exposed through bean getters, e.g. for JMX export.
+ *
+ * <p>
+ *  共享{@link Executor}的装饰器,将一组任务隔离到一个舱壁中：其任务中最多{@link #setMaxConcurrency "maxConcurrency"}个同时交给目标执行器,
+ * 其余任务在此舱壁的队列(通过{@link #setQueueCapacity "queueCapacity"}限定)而不是目标的队列中等待,超出的任务根据{@link RejectionPolicy}被拒绝
+ * 因此缓慢的下游依赖只能占用其舱壁所分得的目标线程
+ * 
+ *  <p>通常按隔离域定义为执行器bean,并通过其限定符从{@code @Async}引用,以应用范围的线程池作为目标队列等待时间(从提交到开始)、执行时间和拒绝统计信息通过bean getter公开,例如用于JMX导出
+ * 
+ * 
+ * @since 4.3
+ * @see org.springframework.scheduling.annotation.Async#value()
+ */
+public class BulkheadTaskExecutor implements AsyncListenableTaskExecutor {
+
+	/**
+	 * What to do with a task that neither gets to run nor fits into the queue.
+	 * <p>
+	 *  如何处理既无法运行也无法放入队列的任务
+	 * 
+	 */
+	public enum RejectionPolicy {
+
+		/**
+		 * Throw a {@link TaskRejectedException} to the submitter.
+		 * <p>
+		 *  向提交者抛出{@link TaskRejectedException}
+		 * 
+		 */
+		ABORT,
+
+		/**
+		 * Return a future failed with a {@link TaskRejectedException} from the
+		 * {@code submit} variants; {@code execute} throws it as with {@link #ABORT}.
+		 * <p>Only suitable when every submitter inspects the returned future.
+		 * A void {@code @Async} method discards it, so its rejection would go
+		 * unnoticed, and a {@code CompletableFuture} method goes through
+		 * {@code execute}, so it still sees the exception thrown.
+		 * <p>
+		 *  从{@code submit}系列方法返回以{@link TaskRejectedException}失败的future; {@code execute}则与{@link #ABORT}一样抛出该异常
+		 * <p>仅适用于每个提交者都检查返回的future的情况void类型的{@code @Async}方法会丢弃它,因此其拒绝不会被察觉;
+		 * 返回{@code CompletableFuture}的方法经由{@code execute},因此仍会看到抛出的异常
+		 * 
+		 */
+		FAIL_FUTURE,
+
+		/**
+		 * Run the task in the submitting thread. Also applies to tasks that the
+		 * target executor rejects; for queued tasks, this is the thread which
+		 * attempted to start them.
+		 * <p>
+		 *  在提交线程中运行任务也适用于被目标执行器拒绝的任务;对于排队的任务,这是尝试启动它们的线程
+		 * 
+		 */
+		CALLER_RUNS
+	}
+
+
+	private static final Log logger = LogFactory.getLog(BulkheadTaskExecutor.class);
+
+	private final Executor targetExecutor;
+
+	private volatile int maxConcurrency;
+
+	private volatile int queueCapacity = Integer.MAX_VALUE;
+
+	private volatile RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+	private final AtomicInteger activeCount = new AtomicInteger();
+
+	private final Queue<BulkheadTask> queue = new ConcurrentLinkedQueue<BulkheadTask>();
+
+	private final AtomicInteger queueSize = new AtomicInteger();
+
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	private final AtomicLong completedCount = new AtomicLong();
+
+	private final AtomicLong totalQueueWaitTime = new AtomicLong();
+
+	private final AtomicLong maxQueueWaitTime = new AtomicLong();
+
+	private final AtomicLong totalExecutionTime = new AtomicLong();
+
+	private final AtomicLong maxExecutionTime = new AtomicLong();
+
+	private final ThreadLocal<Boolean> draining = new NamedThreadLocal<Boolean>("Bulkhead queue draining");
+
+
+	/**
+	 * Create a new BulkheadTaskExecutor for the given target executor.
+	 * <p>
+	 *  为给定的目标执行器创建一个新的BulkheadTaskExecutor
+	 * 
+	 * 
+	 * @param targetExecutor the (typically shared) executor to run tasks on
+	 * @param maxConcurrency the maximum number of tasks handed to the target at once
+	 */
+	public BulkheadTaskExecutor(Executor targetExecutor, int maxConcurrency) {
+		Assert.notNull(targetExecutor, "Target executor must not be null");
+		this.targetExecutor = targetExecutor;
+		setMaxConcurrency(maxConcurrency);
+	}
+
+
+	/**
+	 * Set the maximum number of tasks handed to the target executor at once.
+	 * Can be changed at runtime.
+	 * <p>
+	 *  设置同时交给目标执行器的最大任务数可以在运行时更改
+	 * 
+	 */
+	public void setMaxConcurrency(int maxConcurrency) {
+		Assert.isTrue(maxConcurrency > 0, "'maxConcurrency' must be positive");
+		this.maxConcurrency = maxConcurrency;
+		drainQueue();
+	}
+
+	/**
+	 * Return the maximum number of tasks handed to the target executor at once.
+	 * <p>
+	 *  返回同时交给目标执行器的最大任务数
+	 * 
+	 */
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	/**
+	 * Set the capacity of the queue for tasks waiting for their turn.
+	 * <p>Default is {@code Integer.MAX_VALUE}, as with a thread pool's queue;
+	 * any bound at all makes the bulkhead shed excess load instead.
+	 * <p>
+	 *  设置等待轮到的任务队列的容量<p>默认值为{@code Integer.MAX_VALUE},与线程池的队列相同;任何限制都会使舱壁转而卸载多余的负载
+	 * 
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity >= 0, "'queueCapacity' must not be negative");
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Return the capacity of the queue for tasks waiting for their turn.
+	 * <p>
+	 *  返回等待轮到的任务队列的容量
+	 * 
+	 */
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	/**
+	 * Set the policy for tasks that neither get to run nor fit into the queue.
+	 * Default is {@link RejectionPolicy#ABORT}, which reports a rejection to
+	 * every kind of submitter, including void {@code @Async} methods.
+	 * <p>
+	 *  设置既无法运行也无法放入队列的任务的策略默认为{@link RejectionPolicy#ABORT},它会向每种提交者报告拒绝,包括void类型的{@code @Async}方法
+	 * 
+	 */
+	public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+		Assert.notNull(rejectionPolicy, "RejectionPolicy must not be null");
+		this.rejectionPolicy = rejectionPolicy;
+	}
+
+	/**
+	 * Return the policy for tasks that neither get to run nor fit into the queue.
+	 * <p>
+	 *  返回既无法运行也无法放入队列的任务的策略
+	 * 
+	 */
+	public RejectionPolicy getRejectionPolicy() {
+		return this.rejectionPolicy;
+	}
+
+
+	@Override
+	public void execute(Runnable task) {
+		Assert.notNull(task, "Runnable must not be null");
+		BulkheadTask bulkheadTask = new BulkheadTask(task);
+		if (tryAcquire()) {
+			RejectedExecutionException ex = dispatch(bulkheadTask);
+			if (ex != null) {
+				drainQueue();
+				if (this.rejectionPolicy == RejectionPolicy.CALLER_RUNS) {
+					task.run();
+				}
+				else {
+					throw new TaskRejectedException(
+							"Executor [" + this.targetExecutor + "] did not accept task: " + task, ex);
+				}
+			}
+		}
+		else if (this.queueSize.incrementAndGet() <= this.queueCapacity) {
+			this.queue.offer(bulkheadTask);
+			drainQueue();
+		}
+		else {
+			this.queueSize.decrementAndGet();
+			this.rejectedCount.incrementAndGet();
+			if (this.rejectionPolicy == RejectionPolicy.CALLER_RUNS) {
+				task.run();
+			}
+			else {
+				throw new TaskRejectedException("Bulkhead at " + this.activeCount.get() + " running and " +
+						this.queueSize.get() + " queued tasks did not accept task: " + task);
+			}
+		}
+	}
+
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		execute(task);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		return submitListenable(task);
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return submitListenable(task);
+	}
+
+	@Override
+	public ListenableFuture<?> submitListenable(Runnable task) {
+		return submitFuture(new BulkheadFutureTask<Object>(task, null));
+	}
+
+	@Override
+	public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+		return submitFuture(new BulkheadFutureTask<T>(task));
+	}
+
+	private <T> ListenableFuture<T> submitFuture(BulkheadFutureTask<T> future) {
+		try {
+			execute(future);
+		}
+		catch (TaskRejectedException ex) {
+			if (this.rejectionPolicy != RejectionPolicy.FAIL_FUTURE) {
+				throw ex;
+			}
+			future.fail(ex);
+		}
+		return future;
+	}
+
+
+	private boolean tryAcquire() {
+		for (;;) {
+			int count = this.activeCount.get();
+			if (count >= this.maxConcurrency) {
+				return false;
+			}
+			if (this.activeCount.compareAndSet(count, count + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Hand the given task to the target executor, releasing the slot it
+	 * was going to occupy if the target does not accept it.
+	 * @return the target's rejection, or {@code null} if accepted
+	 */
+	private RejectedExecutionException dispatch(BulkheadTask task) {
+		try {
+			this.targetExecutor.execute(task);
+			return null;
+		}
+		catch (RejectedExecutionException ex) {
+			this.activeCount.decrementAndGet();
+			this.rejectedCount.incrementAndGet();
+			return ex;
+		}
+	}
+
+	/**
+	 * Start queued tasks for as long as there are free slots, e.g. after a
+	 * task completed or got queued concurrently with such a completion.
+	 * <p>A target executor which runs tasks in the calling thread (e.g. a
+	 * {@link org.springframework.core.task.SyncTaskExecutor}) completes them
+	 * within this loop; their own drain attempts return right away and leave
+	 * the work to this loop, so the stack does not grow with the queue length.
+	 */
+	private void drainQueue() {
+		if (this.draining.get() != null) {
+			return;
+		}
+		this.draining.set(Boolean.TRUE);
+		try {
+			while (!this.queue.isEmpty() && tryAcquire()) {
+				BulkheadTask next = this.queue.poll();
+				if (next == null) {
+					this.activeCount.decrementAndGet();
+				}
+				else {
+					this.queueSize.decrementAndGet();
+					dispatchQueued(next);
+				}
+			}
+		}
+		finally {
+			this.draining.remove();
+		}
+	}
+
+	private void dispatchQueued(BulkheadTask task) {
+		RejectedExecutionException ex = dispatch(task);
+		if (ex != null) {
+			if (this.rejectionPolicy == RejectionPolicy.CALLER_RUNS) {
+				try {
+					task.target.run();
+				}
+				catch (Throwable runEx) {
+					logger.error("Queued task rejected by executor [" + this.targetExecutor +
+							"] failed in calling thread: " + task.target, runEx);
+				}
+			}
+			else if (task.target instanceof BulkheadFutureTask) {
+				((BulkheadFutureTask<?>) task.target).fail(new TaskRejectedException(
+						"Executor [" + this.targetExecutor + "] did not accept queued task: " + task.target, ex));
+			}
+			else {
+				logger.error("Executor [" + this.targetExecutor + "] did not accept queued task: " + task.target, ex);
+			}
+		}
+	}
+
+	private void afterExecution(long queueWaitTime, long executionTime) {
+		this.completedCount.incrementAndGet();
+		this.totalQueueWaitTime.addAndGet(queueWaitTime);
+		updateMax(this.maxQueueWaitTime, queueWaitTime);
+		this.totalExecutionTime.addAndGet(executionTime);
+		updateMax(this.maxExecutionTime, executionTime);
+		this.activeCount.decrementAndGet();
+		drainQueue();
+	}
+
+	private static void updateMax(AtomicLong max, long value) {
+		long current;
+		while (value > (current = max.get())) {
+			if (max.compareAndSet(current, value)) {
+				return;
+			}
+		}
+	}
+
+
+	/**
+	 * Return the number of tasks currently handed to the target executor.
+	 * <p>
+	 *  返回当前已交给目标执行器的任务数
+	 * 
+	 */
+	public int getActiveCount() {
+		return this.activeCount.get();
+	}
+
+	/**
+	 * Return the number of tasks currently waiting in this bulkhead's queue.
+	 * <p>
+	 *  返回当前在此舱壁队列中等待的任务数
+	 * 
+	 */
+	public int getQueueSize() {
+		return this.queueSize.get();
+	}
+
+	/**
+	 * Return the number of tasks rejected, either by this bulkhead or by the
+	 * target executor (including the ones run by the caller instead).
+	 * <p>
+	 *  返回被此舱壁或目标执行器拒绝的任务数(包括改由调用者运行的任务)
+	 * 
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.get();
+	}
+
+	/**
+	 * Return the number of tasks completed on the target executor.
+	 * <p>
+	 *  返回在目标执行器上完成的任务数
+	 * 
+	 */
+	public long getCompletedCount() {
+		return this.completedCount.get();
+	}
+
+	/**
+	 * Return the average time in milliseconds from submission until a task
+	 * started running, covering both this bulkhead's and the target's queue.
+	 * <p>
+	 *  返回从提交到任务开始运行的平均时间(毫秒),涵盖此舱壁和目标的队列
+	 * 
+	 */
+	public double getAverageQueueWaitMillis() {
+		long completed = this.completedCount.get();
+		return (completed > 0 ? this.totalQueueWaitTime.get() / 1000000.0 / completed : 0);
+	}
+
+	/**
+	 * Return the longest time in milliseconds a task waited to start running.
+	 * <p>
+	 *  返回任务等待开始运行的最长时间(毫秒)
+	 * 
+	 */
+	public double getMaxQueueWaitMillis() {
+		return this.maxQueueWaitTime.get() / 1000000.0;
+	}
+
+	/**
+	 * Return the average execution time of a task in milliseconds.
+	 * <p>
+	 *  返回任务的平均执行时间(毫秒)
+	 * 
+	 */
+	public double getAverageExecutionMillis() {
+		long completed = this.completedCount.get();
+		return (completed > 0 ? this.totalExecutionTime.get() / 1000000.0 / completed : 0);
+	}
+
+	/**
+	 * Return the longest execution time of a task in milliseconds.
+	 * <p>
+	 *  返回任务的最长执行时间(毫秒)
+	 * 
+	 */
+	public double getMaxExecutionMillis() {
+		return this.maxExecutionTime.get() / 1000000.0;
+	}
+
+
+	/**
+	 * Runnable handed to the target executor, timing the task and passing
+	 * its slot on when done.
+	 */
+	private class BulkheadTask implements Runnable {
+
+		private final Runnable target;
+
+		private final long submitTime = System.nanoTime();
+
+		public BulkheadTask(Runnable target) {
+			this.target = target;
+		}
+
+		@Override
+		public void run() {
+			long startTime = System.nanoTime();
+			try {
+				this.target.run();
+			}
+			finally {
+				afterExecution(startTime - this.submitTime, System.nanoTime() - startTime);
+			}
+		}
+	}
+
+
+	/**
+	 * ListenableFutureTask that can be failed when its task gets rejected.
+	 */
+	private static class BulkheadFutureTask<T> extends ListenableFutureTask<T> {
+
+		public BulkheadFutureTask(Callable<T> callable) {
+			super(callable);
+		}
+
+		public BulkheadFutureTask(Runnable runnable, T result) {
+			super(runnable, result);
+		}
+
+		public void fail(Throwable ex) {
+			setException(ex);
+		}
+	}
+
+}
@@ -42,6 +42,8 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 
 	private final Integer varargsPosition;
 
+	private volatile ReflectionUtils.MethodAccessor methodAccessor;
+
 	private boolean computedPublicDeclaringClass = false;
 
 	private Class<?> publicDeclaringClass;
@@ -114,8 +116,12 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 			if (this.method.isVarArgs()) {
 				arguments = ReflectionHelper.setupArgumentsForVarargsInvocation(this.method.getParameterTypes(), arguments);
 			}
-			ReflectionUtils.makeAccessible(this.method);
-			Object value = this.method.invoke(target, arguments);
+			ReflectionUtils.MethodAccessor accessor = this.methodAccessor;
+			if (accessor == null) {
+				accessor = ReflectionUtils.getMethodAccessor(this.method);
+				this.methodAccessor = accessor;
+			}
+			Object value = accessor.invoke(target, arguments);
 			return new TypedValue(value, new TypeDescriptor(new MethodParameter(this.method, -1)).narrow(value));
 		}
 		catch (Exception ex) {
@@ -39,7 +39,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.springframework.util.Assert;
-import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.CompactCaseInsensitiveMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
@@ -656,7 +656,7 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	 * 
 	 */
 	public HttpHeaders() {
-		this(new LinkedCaseInsensitiveMap<List<String>>(8, Locale.ENGLISH), false);
+		this(new CompactCaseInsensitiveMap<List<String>>(8), false);
 	}
 
 	/**
@@ -669,7 +669,7 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 		Assert.notNull(headers, "'headers' must not be null");
 		if (readOnly) {
 			Map<String, List<String>> map =
-					new LinkedCaseInsensitiveMap<List<String>>(headers.size(), Locale.ENGLISH);
+					new CompactCaseInsensitiveMap<List<String>>(headers.size());
 			for (Entry<String, List<String>> entry : headers.entrySet()) {
 				List<String> values = Collections.unmodifiableList(entry.getValue());
 				map.put(entry.getKey(), values);
@@ -907,20 +907,16 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	public List<Charset> getAcceptCharset() {
 		String value = getFirst(ACCEPT_CHARSET);
 		if (value != null) {
-			String[] tokens = StringUtils.tokenizeToStringArray(value, ",");
-			List<Charset> result = new ArrayList<Charset>(tokens.length);
-			for (String token : tokens) {
-				int paramIdx = token.indexOf(';');
-				String charsetName;
-				if (paramIdx == -1) {
-					charsetName = token;
-				}
-				else {
-					charsetName = token.substring(0, paramIdx);
-				}
+			List<Charset> result = new ArrayList<Charset>();
+			int start = StringUtils.getNextTokenStart(value, ",", true, 0);
+			while (start != -1) {
+				int end = StringUtils.getTokenEnd(value, ",", true, start);
+				int paramIdx = value.indexOf(';', start);
+				String charsetName = value.substring(start, (paramIdx != -1 && paramIdx < end ? paramIdx : end));
 				if (!charsetName.equals("*")) {
 					result.add(Charset.forName(charsetName));
 				}
+				start = StringUtils.getNextTokenStart(value, ",", true, end);
 			}
 			return result;
 		}
@@ -1561,9 +1557,11 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 			List<String> result = new ArrayList<String>();
 			for (String value : values) {
 				if (value != null) {
-					String[] tokens = StringUtils.tokenizeToStringArray(value, ",");
-					for (String token : tokens) {
-						result.add(token);
+					int start = StringUtils.getNextTokenStart(value, ",", true, 0);
+					while (start != -1) {
+						int end = StringUtils.getTokenEnd(value, ",", true, start);
+						result.add(value.substring(start, end));
+						start = StringUtils.getNextTokenStart(value, ",", true, end);
 					}
 				}
 			}
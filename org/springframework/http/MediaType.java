@@ -29,6 +29,7 @@ import java.util.Map;
 
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.InvalidMimeTypeException;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
@@ -54,6 +55,16 @@ public class MediaType extends MimeType implements Serializable {
 
 	private static final long serialVersionUID = 2069937152339670231L;
 
+	private static final int CACHE_SIZE = 64;
+
+	/** Parsed (immutable) media types, keyed by the string they were parsed from */
+	private static final ConcurrentLruCache<String, MediaType> cachedMediaTypes =
+			new ConcurrentLruCache<String, MediaType>(CACHE_SIZE);
+
+	/** Parsed (unmodifiable) media type lists, e.g. Accept headers, keyed by the string they were parsed from */
+	private static final ConcurrentLruCache<String, List<MediaType>> cachedMediaTypeLists =
+			new ConcurrentLruCache<String, List<MediaType>>(CACHE_SIZE);
+
 	/**
 	 * Public constant media type that includes all media ranges (i.e. "&#42;/&#42;").
 	 * <p>
@@ -583,8 +594,10 @@ public class MediaType extends MimeType implements Serializable {
 
 	/**
 	 * Parse the given String into a single {@code MediaType}.
+	 * <p>Recently parsed media types are cached; since {@code MediaType} is
+	 * immutable, the same instance may be returned for equal strings.
 	 * <p>
-	 *  将给定的字符串解析为单个{@code MediaType}
+	 *  将给定的字符串解析为单个{@code MediaType} <p>最近解析的媒体类型会被缓存;由于{@code MediaType}是不可变的,因此对于相等的字符串可能返回相同的实例
 	 * 
 	 * 
 	 * @param mediaType the string to parse
@@ -592,6 +605,18 @@ public class MediaType extends MimeType implements Serializable {
 	 * @throws InvalidMediaTypeException if the media type value cannot be parsed
 	 */
 	public static MediaType parseMediaType(String mediaType) {
+		if (!StringUtils.hasLength(mediaType)) {
+			return parseMediaTypeInternal(mediaType);
+		}
+		MediaType cached = cachedMediaTypes.get(mediaType);
+		if (cached == null) {
+			cached = parseMediaTypeInternal(mediaType);
+			cachedMediaTypes.put(mediaType, cached);
+		}
+		return cached;
+	}
+
+	private static MediaType parseMediaTypeInternal(String mediaType) {
 		MimeType type;
 		try {
 			type = MimeTypeUtils.parseMimeType(mediaType);
@@ -615,19 +640,24 @@ public class MediaType extends MimeType implements Serializable {
 	 * 
 	 * 
 	 * @param mediaTypes the string to parse
-	 * @return the list of media types
+	 * @return the list of media types (a new, modifiable list on every call)
 	 * @throws InvalidMediaTypeException if the media type value cannot be parsed
 	 */
 	public static List<MediaType> parseMediaTypes(String mediaTypes) {
 		if (!StringUtils.hasLength(mediaTypes)) {
 			return Collections.emptyList();
 		}
-		String[] tokens = StringUtils.tokenizeToStringArray(mediaTypes, ",");
-		List<MediaType> result = new ArrayList<MediaType>(tokens.length);
-		for (String token : tokens) {
-			result.add(parseMediaType(token));
+		List<MediaType> cached = cachedMediaTypeLists.get(mediaTypes);
+		if (cached == null) {
+			String[] tokens = StringUtils.tokenizeToStringArray(mediaTypes, ",");
+			List<MediaType> result = new ArrayList<MediaType>(tokens.length);
+			for (String token : tokens) {
+				result.add(parseMediaType(token));
+			}
+			cached = Collections.unmodifiableList(result);
+			cachedMediaTypeLists.put(mediaTypes, cached);
 		}
-		return result;
+		return new ArrayList<MediaType>(cached);
 	}
 
 	/**
@@ -793,17 +823,9 @@ public class MediaType extends MimeType implements Serializable {
 			if (qualityComparison != 0) {
 				return qualityComparison;  // audio/*;q=0.7 < audio/*;q=0.3
 			}
-				return qualityComparison;  // audio/* <p>
-				return qualityComparison;  // audio/*  }
-				return qualityComparison;  // audio/* 
-				return qualityComparison;  // audio/* 
 			else if (mediaType1.isWildcardType() && !mediaType2.isWildcardType()) { // */* < audio/*
 				return 1;
 			}
-			else if (mediaType1.isWildcardType() && !mediaType2.isWildcardType()) { // * <p>
-			else if (mediaType1.isWildcardType() && !mediaType2.isWildcardType()) { // *  返回1; }
-			else if (mediaType1.isWildcardType() && !mediaType2.isWildcardType()) { // * 
-			else if (mediaType1.isWildcardType() && !mediaType2.isWildcardType()) { // * 
 			else if (mediaType2.isWildcardType() && !mediaType1.isWildcardType()) { // audio/* > */*
 				return -1;
 			}
@@ -833,10 +855,8 @@ public class MediaType extends MimeType implements Serializable {
 	/**
 	 * Comparator used by {@link #sortBySpecificity(List)}.
 	 * <p>
-	 * 返回-1; } else if(！mediaType1getType()equals(mediaType2getType())){// audio / basic == text / html return 0; }
-	 *  else {// mediaType1getType()equals(mediaType2getType())if(mediaType1isWildcardSubtype()&&！mediaType2isWildcardSubtype()){// audio / * <audio / basic return 1; } else if(mediaType2isWildcardSubtype()&&！mediaType1isWildcardSubtype()){// audio / basic> audio / * return -1; }
-	 *  else if(！mediaType1getSubtype()equals(mediaType2getSubtype())){// audio / basic == audio / wave return 0; }
-	 *  else {int paramsSize1 = mediaType1getParameters()size(); int paramsSize2 = mediaType2getParameters()size(); return(paramsSize2 <paramsSize1?-1：(paramsSize2 == paramsSize1?0：1)); // audio / basic; level = 1 <audio / basic}}}};。
+	 *  {@link #sortBySpecificity(List)}使用的比较器
+	 * 
 	 */
 	public static final Comparator<MediaType> SPECIFICITY_COMPARATOR = new SpecificityComparator<MediaType>() {
 
@@ -17,12 +17,13 @@
 
 package org.springframework.http.converter;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
+import org.springframework.util.ByteArrayPoolHolder;
+import org.springframework.util.ResizableByteArrayOutputStream;
 import org.springframework.util.StreamUtils;
 
 /**
@@ -62,10 +63,15 @@ public class ByteArrayHttpMessageConverter extends AbstractHttpMessageConverter<
 	@Override
 	public byte[] readInternal(Class<? extends byte[]> clazz, HttpInputMessage inputMessage) throws IOException {
 		long contentLength = inputMessage.getHeaders().getContentLength();
-		ByteArrayOutputStream bos =
-				new ByteArrayOutputStream(contentLength >= 0 ? (int) contentLength : StreamUtils.BUFFER_SIZE);
-		StreamUtils.copy(inputMessage.getBody(), bos);
-		return bos.toByteArray();
+		ResizableByteArrayOutputStream bos = new ResizableByteArrayOutputStream(
+				contentLength >= 0 ? (int) contentLength : StreamUtils.BUFFER_SIZE, ByteArrayPoolHolder.getPool());
+		try {
+			StreamUtils.copy(inputMessage.getBody(), bos);
+			return bos.toByteArray();
+		}
+		finally {
+			bos.reset();
+		}
 	}
 
 	@Override
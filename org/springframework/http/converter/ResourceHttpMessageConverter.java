@@ -20,10 +20,13 @@ package org.springframework.http.converter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import javax.activation.FileTypeMap;
 import javax.activation.MimetypesFileTypeMap;
 
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ChannelResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
@@ -117,6 +120,14 @@ public class ResourceHttpMessageConverter extends AbstractHttpMessageConverter<R
 	protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
 			throws IOException, HttpMessageNotWritableException {
 		try {
+			if (resource instanceof ChannelResource) {
+				ReadableByteChannel channel = ((ChannelResource) resource).readableChannel();
+				if (channel instanceof FileChannel) {
+					writeContent((FileChannel) channel, outputMessage);
+					return;
+				}
+				channel.close();
+			}
 			InputStream in = resource.getInputStream();
 			try {
 				StreamUtils.copy(in, outputMessage.getBody());
@@ -138,6 +149,24 @@ public class ResourceHttpMessageConverter extends AbstractHttpMessageConverter<R
 		}
 	}
 
+	private void writeContent(FileChannel channel, HttpOutputMessage outputMessage) throws IOException {
+		try {
+			StreamUtils.copy(channel, 0, channel.size(), outputMessage.getBody());
+			outputMessage.getBody().flush();
+		}
+		catch (NullPointerException ex) {
+			// ignore, see SPR-13620
+		}
+		finally {
+			try {
+				channel.close();
+			}
+			catch (Throwable ex) {
+				// ignore, see SPR-12999
+			}
+		}
+	}
+
 
 	/**
 	 * Inner class to avoid a hard-coded JAF dependency.
@@ -22,8 +22,12 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Collection;
 
+import org.springframework.core.io.ChannelResource;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpInputMessage;
@@ -134,18 +138,7 @@ public class ResourceRegionHttpMessageConverter extends AbstractGenericHttpMessa
 		long rangeLength = end - start + 1;
 		responseHeaders.add("Content-Range", "bytes " + start + "-" + end + "/" + resourceLength);
 		responseHeaders.setContentLength(rangeLength);
-		InputStream in = region.getResource().getInputStream();
-		try {
-			StreamUtils.copyRange(in, outputMessage.getBody(), start, end);
-		}
-		finally {
-			try {
-				in.close();
-			}
-			catch (IOException ex) {
-				// ignore
-			}
-		}
+		copyRange(region.getResource(), outputMessage.getBody(), start, end);
 	}
 
 	private void writeResourceRegionCollection(Collection<ResourceRegion> resourceRegions,
@@ -160,7 +153,6 @@ public class ResourceRegionHttpMessageConverter extends AbstractGenericHttpMessa
 		for (ResourceRegion region : resourceRegions) {
 			long start = region.getPosition();
 			long end = start + region.getCount() - 1;
-			InputStream in = region.getResource().getInputStream();
 			// Writing MIME header.
 			println(out);
 			print(out, "--" + boundaryString);
@@ -175,13 +167,52 @@ public class ResourceRegionHttpMessageConverter extends AbstractGenericHttpMessa
 			println(out);
 			println(out);
 			// Printing content
-			StreamUtils.copyRange(in, out, start, end);
+			copyRange(region.getResource(), out, start, end);
 		}
 		println(out);
 		print(out, "--" + boundaryString + "--");
 	}
 
 
+	/**
+	 * Copy the given range of the resource's content, reading from a
+	 * {@link FileChannel} at the start position if the resource exposes one,
+	 * instead of skipping through its InputStream.
+	 * <p>
+	 *  复制资源内容的给定范围,如果资源公开了{@link FileChannel},则从起始位置读取,而不是跳过其InputStream
+	 * 
+	 */
+	private static void copyRange(Resource resource, OutputStream out, long start, long end) throws IOException {
+		if (resource instanceof ChannelResource) {
+			ReadableByteChannel channel = ((ChannelResource) resource).readableChannel();
+			try {
+				if (channel instanceof FileChannel) {
+					StreamUtils.copy((FileChannel) channel, start, end - start + 1, out);
+					return;
+				}
+			}
+			finally {
+				try {
+					channel.close();
+				}
+				catch (IOException ex) {
+					// ignore
+				}
+			}
+		}
+		InputStream in = resource.getInputStream();
+		try {
+			StreamUtils.copyRange(in, out, start, end);
+		}
+		finally {
+			try {
+				in.close();
+			}
+			catch (IOException ex) {
+				// ignore
+			}
+		}
+	}
 
 	private static void println(OutputStream os) throws IOException {
 		os.write('\r');
@@ -33,8 +33,8 @@ import java.util.UUID;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import org.springframework.util.AlternativeJdkIdGenerator;
 import org.springframework.util.IdGenerator;
+import org.springframework.util.ThreadLocalIdGenerator;
 
 /**
  * The headers for a {@link Message}.
@@ -100,7 +100,8 @@ public class MessageHeaders implements Map<String, Object>, Serializable {
 
 	private static volatile IdGenerator idGenerator = null;
 
-	private static final IdGenerator defaultIdGenerator = new AlternativeJdkIdGenerator();
+	// Per-thread state: avoids contention on a shared Random under high message rates
+	private static final IdGenerator defaultIdGenerator = new ThreadLocalIdGenerator();
 
 	/**
 	 * The key for the Message ID. This is an automatically generated UUID and
@@ -18,6 +18,7 @@
 package org.springframework.messaging.simp;
 
 import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.CacheableScope;
 import org.springframework.beans.factory.config.Scope;
 
 /**
@@ -33,7 +34,7 @@ import org.springframework.beans.factory.config.Scope;
  * @author Rossen Stoyanchev
  * @since 4.1
  */
-public class SimpSessionScope implements Scope {
+public class SimpSessionScope implements CacheableScope {
 
 	@Override
 	public Object get(String name, ObjectFactory<?> objectFactory) {
@@ -82,4 +83,9 @@ public class SimpSessionScope implements Scope {
 		return SimpAttributesContextHolder.currentAttributes().getSessionId();
 	}
 
+	@Override
+	public Object getCurrentScopeInstance() {
+		return SimpAttributesContextHolder.getAttributes();
+	}
+
 }
@@ -32,6 +32,7 @@ import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.PathMatcher;
+import org.springframework.util.PathPatternIndex;
 
 /**
  * A default, simple in-memory implementation of {@link SubscriptionRegistry}.
@@ -55,6 +56,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	private volatile PathPatternIndex destinationIndex = new PathPatternIndex(this.pathMatcher);
+
 	private final DestinationCache destinationCache = new DestinationCache();
 
 	private final SessionSubscriptionRegistry subscriptionRegistry = new SessionSubscriptionRegistry();
@@ -89,6 +92,13 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	 */
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		this.pathMatcher = pathMatcher;
+		PathPatternIndex index = new PathPatternIndex(pathMatcher);
+		for (SessionSubscriptionInfo info : this.subscriptionRegistry.getAllSubscriptions()) {
+			for (String destination : info.getDestinations()) {
+				index.addPattern(destination);
+			}
+		}
+		this.destinationIndex = index;
 	}
 
 	/**
@@ -104,7 +114,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	@Override
 	protected void addSubscriptionInternal(String sessionId, String subsId, String destination, Message<?> message) {
-		this.subscriptionRegistry.addSubscription(sessionId, subsId, destination);
+		this.subscriptionRegistry.addSubscription(sessionId, subsId, destination, this.destinationIndex);
 		this.destinationCache.updateAfterNewSubscription(destination, sessionId, subsId);
 	}
 
@@ -112,7 +122,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	protected void removeSubscriptionInternal(String sessionId, String subsId, Message<?> message) {
 		SessionSubscriptionInfo info = this.subscriptionRegistry.getSubscriptions(sessionId);
 		if (info != null) {
-			String destination = info.removeSubscription(subsId);
+			String destination = info.removeSubscription(subsId, this.destinationIndex);
 			if (destination != null) {
 				this.destinationCache.updateAfterRemovedSubscription(sessionId, subsId);
 			}
@@ -121,7 +131,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	@Override
 	public void unregisterAllSubscriptions(String sessionId) {
-		SessionSubscriptionInfo info = this.subscriptionRegistry.removeSubscriptions(sessionId);
+		SessionSubscriptionInfo info = this.subscriptionRegistry.removeSubscriptions(sessionId, this.destinationIndex);
 		if (info != null) {
 			this.destinationCache.updateAfterRemovedSession(info);
 		}
@@ -134,11 +144,16 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			return result;
 		}
 		result = new LinkedMultiValueMap<String, String>();
-		for (SessionSubscriptionInfo info : this.subscriptionRegistry.getAllSubscriptions()) {
-			for (String destinationPattern : info.getDestinations()) {
-				if (this.pathMatcher.match(destinationPattern, destination)) {
-					for (String subscriptionId : info.getSubscriptions(destinationPattern)) {
-						result.add(info.sessionId, subscriptionId);
+		// Resolve the matching destination patterns once, across all sessions
+		List<String> matchingPatterns = this.destinationIndex.getMatchingPatterns(destination);
+		if (!matchingPatterns.isEmpty()) {
+			for (SessionSubscriptionInfo info : this.subscriptionRegistry.getAllSubscriptions()) {
+				for (String destinationPattern : matchingPatterns) {
+					Set<String> subscriptionIds = info.getSubscriptions(destinationPattern);
+					if (subscriptionIds != null) {
+						for (String subscriptionId : subscriptionIds) {
+							result.add(info.sessionId, subscriptionId);
+						}
 					}
 				}
 			}
@@ -279,7 +294,9 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			return this.sessions.values();
 		}
 
-		public SessionSubscriptionInfo addSubscription(String sessionId, String subscriptionId, String destination) {
+		public SessionSubscriptionInfo addSubscription(String sessionId, String subscriptionId, String destination,
+				PathPatternIndex destinationIndex) {
+
 			SessionSubscriptionInfo info = this.sessions.get(sessionId);
 			if (info == null) {
 				info = new SessionSubscriptionInfo(sessionId);
@@ -288,12 +305,16 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 					info = value;
 				}
 			}
-			info.addSubscription(destination, subscriptionId);
+			info.addSubscription(destination, subscriptionId, destinationIndex);
 			return info;
 		}
 
-		public SessionSubscriptionInfo removeSubscriptions(String sessionId) {
-			return this.sessions.remove(sessionId);
+		public SessionSubscriptionInfo removeSubscriptions(String sessionId, PathPatternIndex destinationIndex) {
+			SessionSubscriptionInfo info = this.sessions.remove(sessionId);
+			if (info != null) {
+				info.removeAllDestinations(destinationIndex);
+			}
+			return info;
 		}
 
 		@Override
@@ -334,13 +355,15 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			return this.subscriptions.get(destination);
 		}
 
-		public void addSubscription(String destination, String subscriptionId) {
+		public void addSubscription(String destination, String subscriptionId, PathPatternIndex destinationIndex) {
 			Set<String> subs = this.subscriptions.get(destination);
 			if (subs == null) {
 				synchronized (this.monitor) {
 					subs = this.subscriptions.get(destination);
 					if (subs == null) {
 						subs = new HashSet<String>(4);
+						// Index first, so that lookups never miss a visible destination
+						destinationIndex.addPattern(destination);
 						this.subscriptions.put(destination, subs);
 					}
 				}
@@ -348,13 +371,13 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			subs.add(subscriptionId);
 		}
 
-		public String removeSubscription(String subscriptionId) {
+		public String removeSubscription(String subscriptionId, PathPatternIndex destinationIndex) {
 			for (String destination : this.subscriptions.keySet()) {
 				Set<String> subscriptionIds = this.subscriptions.get(destination);
 				if (subscriptionIds.remove(subscriptionId)) {
 					synchronized (this.monitor) {
-						if (subscriptionIds.isEmpty()) {
-							this.subscriptions.remove(destination);
+						if (subscriptionIds.isEmpty() && this.subscriptions.remove(destination) != null) {
+							destinationIndex.removePattern(destination);
 						}
 					}
 					return destination;
@@ -363,6 +386,15 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			return null;
 		}
 
+		public void removeAllDestinations(PathPatternIndex destinationIndex) {
+			synchronized (this.monitor) {
+				for (String destination : this.subscriptions.keySet()) {
+					destinationIndex.removePattern(destination);
+				}
+				this.subscriptions.clear();
+			}
+		}
+
 		@Override
 		public String toString() {
 			return "[sessionId=" + this.sessionId + ", subscriptions=" + this.subscriptions + "]";
@@ -25,6 +25,7 @@ import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.SubscribableChannel;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.IdTimestampMessageHeaderInitializer;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.messaging.support.MessageHeaderInitializer;
@@ -220,6 +221,15 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		}
 	}
 
+	private void initHeadersForInternalHop(SimpMessageHeaderAccessor accessor) {
+		if (getHeaderInitializer() instanceof IdTimestampMessageHeaderInitializer) {
+			((IdTimestampMessageHeaderInitializer) getHeaderInitializer()).initHeadersForInternalHop(accessor);
+		}
+		else {
+			initHeaders(accessor);
+		}
+	}
+
 	protected void sendMessageToSubscribers(String destination, Message<?> message) {
 		MultiValueMap<String,String> subscriptions = this.subscriptionRegistry.findSubscriptions(message);
 		if ((subscriptions.size() > 0) && logger.isDebugEnabled()) {
@@ -228,7 +238,7 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		for (String sessionId : subscriptions.keySet()) {
 			for (String subscriptionId : subscriptions.get(sessionId)) {
 				SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
-				initHeaders(headerAccessor);
+				initHeadersForInternalHop(headerAccessor);
 				headerAccessor.setSessionId(sessionId);
 				headerAccessor.setSubscriptionId(subscriptionId);
 				headerAccessor.copyHeadersIfAbsent(message.getHeaders());
@@ -31,6 +31,7 @@ import org.springframework.messaging.core.MessageSendingOperations;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.IdTimestampMessageHeaderInitializer;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.messaging.support.MessageHeaderInitializer;
 import org.springframework.util.Assert;
@@ -203,7 +204,7 @@ public class UserDestinationMessageHandler implements MessageHandler, SmartLifec
 		}
 		if (SimpMessageType.MESSAGE.equals(SimpMessageHeaderAccessor.getMessageType(message.getHeaders()))) {
 			SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.wrap(message);
-			initHeaders(headerAccessor);
+			initHeadersForInternalHop(headerAccessor);
 			String header = SimpMessageHeaderAccessor.ORIGINAL_DESTINATION;
 			headerAccessor.setNativeHeader(header, result.getSubscribeDestination());
 			message = MessageBuilder.createMessage(message.getPayload(), headerAccessor.getMessageHeaders());
@@ -222,6 +223,15 @@ public class UserDestinationMessageHandler implements MessageHandler, SmartLifec
 		}
 	}
 
+	private void initHeadersForInternalHop(SimpMessageHeaderAccessor headerAccessor) {
+		if (getHeaderInitializer() instanceof IdTimestampMessageHeaderInitializer) {
+			((IdTimestampMessageHeaderInitializer) getHeaderInitializer()).initHeadersForInternalHop(headerAccessor);
+		}
+		else {
+			initHeaders(headerAccessor);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return "UserDestinationMessageHandler[" + this.userDestinationResolver + "]";
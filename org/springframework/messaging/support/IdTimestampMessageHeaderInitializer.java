@@ -40,6 +40,8 @@ public class IdTimestampMessageHeaderInitializer implements MessageHeaderInitial
 
 	private boolean enableTimestamp;
 
+	private boolean skipInternalHops;
+
 
 	/**
 	 * Configure the IdGenerator strategy to initialize {@code MessageHeaderAccessor}
@@ -99,6 +101,33 @@ public class IdTimestampMessageHeaderInitializer implements MessageHeaderInitial
 		return this.enableTimestamp;
 	}
 
+	/**
+	 * Whether messages that are only re-dispatched internally, e.g. the copies a
+	 * broker fans out to its subscribers or a message resolved to a user
+	 * destination, should be created without generating an ID and TIMESTAMP
+	 * header, avoiding that cost on the hot path of high-volume brokers.
+	 * <p>By default this property is set to false.
+	 * <p>
+	 *  仅在内部重新分派的消息(例如代理向其订阅者扇出的副本或解析到用户目标的消息)是否应在不生成ID和TIMESTAMP头的情况下创建,从而在高吞吐量代理的热路径上避免该开销
+	 * <p>默认情况下,此属性设置为false。
+	 * 
+	 * @since 4.3
+	 */
+	public void setSkipInternalHops(boolean skipInternalHops) {
+		this.skipInternalHops = skipInternalHops;
+	}
+
+	/**
+	 * Return whether ID and TIMESTAMP generation is skipped for internal hops.
+	 * <p>
+	 *  返回是否对内部转发跳过ID和TIMESTAMP的生成
+	 * 
+	 * @since 4.3
+	 */
+	public boolean isSkipInternalHops() {
+		return this.skipInternalHops;
+	}
+
 
 	@Override
 	public void initHeaders(MessageHeaderAccessor headerAccessor) {
@@ -106,6 +135,25 @@ public class IdTimestampMessageHeaderInitializer implements MessageHeaderInitial
 		headerAccessor.setEnableTimestamp(isEnableTimestamp());
 	}
 
+	/**
+	 * Initialize the headers of a message that is only re-dispatched internally.
+	 * Same as {@link #initHeaders} unless {@link #setSkipInternalHops} is on,
+	 * in which case neither an ID nor a TIMESTAMP header is generated.
+	 * <p>
+	 *  初始化仅在内部重新分派的消息的头。除非启用了{@link #setSkipInternalHops},否则与{@link #initHeaders}相同,启用时既不生成ID头也不生成TIMESTAMP头
+	 * 
+	 * @since 4.3
+	 */
+	public void initHeadersForInternalHop(MessageHeaderAccessor headerAccessor) {
+		if (isSkipInternalHops()) {
+			headerAccessor.setIdGenerator(ID_VALUE_NONE_GENERATOR);
+			headerAccessor.setEnableTimestamp(false);
+		}
+		else {
+			initHeaders(headerAccessor);
+		}
+	}
+
 
 	private static final IdGenerator ID_VALUE_NONE_GENERATOR = new IdGenerator() {
 		@Override
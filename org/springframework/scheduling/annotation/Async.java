@@ -66,7 +66,11 @@ public @interface Async {
 	 * <p>When specified on a class level {@code @Async} annotation, indicates that the
 	 * given executor should be used for all methods within the class. Method level use
 	 * of {@code Async#value} always overrides any value set at the class level.
+	 * <p>Pointing methods or classes at a
+	 * {@link org.springframework.core.task.support.BulkheadTaskExecutor BulkheadTaskExecutor}
+	 * bean isolates them into a bounded share of a shared executor.
 	 * <p>
+	 *  将方法或类指向{@link org.springframework.core.task.support.BulkheadTaskExecutor BulkheadTaskExecutor} bean可将它们隔离到共享执行器的有限份额中
 	 * 
 	 * 
 	 * @since 3.1.2
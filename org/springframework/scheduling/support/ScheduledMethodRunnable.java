@@ -42,6 +42,8 @@ public class ScheduledMethodRunnable implements Runnable {
 
 	private final Method method;
 
+	private volatile ReflectionUtils.MethodAccessor methodAccessor;
+
 
 	public ScheduledMethodRunnable(Object target, Method method) {
 		this.target = target;
@@ -66,8 +68,12 @@ public class ScheduledMethodRunnable implements Runnable {
 	@Override
 	public void run() {
 		try {
-			ReflectionUtils.makeAccessible(this.method);
-			this.method.invoke(this.target);
+			ReflectionUtils.MethodAccessor accessor = this.methodAccessor;
+			if (accessor == null) {
+				accessor = ReflectionUtils.getMethodAccessor(this.method);
+				this.methodAccessor = accessor;
+			}
+			accessor.invoke(this.target);
 		}
 		catch (InvocationTargetException ex) {
 			ReflectionUtils.rethrowRuntimeException(ex.getTargetException());
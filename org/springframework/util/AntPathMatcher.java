@@ -206,6 +206,36 @@ public class AntPathMatcher implements PathMatcher {
 		this.cachePatterns = cachePatterns;
 	}
 
+	/**
+	 * Return the path separator used for tokenizing paths and patterns.
+	 * <p>
+	 *  返回用于对路径和模式进行分词的路径分隔符
+	 * 
+	 */
+	String getPathSeparator() {
+		return this.pathSeparator;
+	}
+
+	/**
+	 * Return whether pattern matching is case-sensitive.
+	 * <p>
+	 *  返回模式匹配是否区分大小写
+	 * 
+	 */
+	boolean isCaseSensitive() {
+		return this.caseSensitive;
+	}
+
+	/**
+	 * Return whether tokenized paths and patterns are trimmed.
+	 * <p>
+	 *  返回是否修剪标记化的路径和模式
+	 * 
+	 */
+	boolean isTrimTokens() {
+		return this.trimTokens;
+	}
+
 	private void deactivatePatternCache() {
 		this.cachePatterns = false;
 		this.tokenizedPatternCache.clear();
@@ -786,7 +816,7 @@ public class AntPathMatcher implements PathMatcher {
 	 */
 	protected static class AntPathStringMatcher {
 
-		private static final Pattern GLOB_PATTERN = Pattern.compile("\\?|\\*|\\{((?:\\{[^/]+?\\}|[^/{}]|\\\\[{}])+?)\\}");
+		static final Pattern GLOB_PATTERN = Pattern.compile("\\?|\\*|\\{((?:\\{[^/]+?\\}|[^/{}]|\\\\[{}])+?)\\}");
 
 		private static final String DEFAULT_VARIABLE_PATTERN = "(.*)";
 
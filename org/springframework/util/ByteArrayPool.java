@@ -0,0 +1,63 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+/**
+ * Strategy interface for obtaining {@code byte[]} buffers, allowing for reuse of
+ * buffers across stream copying and buffering operations instead of allocating
+ * fresh arrays each time.
+ *
+ * <p>Implementations must be thread-safe. Buffers are handed out as-is, i.e. they
+ * may contain data from a previous use, and may be longer than requested.
+ * A buffer must not be used any further once it has been released.
+ *
+ * <p>
+ *  用于获取{@code byte[]}缓冲区的策略接口,允许在流复制和缓冲操作之间重用缓冲区,而不是每次都分配新数组
+ * 
+ *  <p>实现必须是线程安全的缓冲区按原样分发,即它们可能包含先前使用的数据,并且可能比请求的长缓冲区一旦被释放就不得再使用
+ * 
+ * 
+ * @since 4.3
+ * @see NoOpByteArrayPool
+ * @see SizeClassedByteArrayPool
+ * @see ByteArrayPoolHolder
+ */
+public interface ByteArrayPool {
+
+	/**
+	 * Obtain a buffer of at least the given length.
+	 * <p>
+	 *  获取至少给定长度的缓冲区
+	 * 
+	 * 
+	 * @param minLength the minimum length of the buffer
+	 * @return the buffer (never {@code null})
+	 */
+	byte[] acquire(int minLength);
+
+	/**
+	 * Return the given buffer to this pool, making it available for reuse.
+	 * <p>
+	 *  将给定的缓冲区返回到此池,使其可以重用
+	 * 
+	 * 
+	 * @param buffer the buffer, as obtained from {@link #acquire}
+	 */
+	void release(byte[] buffer);
+
+}
@@ -0,0 +1,63 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+/**
+ * Holder for the shared {@link ByteArrayPool} that Spring's stream utilities and
+ * HTTP message converters draw their buffers from, e.g. {@link StreamUtils#copy}
+ * and {@link FileCopyUtils}.
+ *
+ * <p>Defaults to a {@link NoOpByteArrayPool}, i.e. no pooling. Typically switched
+ * to a {@link SizeClassedByteArrayPool} once at application startup.
+ *
+ * <p>
+ *  Spring流实用程序和HTTP消息转换器从中获取缓冲区的共享{@link ByteArrayPool}的持有者,例如{@link StreamUtils#copy}和{@link FileCopyUtils}
+ * 
+ *  <p>默认为{@link NoOpByteArrayPool},即不进行池化通常在应用程序启动时切换为{@link SizeClassedByteArrayPool}
+ * 
+ * 
+ * @since 4.3
+ */
+public abstract class ByteArrayPoolHolder {
+
+	private static volatile ByteArrayPool pool = new NoOpByteArrayPool();
+
+
+	/**
+	 * Set the shared {@code ByteArrayPool} to use.
+	 * <p>
+	 *  设置要使用的共享{@code ByteArrayPool}
+	 * 
+	 * 
+	 * @param pool the pool to use, or {@code null} to reset to no pooling
+	 */
+	public static void setPool(ByteArrayPool pool) {
+		ByteArrayPoolHolder.pool = (pool != null ? pool : new NoOpByteArrayPool());
+	}
+
+	/**
+	 * Return the shared {@code ByteArrayPool} (never {@code null}).
+	 * <p>
+	 *  返回共享的{@code ByteArrayPool}(从不为{@code null})
+	 * 
+	 */
+	public static ByteArrayPool getPool() {
+		return pool;
+	}
+
+}
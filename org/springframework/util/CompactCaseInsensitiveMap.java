@@ -0,0 +1,546 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * {@link Map} implementation that stores String keys in a case-insensitive
+ * manner, keeping each mapping in a single hash table entry. A memory-lean
+ * alternative to {@link LinkedCaseInsensitiveMap}, e.g. for HTTP headers.
+ *
+ * <p>Preserves the original order as well as the original casing of keys,
+ * while allowing for contains, get and remove calls with any case of key.
+ * Like {@link LinkedCaseInsensitiveMap}, putting a key that differs from
+ * an existing key in case only replaces the existing key and moves the
+ * mapping to the end.
+ *
+ * <p>Each entry holds the original key, its case-folded hash and the value,
+ * so no lower-cased copy of a key is ever created. Keys are compared the
+ * way {@link String#equalsIgnoreCase} does, with a fast path for ASCII
+ * characters; unlike {@link LinkedCaseInsensitiveMap}, the comparison does
+ * not depend on a {@link java.util.Locale}.
+ *
+ * <p>Does <i>not</i> support {@code null} keys. Not thread-safe.
+ *
+ * <p>
+ *  以不区分大小写的方式存储String键的{@link Map}实现,每个映射保存在单个哈希表条目中{@link LinkedCaseInsensitiveMap}的节省内存的替代方案,例如用于HTTP标头
+ * 
+ * <p>保留原始顺序以及键的原始大小写,同时允许使用任何大小写的键进行包含,获取和删除调用与{@link LinkedCaseInsensitiveMap}一样,放入仅在大小写上与现有键不同的键只会替换现有键并将映射移到末尾
+ * 
+ * <p>每个条目保存原始键,其大小写折叠后的哈希值和值,因此永远不会创建键的小写副本键的比较方式与{@link String#equalsIgnoreCase}相同,对ASCII字符有快速路径;与{@link LinkedCaseInsensitiveMap}不同,比较不依赖于{@link java.util.Locale}
+ * 
+ *  <p> <i>不</i>支持{@code null}键非线程安全
+ * 
+ * 
+ * @since 4.3
+ * @see LinkedCaseInsensitiveMap
+ */
+public class CompactCaseInsensitiveMap<V> extends AbstractMap<String, V> implements Serializable, Cloneable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+
+	private transient Entry<V>[] table;
+
+	private transient int initialCapacity;
+
+	private transient int size;
+
+	private transient int threshold;
+
+	private transient int modCount;
+
+	// Sentinel of the circular list holding the entries in insertion order
+	private transient Entry<V> header;
+
+	private transient Set<Map.Entry<String, V>> entrySet;
+
+
+	/**
+	 * Create a new CompactCaseInsensitiveMap with the default initial capacity.
+	 * <p>
+	 *  使用默认初始容量创建一个新的CompactCaseInsensitiveMap
+	 * 
+	 */
+	public CompactCaseInsensitiveMap() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Create a new CompactCaseInsensitiveMap for the given number of mappings.
+	 * <p>The hash table is only allocated when the first mapping gets added.
+	 * <p>
+	 *  为给定数量的映射创建一个新的CompactCaseInsensitiveMap <p>哈希表仅在添加第一个映射时分配
+	 * 
+	 * 
+	 * @param initialCapacity the number of mappings to accommodate without resizing
+	 */
+	public CompactCaseInsensitiveMap(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "Initial capacity must not be negative");
+		this.initialCapacity = initialCapacity;
+		init();
+	}
+
+	/**
+	 * Create a new CompactCaseInsensitiveMap with the mappings of the given map.
+	 * <p>
+	 *  使用给定映射的映射创建一个新的CompactCaseInsensitiveMap
+	 * 
+	 * 
+	 * @param map the map whose mappings to copy
+	 */
+	public CompactCaseInsensitiveMap(Map<String, ? extends V> map) {
+		this(map.size());
+		putAll(map);
+	}
+
+	private void init() {
+		this.header = new Entry<V>(null, 0, null, null);
+		this.header.before = this.header;
+		this.header.after = this.header;
+	}
+
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof String && getEntry((String) key) != null);
+	}
+
+	@Override
+	public V get(Object key) {
+		if (key instanceof String) {
+			Entry<V> entry = getEntry((String) key);
+			if (entry != null) {
+				return entry.value;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public V put(String key, V value) {
+		int hash = hash(key);
+		if (this.table == null) {
+			allocateTable(this.initialCapacity);
+		}
+		int index = indexFor(hash, this.table.length);
+		for (Entry<V> entry = this.table[index]; entry != null; entry = entry.next) {
+			if (entry.hash == hash && keysEqual(entry.key, key)) {
+				V oldValue = entry.value;
+				entry.value = value;
+				if (!entry.key.equals(key)) {
+					entry.key = key;
+					entry.unlink();
+					entry.linkBefore(this.header);
+					this.modCount++;
+				}
+				return oldValue;
+			}
+		}
+		Entry<V> entry = new Entry<V>(key, hash, value, this.table[index]);
+		this.table[index] = entry;
+		entry.linkBefore(this.header);
+		this.modCount++;
+		if (++this.size > this.threshold) {
+			resize();
+		}
+		return null;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends V> map) {
+		if (map.isEmpty()) {
+			return;
+		}
+		if (this.table == null) {
+			allocateTable(Math.max(this.initialCapacity, map.size()));
+		}
+		for (Map.Entry<? extends String, ? extends V> entry : map.entrySet()) {
+			put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	@Override
+	public V remove(Object key) {
+		if (key instanceof String) {
+			Entry<V> entry = removeEntry((String) key);
+			if (entry != null) {
+				return entry.value;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		if (this.size > 0) {
+			this.table = null;
+			this.size = 0;
+			this.threshold = 0;
+			this.header.before = this.header;
+			this.header.after = this.header;
+			this.modCount++;
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<String, V>> entrySet() {
+		if (this.entrySet == null) {
+			this.entrySet = new EntrySet();
+		}
+		return this.entrySet;
+	}
+
+	@Override
+	public CompactCaseInsensitiveMap<V> clone() {
+		return new CompactCaseInsensitiveMap<V>(this);
+	}
+
+
+	private Entry<V> getEntry(String key) {
+		if (this.table == null) {
+			return null;
+		}
+		int hash = hash(key);
+		for (Entry<V> entry = this.table[indexFor(hash, this.table.length)]; entry != null; entry = entry.next) {
+			if (entry.hash == hash && keysEqual(entry.key, key)) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	private Entry<V> removeEntry(String key) {
+		if (this.table == null) {
+			return null;
+		}
+		int hash = hash(key);
+		int index = indexFor(hash, this.table.length);
+		Entry<V> previous = null;
+		for (Entry<V> entry = this.table[index]; entry != null; entry = entry.next) {
+			if (entry.hash == hash && keysEqual(entry.key, key)) {
+				if (previous == null) {
+					this.table[index] = entry.next;
+				}
+				else {
+					previous.next = entry.next;
+				}
+				entry.unlink();
+				this.size--;
+				this.modCount++;
+				return entry;
+			}
+			previous = entry;
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void allocateTable(int expectedSize) {
+		int capacity = 1;
+		while (capacity < MAXIMUM_CAPACITY && capacity * 3 < expectedSize * 4) {
+			capacity <<= 1;
+		}
+		this.table = new Entry[Math.max(capacity, 2)];
+		this.threshold = this.table.length * 3 / 4;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void resize() {
+		if (this.table.length >= MAXIMUM_CAPACITY) {
+			this.threshold = Integer.MAX_VALUE;
+			return;
+		}
+		Entry<V>[] newTable = new Entry[this.table.length << 1];
+		// Walk the insertion-order list rather than the old buckets
+		for (Entry<V> entry = this.header.after; entry != this.header; entry = entry.after) {
+			int index = indexFor(entry.hash, newTable.length);
+			entry.next = newTable[index];
+			newTable[index] = entry;
+		}
+		this.table = newTable;
+		this.threshold = newTable.length * 3 / 4;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(this.size);
+		for (Entry<V> entry = this.header.after; entry != this.header; entry = entry.after) {
+			out.writeObject(entry.key);
+			out.writeObject(entry.value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		int size = in.readInt();
+		this.initialCapacity = size;
+		init();
+		for (int i = 0; i < size; i++) {
+			put((String) in.readObject(), (V) in.readObject());
+		}
+	}
+
+
+	/**
+	 * Compute the case-insensitive hash of the given key, consistent with
+	 * {@link #keysEqual}.
+	 * <p>
+	 *  计算给定键的不区分大小写的哈希值,与{@link #keysEqual}一致
+	 * 
+	 */
+	private static int hash(String key) {
+		int hash = 0;
+		int length = key.length();
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + foldCase(key.charAt(i));
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Compare the given keys in the way {@link String#equalsIgnoreCase} does.
+	 * <p>
+	 *  以{@link String#equalsIgnoreCase}的方式比较给定的键
+	 * 
+	 */
+	private static boolean keysEqual(String key1, String key2) {
+		if (key1 == key2) {
+			return true;
+		}
+		int length = key1.length();
+		if (length != key2.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			char c1 = key1.charAt(i);
+			char c2 = key2.charAt(i);
+			if (c1 != c2 && foldCase(c1) != foldCase(c2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int foldCase(char c) {
+		if (c < 128) {
+			return (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	private static int indexFor(int hash, int length) {
+		return (hash & (length - 1));
+	}
+
+
+	/**
+	 * A single mapping, chained within its hash bucket and linked in insertion order.
+	 * <p>
+	 *  单个映射,在其哈希桶中链接并按插入顺序链接
+	 * 
+	 */
+	private static final class Entry<V> implements Map.Entry<String, V> {
+
+		String key;
+
+		final int hash;
+
+		V value;
+
+		Entry<V> next;
+
+		Entry<V> before;
+
+		Entry<V> after;
+
+		Entry(String key, int hash, V value, Entry<V> next) {
+			this.key = key;
+			this.hash = hash;
+			this.value = value;
+			this.next = next;
+		}
+
+		void linkBefore(Entry<V> existing) {
+			this.after = existing;
+			this.before = existing.before;
+			this.before.after = this;
+			existing.before = this;
+		}
+
+		void unlink() {
+			this.before.after = this.after;
+			this.after.before = this.before;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public V getValue() {
+			return this.value;
+		}
+
+		@Override
+		public V setValue(V value) {
+			V oldValue = this.value;
+			this.value = value;
+			return oldValue;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> otherEntry = (Map.Entry<?, ?>) other;
+			return (ObjectUtils.nullSafeEquals(this.key, otherEntry.getKey()) &&
+					ObjectUtils.nullSafeEquals(this.value, otherEntry.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.key.hashCode() ^ ObjectUtils.nullSafeHashCode(this.value));
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + this.value;
+		}
+	}
+
+
+	/**
+	 * Entry set view, iterating in insertion order.
+	 * <p>
+	 *  条目集视图,按插入顺序迭代
+	 * 
+	 */
+	private class EntrySet extends AbstractSet<Map.Entry<String, V>> {
+
+		@Override
+		public Iterator<Map.Entry<String, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> candidate = (Map.Entry<?, ?>) o;
+			if (!(candidate.getKey() instanceof String)) {
+				return false;
+			}
+			Entry<V> entry = getEntry((String) candidate.getKey());
+			return (entry != null && ObjectUtils.nullSafeEquals(entry.value, candidate.getValue()));
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if (contains(o)) {
+				removeEntry((String) ((Map.Entry<?, ?>) o).getKey());
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void clear() {
+			CompactCaseInsensitiveMap.this.clear();
+		}
+	}
+
+
+	private class EntryIterator implements Iterator<Map.Entry<String, V>> {
+
+		private Entry<V> next = header.after;
+
+		private Entry<V> last;
+
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return (this.next != header);
+		}
+
+		@Override
+		public Map.Entry<String, V> next() {
+			if (modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (this.next == header) {
+				throw new NoSuchElementException();
+			}
+			this.last = this.next;
+			this.next = this.next.after;
+			return this.last;
+		}
+
+		@Override
+		public void remove() {
+			if (this.last == null) {
+				throw new IllegalStateException();
+			}
+			if (modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeEntry(this.last.key);
+			this.last = null;
+			this.expectedModCount = modCount;
+		}
+	}
+
+}
@@ -0,0 +1,614 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+/**
+ * {@link AntPathMatcher} variant which compiles each pattern once into a program
+ * of segment matchers (literal, single wildcard, double wildcard and generic
+ * segments with {@code ?}, {@code *} and <code>{var}</code> parts), instead of
+ * tokenizing the pattern per call and delegating wildcard segments to
+ * {@link java.util.regex.Pattern regular expressions}.
+ *
+ * <p>Matching and URI template variable extraction follow exactly the same rules
+ * as {@link AntPathMatcher}, including greedy variable capture. The path itself is
+ * scanned by index, without creating substrings for its segments. Only segments
+ * declaring a custom variable regex such as <code>{id:\\d+}</code> still fall back
+ * to regular expression matching for that particular segment.
+ *
+ * <p>Compiled patterns are held in a soft-reference cache, so there is no need to
+ * turn caching off for a large number of distinct patterns.
+ *
+ * <p>
+ *  {@link AntPathMatcher}的变体,它将每个模式编译一次成为段匹配器程序(文字、单个通配符、双通配符以及包含{@code ?},{@code *}和<code>{var}</code>部分的通用段),而不是每次调用都对模式进行分词并将通配符段委托给{@link java.util.regex.Pattern 正则表达式}
+ * 
+ *  <p>匹配和URI模板变量提取遵循与{@link AntPathMatcher}完全相同的规则,包括贪婪的变量捕获路径本身按索引扫描,不为其段创建子字符串只有声明了自定义变量正则表达式(例如<code>{id:\\d+}</code>)的段仍然对该特定段回退到正则表达式匹配
+ * 
+ *  <p>编译后的模式保存在软引用缓存中,因此对于大量不同的模式无需关闭缓存
+ * 
+ * 
+ * @since 4.3
+ * @see AntPathMatcher
+ */
+public class CompiledPathMatcher extends AntPathMatcher {
+
+	private volatile boolean cachePatterns = true;
+
+	private final Map<String, CompiledPattern> compiledPatternCache =
+			new ConcurrentReferenceHashMap<String, CompiledPattern>(256);
+
+
+	/**
+	 * Create a new instance with the {@link #DEFAULT_PATH_SEPARATOR}.
+	 * <p>
+	 *  使用{@link #DEFAULT_PATH_SEPARATOR}创建一个新实例
+	 * 
+	 */
+	public CompiledPathMatcher() {
+		super();
+	}
+
+	/**
+	 * A convenient, alternative constructor to use with a custom path separator.
+	 * <p>
+	 *  使用自定义路径分隔符的方便的替代构造函数
+	 * 
+	 * 
+	 * @param pathSeparator the path separator to use, must not be {@code null}.
+	 */
+	public CompiledPathMatcher(String pathSeparator) {
+		super(pathSeparator);
+	}
+
+
+	@Override
+	public void setPathSeparator(String pathSeparator) {
+		super.setPathSeparator(pathSeparator);
+		this.compiledPatternCache.clear();
+	}
+
+	@Override
+	public void setCaseSensitive(boolean caseSensitive) {
+		super.setCaseSensitive(caseSensitive);
+		this.compiledPatternCache.clear();
+	}
+
+	@Override
+	public void setTrimTokens(boolean trimTokens) {
+		super.setTrimTokens(trimTokens);
+		this.compiledPatternCache.clear();
+	}
+
+	/**
+	 * Specify whether to cache compiled patterns.
+	 * <p>Default is "true". Since compiled patterns are softly referenced,
+	 * there is no automatic deactivation for a large number of patterns.
+	 * <p>
+	 *  指定是否缓存编译后的模式<p>默认为"true"由于编译后的模式是软引用的,因此不会因大量模式而自动停用
+	 * 
+	 */
+	@Override
+	public void setCachePatterns(boolean cachePatterns) {
+		super.setCachePatterns(cachePatterns);
+		this.cachePatterns = cachePatterns;
+		if (!cachePatterns) {
+			this.compiledPatternCache.clear();
+		}
+	}
+
+
+	@Override
+	protected boolean doMatch(String pattern, String path, boolean fullMatch, Map<String, String> uriTemplateVariables) {
+		String pathSeparator = getPathSeparator();
+		if (path.startsWith(pathSeparator) != pattern.startsWith(pathSeparator)) {
+			return false;
+		}
+		return getCompiledPattern(pattern).match(path, fullMatch, uriTemplateVariables);
+	}
+
+	/**
+	 * Return the compiled program for the given pattern, from the cache if possible.
+	 * <p>
+	 *  返回给定模式的编译程序,如果可能,从缓存中获取
+	 * 
+	 */
+	protected CompiledPattern getCompiledPattern(String pattern) {
+		CompiledPattern compiled = (this.cachePatterns ? this.compiledPatternCache.get(pattern) : null);
+		if (compiled == null) {
+			compiled = new CompiledPattern(pattern, getPathSeparator(), isCaseSensitive(), isTrimTokens());
+			if (this.cachePatterns) {
+				this.compiledPatternCache.put(pattern, compiled);
+			}
+		}
+		return compiled;
+	}
+
+
+	/**
+	 * Determine the segment boundaries of the given path, following the rules of
+	 * {@link StringUtils#tokenizeToStringArray(String, String, boolean, boolean)}
+	 * with empty tokens ignored: every character of the separator acts as a delimiter.
+	 * <p>
+	 *  按照{@link StringUtils#tokenizeToStringArray(String,String,boolean,boolean)}的规则(忽略空标记)确定给定路径的段边界：分隔符的每个字符都充当定界符
+	 * 
+	 * 
+	 * @return the segment start and end offsets, alternating (possibly a grown copy of the given array)
+	 */
+	static int[] tokenize(String path, String delimiters, boolean trimTokens, int[] bounds, int[] countHolder) {
+		int count = 0;
+		int length = path.length();
+		int pos = 0;
+		while (pos < length) {
+			while (pos < length && delimiters.indexOf(path.charAt(pos)) != -1) {
+				pos++;
+			}
+			int start = pos;
+			while (pos < length && delimiters.indexOf(path.charAt(pos)) == -1) {
+				pos++;
+			}
+			int end = pos;
+			if (trimTokens) {
+				while (start < end && path.charAt(start) <= ' ') {
+					start++;
+				}
+				while (end > start && path.charAt(end - 1) <= ' ') {
+					end--;
+				}
+			}
+			if (end > start) {
+				if (2 * count + 1 >= bounds.length) {
+					int[] newBounds = new int[bounds.length * 2];
+					System.arraycopy(bounds, 0, newBounds, 0, bounds.length);
+					bounds = newBounds;
+				}
+				bounds[2 * count] = start;
+				bounds[2 * count + 1] = end;
+				count++;
+			}
+		}
+		countHolder[0] = count;
+		return bounds;
+	}
+
+
+	/**
+	 * A pattern compiled into a sequence of segment matchers.
+	 * <p>
+	 *  编译为段匹配器序列的模式
+	 * 
+	 */
+	protected static class CompiledPattern {
+
+		private final String pattern;
+
+		private final String pathSeparator;
+
+		private final boolean trimTokens;
+
+		private final SegmentMatcher[] segments;
+
+		public CompiledPattern(String pattern, String pathSeparator, boolean caseSensitive, boolean trimTokens) {
+			this.pattern = pattern;
+			this.pathSeparator = pathSeparator;
+			this.trimTokens = trimTokens;
+			String[] tokens = StringUtils.tokenizeToStringArray(pattern, pathSeparator, trimTokens, true);
+			this.segments = new SegmentMatcher[tokens.length];
+			for (int i = 0; i < tokens.length; i++) {
+				this.segments[i] = SegmentMatcher.compile(tokens[i], caseSensitive);
+			}
+		}
+
+		/**
+		 * Match the given path against this pattern, with the same algorithm
+		 * as {@link AntPathMatcher#doMatch} but operating on segment offsets.
+		 * <p>
+		 *  使用与{@link AntPathMatcher#doMatch}相同的算法将给定路径与此模式进行匹配,但在段偏移量上进行操作
+		 * 
+		 */
+		public boolean match(String path, boolean fullMatch, Map<String, String> uriTemplateVariables) {
+			int[] countHolder = new int[1];
+			int[] bounds = tokenize(path, this.pathSeparator, this.trimTokens, new int[16], countHolder);
+			SegmentMatcher[] pattDirs = this.segments;
+
+			int pattIdxStart = 0;
+			int pattIdxEnd = pattDirs.length - 1;
+			int pathIdxStart = 0;
+			int pathIdxEnd = countHolder[0] - 1;
+
+			// Match all elements up to the first **
+			while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+				SegmentMatcher pattDir = pattDirs[pattIdxStart];
+				if (pattDir.isDoubleWildcard()) {
+					break;
+				}
+				if (!pattDir.match(path, bounds[2 * pathIdxStart], bounds[2 * pathIdxStart + 1], uriTemplateVariables)) {
+					return false;
+				}
+				pattIdxStart++;
+				pathIdxStart++;
+			}
+
+			if (pathIdxStart > pathIdxEnd) {
+				// Path is exhausted, only match if rest of pattern is * or **'s
+				if (pattIdxStart > pattIdxEnd) {
+					return (this.pattern.endsWith(this.pathSeparator) ? path.endsWith(this.pathSeparator) :
+							!path.endsWith(this.pathSeparator));
+				}
+				if (!fullMatch) {
+					return true;
+				}
+				if (pattIdxStart == pattIdxEnd && pattDirs[pattIdxStart].isSingleWildcard() &&
+						path.endsWith(this.pathSeparator)) {
+					return true;
+				}
+				return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+			}
+			else if (pattIdxStart > pattIdxEnd) {
+				// String not exhausted, but pattern is. Failure.
+				return false;
+			}
+			else if (!fullMatch && pattDirs[pattIdxStart].isDoubleWildcard()) {
+				// Path start definitely matches due to "**" part in pattern.
+				return true;
+			}
+
+			// up to last '**'
+			while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+				SegmentMatcher pattDir = pattDirs[pattIdxEnd];
+				if (pattDir.isDoubleWildcard()) {
+					break;
+				}
+				if (!pattDir.match(path, bounds[2 * pathIdxEnd], bounds[2 * pathIdxEnd + 1], uriTemplateVariables)) {
+					return false;
+				}
+				pattIdxEnd--;
+				pathIdxEnd--;
+			}
+			if (pathIdxStart > pathIdxEnd) {
+				// String is exhausted
+				return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+			}
+
+			while (pattIdxStart != pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+				int patIdxTmp = -1;
+				for (int i = pattIdxStart + 1; i <= pattIdxEnd; i++) {
+					if (pattDirs[i].isDoubleWildcard()) {
+						patIdxTmp = i;
+						break;
+					}
+				}
+				if (patIdxTmp == pattIdxStart + 1) {
+					// '**/**' situation, so skip one
+					pattIdxStart++;
+					continue;
+				}
+				// Find the pattern between padIdxStart & padIdxTmp in str between
+				// strIdxStart & strIdxEnd
+				int patLength = (patIdxTmp - pattIdxStart - 1);
+				int strLength = (pathIdxEnd - pathIdxStart + 1);
+				int foundIdx = -1;
+
+				strLoop:
+				for (int i = 0; i <= strLength - patLength; i++) {
+					for (int j = 0; j < patLength; j++) {
+						SegmentMatcher subPat = pattDirs[pattIdxStart + j + 1];
+						int subStr = pathIdxStart + i + j;
+						if (!subPat.match(path, bounds[2 * subStr], bounds[2 * subStr + 1], uriTemplateVariables)) {
+							continue strLoop;
+						}
+					}
+					foundIdx = pathIdxStart + i;
+					break;
+				}
+
+				if (foundIdx == -1) {
+					return false;
+				}
+
+				pattIdxStart = patIdxTmp;
+				pathIdxStart = foundIdx + patLength;
+			}
+
+			return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+		}
+
+		private boolean onlyDoubleWildcards(int from, int to) {
+			for (int i = from; i <= to; i++) {
+				if (!this.segments[i].isDoubleWildcard()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return this.pattern;
+		}
+	}
+
+
+	/**
+	 * Matcher for a single pattern segment.
+	 * <p>
+	 *  单个模式段的匹配器
+	 * 
+	 */
+	protected abstract static class SegmentMatcher {
+
+		public static SegmentMatcher compile(String segment, boolean caseSensitive) {
+			if ("**".equals(segment)) {
+				return DoubleWildcardSegmentMatcher.INSTANCE;
+			}
+			if ("*".equals(segment)) {
+				return SingleWildcardSegmentMatcher.INSTANCE;
+			}
+
+			List<Object> parts = new ArrayList<Object>();
+			List<String> variableNames = new ArrayList<String>();
+			Matcher matcher = AntPathStringMatcher.GLOB_PATTERN.matcher(segment);
+			int end = 0;
+			while (matcher.find()) {
+				if (matcher.start() > end) {
+					parts.add(segment.substring(end, matcher.start()));
+				}
+				String match = matcher.group();
+				if ("?".equals(match)) {
+					parts.add(GenericSegmentMatcher.ANY_CHAR);
+				}
+				else if ("*".equals(match)) {
+					parts.add(GenericSegmentMatcher.ANY_CHARS);
+				}
+				else if (match.indexOf(':') != -1) {
+					// Custom variable regex: only a regular expression can do this
+					return new RegexSegmentMatcher(segment, caseSensitive);
+				}
+				else {
+					parts.add(new Capture(variableNames.size()));
+					variableNames.add(matcher.group(1));
+				}
+				end = matcher.end();
+			}
+			if (end < segment.length()) {
+				parts.add(segment.substring(end));
+			}
+
+			if (parts.size() == 1 && parts.get(0) instanceof String) {
+				return new LiteralSegmentMatcher(segment, caseSensitive);
+			}
+			return new GenericSegmentMatcher(parts.toArray(), variableNames.toArray(new String[variableNames.size()]),
+					caseSensitive);
+		}
+
+		public boolean isDoubleWildcard() {
+			return false;
+		}
+
+		public boolean isSingleWildcard() {
+			return false;
+		}
+
+		public abstract boolean match(String path, int start, int end, Map<String, String> uriTemplateVariables);
+	}
+
+
+	private static class DoubleWildcardSegmentMatcher extends SegmentMatcher {
+
+		static final DoubleWildcardSegmentMatcher INSTANCE = new DoubleWildcardSegmentMatcher();
+
+		@Override
+		public boolean isDoubleWildcard() {
+			return true;
+		}
+
+		@Override
+		public boolean match(String path, int start, int end, Map<String, String> uriTemplateVariables) {
+			// Only matched as a segment when "**" is not treated specially, i.e. like ".*.*"
+			return !GenericSegmentMatcher.containsLineTerminator(path, start, end);
+		}
+	}
+
+
+	private static class SingleWildcardSegmentMatcher extends SegmentMatcher {
+
+		static final SingleWildcardSegmentMatcher INSTANCE = new SingleWildcardSegmentMatcher();
+
+		@Override
+		public boolean isSingleWildcard() {
+			return true;
+		}
+
+		@Override
+		public boolean match(String path, int start, int end, Map<String, String> uriTemplateVariables) {
+			return !GenericSegmentMatcher.containsLineTerminator(path, start, end);
+		}
+	}
+
+
+	private static class LiteralSegmentMatcher extends SegmentMatcher {
+
+		private final String literal;
+
+		private final boolean caseSensitive;
+
+		public LiteralSegmentMatcher(String literal, boolean caseSensitive) {
+			this.literal = literal;
+			this.caseSensitive = caseSensitive;
+		}
+
+		@Override
+		public boolean match(String path, int start, int end, Map<String, String> uriTemplateVariables) {
+			return (end - start == this.literal.length() &&
+					GenericSegmentMatcher.regionMatches(path, start, this.literal, this.caseSensitive));
+		}
+	}
+
+
+	/**
+	 * Index of a captured URI template variable within a segment.
+	 */
+	private static class Capture {
+
+		final int index;
+
+		Capture(int index) {
+			this.index = index;
+		}
+	}
+
+
+	/**
+	 * Backtracking matcher for segments mixing literals, {@code ?}, {@code *} and
+	 * <code>{var}</code> parts, with greedy semantics equivalent to the regular
+	 * expression built by {@link AntPathStringMatcher}.
+	 */
+	private static class GenericSegmentMatcher extends SegmentMatcher {
+
+		static final Object ANY_CHAR = new Object();
+
+		static final Object ANY_CHARS = new Object();
+
+		private final Object[] parts;
+
+		private final String[] variableNames;
+
+		private final boolean caseSensitive;
+
+		public GenericSegmentMatcher(Object[] parts, String[] variableNames, boolean caseSensitive) {
+			this.parts = parts;
+			this.variableNames = variableNames;
+			this.caseSensitive = caseSensitive;
+		}
+
+		@Override
+		public boolean match(String path, int start, int end, Map<String, String> uriTemplateVariables) {
+			int[] captures = (this.variableNames.length > 0 ? new int[this.variableNames.length * 2] : null);
+			if (!matchParts(0, path, start, end, captures)) {
+				return false;
+			}
+			if (uriTemplateVariables != null) {
+				for (int i = 0; i < this.variableNames.length; i++) {
+					uriTemplateVariables.put(this.variableNames[i], path.substring(captures[2 * i], captures[2 * i + 1]));
+				}
+			}
+			return true;
+		}
+
+		private boolean matchParts(int partIndex, String path, int pos, int end, int[] captures) {
+			if (partIndex == this.parts.length) {
+				return (pos == end);
+			}
+			Object part = this.parts[partIndex];
+			if (part instanceof String) {
+				String literal = (String) part;
+				return (end - pos >= literal.length() && regionMatches(path, pos, literal, this.caseSensitive) &&
+						matchParts(partIndex + 1, path, pos + literal.length(), end, captures));
+			}
+			if (part == ANY_CHAR) {
+				// Like the regex ".", consume a whole code point
+				return (pos < end && !isLineTerminator(path.charAt(pos)) &&
+						matchParts(partIndex + 1, path, pos + charCount(path, pos, end), end, captures));
+			}
+			// '*' or variable: greedy, like ".*" and "(.*)", never crossing a line terminator
+			int maxEnd = pos;
+			while (maxEnd < end && !isLineTerminator(path.charAt(maxEnd))) {
+				maxEnd++;
+			}
+			for (int candidateEnd = maxEnd; candidateEnd >= pos; candidateEnd--) {
+				if (candidateEnd > pos && candidateEnd < maxEnd &&
+						Character.isSurrogatePair(path.charAt(candidateEnd - 1), path.charAt(candidateEnd))) {
+					continue;
+				}
+				if (part instanceof Capture) {
+					int index = ((Capture) part).index;
+					captures[2 * index] = pos;
+					captures[2 * index + 1] = candidateEnd;
+				}
+				if (matchParts(partIndex + 1, path, candidateEnd, end, captures)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static int charCount(String path, int pos, int end) {
+			return (pos + 1 < end && Character.isSurrogatePair(path.charAt(pos), path.charAt(pos + 1)) ? 2 : 1);
+		}
+
+		/**
+		 * Compare a region of the path with the given literal; case-insensitive
+		 * comparison only folds US-ASCII characters, like {@link java.util.regex.Pattern#CASE_INSENSITIVE}.
+		 */
+		static boolean regionMatches(String path, int pos, String literal, boolean caseSensitive) {
+			if (caseSensitive) {
+				return path.startsWith(literal, pos);
+			}
+			for (int i = 0; i < literal.length(); i++) {
+				char c1 = path.charAt(pos + i);
+				char c2 = literal.charAt(i);
+				if (c1 != c2 && (c1 >= 128 || c2 >= 128 || toLowerAscii(c1) != toLowerAscii(c2))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static char toLowerAscii(char c) {
+			return (c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+		}
+
+		/**
+		 * Characters not matched by the regex {@code .} without {@code DOTALL}.
+		 */
+		static boolean isLineTerminator(char c) {
+			return (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029');
+		}
+
+		static boolean containsLineTerminator(String path, int start, int end) {
+			for (int i = start; i < end; i++) {
+				if (isLineTerminator(path.charAt(i))) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+
+	/**
+	 * Fallback for segments with custom variable regular expressions.
+	 */
+	private static class RegexSegmentMatcher extends SegmentMatcher {
+
+		private final AntPathStringMatcher stringMatcher;
+
+		public RegexSegmentMatcher(String segment, boolean caseSensitive) {
+			this.stringMatcher = new AntPathStringMatcher(segment, caseSensitive);
+		}
+
+		@Override
+		public boolean match(String path, int start, int end, Map<String, String> uriTemplateVariables) {
+			return this.stringMatcher.matchStrings(path.substring(start, end), uriTemplateVariables);
+		}
+	}
+
+}
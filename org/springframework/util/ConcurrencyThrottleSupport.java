@@ -20,6 +20,9 @@ package org.springframework.util;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -36,13 +39,26 @@ import org.apache.commons.logging.LogFactory;
  * ("unbounded concurrency"). Subclasses may override this default;
  * check the javadoc of the concrete class that you're using.
  *
+ * <p>Admission is decided by a compare-and-set on an atomic in-flight counter;
+ * only callers that find the limit reached fall back to waiting on a monitor,
+ * optionally bounded through the {@link #setMaxWait "maxWait"} property.
+ * With {@link #setAdaptiveConcurrency "adaptiveConcurrency"} switched on, the
+ * effective limit is adjusted from observed latency (additive increase,
+ * multiplicative decrease) between {@link #setMinConcurrencyLimit "minConcurrencyLimit"}
+ * and {@link #setMaxConcurrencyLimit "maxConcurrencyLimit"}, based on the
+ * samples taken between {@link #beforeAccess(long)} and {@link #afterAccess(long)}.
+ *
  * <p>
  *  用于限制对特定资源的并发访问的支持类
  * 
  * <p>设计用作基类,子类在其工作流程的适当点调用{@link #beforeAccess()}和{@link #afterAccess()}方法注意,{@code afterAccess}通常应为在一个
  * 最后的块中呼吁！。
  * 
- *  <p>此支持类的默认并发限制为-1("无界并发")子类可以覆盖此默认值;检查您正在使用的具体类的javadoc
+ *  <p>此支持类的默认并发限制为-1("无界并发")子类可以覆盖此默认值;检查您正在使用的具体类的javadoc
+ * 
+ *  <p>准入由原子在途计数器上的比较并交换决定;只有发现已达到限制的调用者才会退回到在监视器上等待,等待时间可以通过{@link #setMaxWait "maxWait"}属性限定
+ * 开启{@link #setAdaptiveConcurrency "adaptiveConcurrency"}后,有效限制会根据{@link #beforeAccess(long)}和{@link #afterAccess(long)}之间采样的延迟
+ * 在{@link #setMinConcurrencyLimit "minConcurrencyLimit"}与{@link #setMaxConcurrencyLimit "maxConcurrencyLimit"}之间调整(加性增、乘性减)
  * 
  * 
  * @author Juergen Hoeller
@@ -78,9 +94,36 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 
 	private transient Object monitor = new Object();
 
-	private int concurrencyLimit = UNBOUNDED_CONCURRENCY;
+	private volatile int concurrencyLimit = UNBOUNDED_CONCURRENCY;
+
+	private long maxWait = -1;
+
+	private boolean adaptiveConcurrency = false;
+
+	private int minConcurrencyLimit = 1;
+
+	private int maxConcurrencyLimit = -1;
+
+	private double latencyTolerance = 2.0;
+
+	private double backoffRatio = 0.9;
+
+	private transient volatile int currentConcurrencyLimit = UNBOUNDED_CONCURRENCY;
+
+	private transient AtomicInteger concurrencyCount = new AtomicInteger();
+
+	private transient AtomicInteger waitingCount = new AtomicInteger();
+
+	private transient AtomicLong rejectedCount = new AtomicLong();
+
+	private transient volatile long baselineLatency;
 
-	private int concurrencyCount = 0;
+	private transient AtomicInteger increaseCredits = new AtomicInteger();
+
+	private transient AtomicLong lastLimitDecrease = new AtomicLong(System.nanoTime());
+
+	/** Tokens of the current thread's {@link #beforeAccess()} calls, innermost last */
+	private transient ThreadLocal<AccessTokens> accessTokens = new ThreadLocal<AccessTokens>();
 
 
 	/**
@@ -88,32 +131,178 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 	 * -1 indicates unbounded concurrency.
 	 * <p>In principle, this limit can be changed at runtime,
 	 * although it is generally designed as a config time setting.
+	 * With adaptive concurrency, this is the initial limit to start from.
 	 * <p>NOTE: Do not switch between -1 and any concrete limit at runtime,
 	 * as this will lead to inconsistent concurrency counts: A limit
 	 * of -1 effectively turns off concurrency counting completely.
 	 * <p>
-	 * 设置允许的并发访问尝试的最大数量-1表示无限制并发<p>原则上,此限制可以在运行时更改,尽管它通常设计为配置时间设置<p>注意：不要在-1和运行时的任何具体限制,因为这将导致不一致的并发计数：-1的限制
+	 * 设置允许的并发访问尝试的最大数量-1表示无限制并发<p>原则上,此限制可以在运行时更改,尽管它通常设计为配置时间设置使用自适应并发时,这是起始的初始限制<p>注意：不要在-1和运行时的任何具体限制,因为这将导致不一致的并发计数：-1的限制
 	 * 有效地关闭并发计数完全。
 	 * 
 	 */
 	public void setConcurrencyLimit(int concurrencyLimit) {
 		this.concurrencyLimit = concurrencyLimit;
+		this.currentConcurrencyLimit = concurrencyLimit;
+		synchronized (this.monitor) {
+			this.monitor.notifyAll();
+		}
 	}
 
 	/**
 	 * Return the maximum number of concurrent access attempts allowed.
 	 * <p>
-	 *  返回允许的最大并发访问尝试次数
+	 *  返回允许的最大并发访问尝试次数
 	 * 
 	 */
 	public int getConcurrencyLimit() {
 		return this.concurrencyLimit;
 	}
 
+	/**
+	 * Set the maximum time in milliseconds to wait for access once the
+	 * concurrency limit has been reached, after which the attempt is rejected.
+	 * <p>Default is -1, waiting indefinitely. 0 rejects right away.
+	 * <p>
+	 *  设置达到并发限制后等待访问的最长时间(毫秒),超时后拒绝该尝试<p>默认值为-1,无限期等待0表示立即拒绝
+	 * 
+	 * 
+	 * @since 4.3
+	 * @see #createAccessRejectedException
+	 */
+	public void setMaxWait(long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Return the maximum time in milliseconds to wait for access.
+	 * <p>
+	 *  返回等待访问的最长时间(毫秒)
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public long getMaxWait() {
+		return this.maxWait;
+	}
+
+	/**
+	 * Set whether to adapt the concurrency limit to the observed latency:
+	 * the limit grows by one after a limit's worth of timely completions
+	 * under load and is cut by the {@link #setBackoffRatio "backoffRatio"}
+	 * (at most once per observed latency) when a completion takes longer than
+	 * the {@link #setLatencyTolerance "latencyTolerance"} times the baseline.
+	 * <p>Default is "false". Only applies to a positive concurrency limit.
+	 * Latency is sampled between {@link #beforeAccess(long)} and
+	 * {@link #afterAccess(long)}, or between {@link #beforeAccess()} and
+	 * {@link #afterAccess()} as long as both are called on the same thread.
+	 * <p>
+	 *  设置是否根据观察到的延迟调整并发限制：在负载下每完成一个限制数量的及时调用后限制加一,当某次调用耗时超过基线的
+	 * {@link #setLatencyTolerance "latencyTolerance"}倍时按{@link #setBackoffRatio "backoffRatio"}削减(每个观察到的延迟内最多一次)
+	 * <p>默认为"false"仅适用于正的并发限制延迟在{@link #beforeAccess(long)}和{@link #afterAccess(long)}之间采样,
+	 * 或者在{@link #beforeAccess()}和{@link #afterAccess()}之间采样,只要两者在同一线程上调用
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+		this.adaptiveConcurrency = adaptiveConcurrency;
+	}
+
+	/**
+	 * Return whether the concurrency limit adapts to the observed latency.
+	 * <p>
+	 *  返回并发限制是否根据观察到的延迟调整
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public boolean isAdaptiveConcurrency() {
+		return this.adaptiveConcurrency;
+	}
+
+	/**
+	 * Set the lower bound for an adaptive concurrency limit. Default is 1.
+	 * <p>
+	 *  设置自适应并发限制的下限默认值为1
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public void setMinConcurrencyLimit(int minConcurrencyLimit) {
+		Assert.isTrue(minConcurrencyLimit > 0, "'minConcurrencyLimit' must be positive");
+		this.minConcurrencyLimit = minConcurrencyLimit;
+	}
+
+	/**
+	 * Return the lower bound for an adaptive concurrency limit.
+	 * <p>
+	 *  返回自适应并发限制的下限
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public int getMinConcurrencyLimit() {
+		return this.minConcurrencyLimit;
+	}
+
+	/**
+	 * Set the upper bound for an adaptive concurrency limit.
+	 * <p>Default is the configured {@link #setConcurrencyLimit "concurrencyLimit"},
+	 * which then only gets lowered under latency pressure and recovers afterwards.
+	 * <p>
+	 *  设置自适应并发限制的上限<p>默认为配置的{@link #setConcurrencyLimit "concurrencyLimit"},此时限制只会在延迟压力下降低并在之后恢复
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public void setMaxConcurrencyLimit(int maxConcurrencyLimit) {
+		this.maxConcurrencyLimit = maxConcurrencyLimit;
+	}
+
+	/**
+	 * Return the upper bound for an adaptive concurrency limit.
+	 * <p>
+	 *  返回自适应并发限制的上限
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public int getMaxConcurrencyLimit() {
+		return (this.maxConcurrencyLimit > 0 ? this.maxConcurrencyLimit : this.concurrencyLimit);
+	}
+
+	/**
+	 * Set the factor by which a latency sample has to exceed the baseline
+	 * latency to be treated as a sign of overload. Default is 2.0.
+	 * <p>
+	 *  设置延迟样本必须超过基线延迟多少倍才被视为过载的迹象默认值为20
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public void setLatencyTolerance(double latencyTolerance) {
+		Assert.isTrue(latencyTolerance > 1.0, "'latencyTolerance' must be greater than 1.0");
+		this.latencyTolerance = latencyTolerance;
+	}
+
+	/**
+	 * Set the factor to apply to an adaptive concurrency limit on overload.
+	 * Default is 0.9.
+	 * <p>
+	 *  设置过载时应用于自适应并发限制的系数默认值为09
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public void setBackoffRatio(double backoffRatio) {
+		Assert.isTrue(backoffRatio > 0.0 && backoffRatio < 1.0, "'backoffRatio' must be between 0.0 and 1.0");
+		this.backoffRatio = backoffRatio;
+	}
+
 	/**
 	 * Return whether this throttle is currently active.
 	 * <p>
-	 *  返回此节气门当前是否活动
+	 *  返回此节气门当前是否活动
 	 * 
 	 * 
 	 * @return {@code true} if the concurrency limit for this instance is active
@@ -123,66 +312,311 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 		return (this.concurrencyLimit > 0);
 	}
 
+	/**
+	 * Return the concurrency limit currently in effect, which differs from the
+	 * configured limit when adapting to the observed latency.
+	 * <p>
+	 *  返回当前生效的并发限制,在根据观察到的延迟调整时它与配置的限制不同
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public int getCurrentConcurrencyLimit() {
+		return this.currentConcurrencyLimit;
+	}
+
+	/**
+	 * Return the number of accesses currently in progress.
+	 * <p>
+	 *  返回当前正在进行的访问数
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public int getConcurrencyCount() {
+		return this.concurrencyCount.get();
+	}
+
+	/**
+	 * Return the number of callers currently waiting for access.
+	 * <p>
+	 *  返回当前正在等待访问的调用者数
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public int getWaitingCount() {
+		return this.waitingCount.get();
+	}
+
+	/**
+	 * Return the number of access attempts rejected because the concurrency
+	 * limit did not allow for entering within the maximum wait time.
+	 * <p>
+	 *  返回由于并发限制不允许在最长等待时间内进入而被拒绝的访问尝试次数
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.get();
+	}
+
+	/**
+	 * Return the baseline latency in milliseconds that adaptive concurrency
+	 * compares latency samples against, or 0 if none has been observed yet.
+	 * <p>
+	 *  返回自适应并发用来比较延迟样本的基线延迟(毫秒),如果尚未观察到则返回0
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public double getBaselineLatencyMillis() {
+		return this.baselineLatency / 1000000.0;
+	}
+
 
 	/**
 	 * To be invoked before the main execution logic of concrete subclasses.
-	 * <p>This implementation applies the concurrency throttle.
+	 * <p>This implementation applies the concurrency throttle, waiting up to
+	 * the configured {@link #setMaxWait "maxWait"}, through {@link #beforeAccess(long)}.
+	 * With {@link #setAdaptiveConcurrency "adaptiveConcurrency"} on a positive limit,
+	 * the token is kept for the current thread until the matching {@link #afterAccess()},
+	 * which therefore has to be called on the same thread. Callers that finish an access
+	 * on another thread need to use {@link #beforeAccess(long)} and {@link #afterAccess(long)}
+	 * instead. Otherwise no per-thread state is kept.
 	 * <p>
-	 *  在具体子类的主要执行逻辑之前被调用<p>此实现应用并发节流
+	 *  在具体子类的主要执行逻辑之前被调用<p>此实现通过{@link #beforeAccess(long)}应用并发节流,最多等待配置的{@link #setMaxWait "maxWait"}
+	 * 在正的并发限制上开启{@link #setAdaptiveConcurrency "adaptiveConcurrency"}时,令牌会为当前线程保留,直到匹配的{@link #afterAccess()},
+	 * 因此后者必须在同一线程上调用在另一线程上结束访问的调用者需要改用{@link #beforeAccess(long)}和{@link #afterAccess(long)}
+	 * 否则不保留任何线程状态
 	 * 
 	 * 
 	 * @see #afterAccess()
 	 */
 	protected void beforeAccess() {
-		if (this.concurrencyLimit == NO_CONCURRENCY) {
+		long token = beforeAccess(this.maxWait);
+		if (token != 0) {
+			AccessTokens tokens = this.accessTokens.get();
+			if (tokens == null) {
+				tokens = new AccessTokens();
+				this.accessTokens.set(tokens);
+			}
+			tokens.push(token);
+		}
+	}
+
+	/**
+	 * To be invoked before the main execution logic of concrete subclasses,
+	 * with the returned token to be passed to {@link #afterAccess(long)}.
+	 * <p>This implementation applies the concurrency throttle.
+	 * <p>
+	 *  在具体子类的主要执行逻辑之前被调用,返回的令牌应传递给{@link #afterAccess(long)}<p>此实现应用并发节流
+	 * 
+	 * 
+	 * @param maxWait the maximum time in milliseconds to wait for access
+	 * (-1 for waiting indefinitely, 0 for rejecting right away)
+	 * @return the access token, carrying the start time for adaptive concurrency
+	 * @since 4.3
+	 * @see #afterAccess(long)
+	 */
+	protected long beforeAccess(long maxWait) {
+		int limit = this.concurrencyLimit;
+		if (limit == NO_CONCURRENCY) {
 			throw new IllegalStateException(
 					"Currently no invocations allowed - concurrency limit set to NO_CONCURRENCY");
 		}
-		if (this.concurrencyLimit > 0) {
-			boolean debug = logger.isDebugEnabled();
+		if (limit > 0) {
+			if (!tryAcquire()) {
+				acquire(maxWait);
+			}
+			else if (logger.isTraceEnabled()) {
+				logger.trace("Entering throttle at concurrency count " + this.concurrencyCount.get());
+			}
+			if (this.adaptiveConcurrency) {
+				return System.nanoTime();
+			}
+		}
+		return 0;
+	}
+
+	private boolean tryAcquire() {
+		for (;;) {
+			int count = this.concurrencyCount.get();
+			if (count >= this.currentConcurrencyLimit) {
+				return false;
+			}
+			if (this.concurrencyCount.compareAndSet(count, count + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private void acquire(long maxWait) {
+		if (maxWait == 0) {
+			this.rejectedCount.incrementAndGet();
+			throw createAccessRejectedException("Concurrency count " + this.concurrencyCount.get() +
+					" has reached limit " + this.currentConcurrencyLimit + " - rejecting");
+		}
+		boolean debug = logger.isDebugEnabled();
+		long deadline = (maxWait > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWait) : 0);
+		this.waitingCount.incrementAndGet();
+		try {
 			synchronized (this.monitor) {
 				boolean interrupted = false;
-				while (this.concurrencyCount >= this.concurrencyLimit) {
-					if (interrupted) {
-						throw new IllegalStateException("Thread was interrupted while waiting for invocation access, " +
-								"but concurrency limit still does not allow for entering");
-					}
-					if (debug) {
-						logger.debug("Concurrency count " + this.concurrencyCount +
-								" has reached limit " + this.concurrencyLimit + " - blocking");
-					}
-					try {
-						this.monitor.wait();
-					}
-					catch (InterruptedException ex) {
-						// Re-interrupt current thread, to allow other threads to react.
-						Thread.currentThread().interrupt();
-						interrupted = true;
+				boolean acquired = false;
+				try {
+					while (!tryAcquire()) {
+						if (interrupted) {
+							throw new IllegalStateException("Thread was interrupted while waiting for invocation access, " +
+									"but concurrency limit still does not allow for entering");
+						}
+						long waitMillis = 0;
+						if (maxWait > 0) {
+							long remaining = deadline - System.nanoTime();
+							if (remaining <= 0) {
+								this.rejectedCount.incrementAndGet();
+								throw createAccessRejectedException("Concurrency count " + this.concurrencyCount.get() +
+										" still at limit " + this.currentConcurrencyLimit + " after waiting for " +
+										maxWait + " ms - rejecting");
+							}
+							waitMillis = TimeUnit.NANOSECONDS.toMillis(remaining) + 1;
+						}
+						if (debug) {
+							logger.debug("Concurrency count " + this.concurrencyCount.get() +
+									" has reached limit " + this.currentConcurrencyLimit + " - blocking");
+						}
+						try {
+							this.monitor.wait(waitMillis);
+						}
+						catch (InterruptedException ex) {
+							// Re-interrupt current thread, to allow other threads to react.
+							Thread.currentThread().interrupt();
+							interrupted = true;
+						}
 					}
+					acquired = true;
 				}
-				if (debug) {
-					logger.debug("Entering throttle at concurrency count " + this.concurrencyCount);
+				finally {
+					if (!acquired) {
+						// Pass on a notification that we may have consumed.
+						this.monitor.notify();
+					}
 				}
-				this.concurrencyCount++;
 			}
 		}
+		finally {
+			this.waitingCount.decrementAndGet();
+		}
+		if (debug) {
+			logger.debug("Entering throttle at concurrency count " + this.concurrencyCount.get());
+		}
+	}
+
+	/**
+	 * Create the exception to throw when the concurrency limit did not allow
+	 * for entering within the maximum wait time.
+	 * <p>The default implementation creates an {@link IllegalStateException}.
+	 * <p>
+	 *  创建当并发限制不允许在最长等待时间内进入时抛出的异常<p>默认实现创建{@link IllegalStateException}
+	 * 
+	 * 
+	 * @param message the detail message
+	 * @return the exception to throw
+	 * @since 4.3
+	 */
+	protected RuntimeException createAccessRejectedException(String message) {
+		return new IllegalStateException(message);
 	}
 
 	/**
 	 * To be invoked after the main execution logic of concrete subclasses.
+	 * <p>This implementation passes the token kept by the preceding
+	 * {@link #beforeAccess()} call on the current thread to {@link #afterAccess(long)},
+	 * if adaptive concurrency kept one.
 	 * <p>
-	 *  在具体子类的主要执行逻辑之后被调用
+	 *  在具体子类的主要执行逻辑之后被调用<p>此实现将当前线程上前一个{@link #beforeAccess()}调用保留的令牌(如果自适应并发保留了令牌)传递给{@link #afterAccess(long)}
 	 * 
 	 * @see #beforeAccess()
 	 */
 	protected void afterAccess() {
+		long token = 0;
+		if (this.adaptiveConcurrency && this.concurrencyLimit > 0) {
+			AccessTokens tokens = this.accessTokens.get();
+			if (tokens != null && !tokens.isEmpty()) {
+				token = tokens.pop();
+			}
+		}
+		afterAccess(token);
+	}
+
+	/**
+	 * To be invoked after the main execution logic of concrete subclasses,
+	 * taking the token returned from {@link #beforeAccess(long)}.
+	 * <p>
+	 *  在具体子类的主要执行逻辑之后被调用,接收{@link #beforeAccess(long)}返回的令牌
+	 * 
+	 * 
+	 * @param token the access token as returned from {@link #beforeAccess(long)}
+	 * @since 4.3
+	 * @see #beforeAccess(long)
+	 */
+	protected void afterAccess(long token) {
 		if (this.concurrencyLimit >= 0) {
-			synchronized (this.monitor) {
-				this.concurrencyCount--;
+			int count = this.concurrencyCount.decrementAndGet();
+			if (logger.isTraceEnabled()) {
+				logger.trace("Returning from throttle at concurrency count " + count);
+			}
+			if (token != 0 && this.adaptiveConcurrency && this.concurrencyLimit > 0) {
+				adaptConcurrencyLimit(System.nanoTime() - token, count);
+			}
+			if (this.waitingCount.get() > 0) {
+				synchronized (this.monitor) {
+					this.monitor.notify();
+				}
+			}
+		}
+	}
+
+	private void adaptConcurrencyLimit(long latency, int count) {
+		long baseline = this.baselineLatency;
+		int limit = this.currentConcurrencyLimit;
+		boolean overloaded = (baseline > 0 && latency > baseline * this.latencyTolerance);
+		if (baseline == 0 || latency < baseline) {
+			// Follow faster samples quickly, slower ones only gradually.
+			this.baselineLatency = (baseline == 0 ? latency : (baseline + latency) >>> 1);
+		}
+		else if (!overloaded || limit <= this.minConcurrencyLimit) {
+			// Overloaded samples only count once the limit cannot go any lower,
+			// i.e. when the resource itself has become slower.
+			this.baselineLatency = baseline + ((latency - baseline) >> 7);
+		}
+		if (overloaded) {
+			long now = System.nanoTime();
+			long lastDecrease = this.lastLimitDecrease.get();
+			if (now - lastDecrease >= latency && this.lastLimitDecrease.compareAndSet(lastDecrease, now)) {
+				int newLimit = Math.max(this.minConcurrencyLimit, (int) (limit * this.backoffRatio));
+				if (newLimit < limit) {
+					this.currentConcurrencyLimit = newLimit;
+					this.increaseCredits.set(0);
+					if (logger.isDebugEnabled()) {
+						logger.debug("Decreased concurrency limit to " + newLimit + " after latency of " +
+								latency / 1000 + " microseconds against baseline of " + baseline / 1000 + " microseconds");
+					}
+				}
+			}
+		}
+		else if ((count + 1) * 2 >= limit && this.increaseCredits.incrementAndGet() >= limit) {
+			// Only grow while the current limit is actually being used.
+			this.increaseCredits.set(0);
+			if (limit < getMaxConcurrencyLimit()) {
+				synchronized (this.monitor) {
+					this.currentConcurrencyLimit = limit + 1;
+					this.monitor.notify();
+				}
 				if (logger.isDebugEnabled()) {
-					logger.debug("Returning from throttle at concurrency count " + this.concurrencyCount);
+					logger.debug("Increased concurrency limit to " + (limit + 1));
 				}
-				this.monitor.notify();
 			}
 		}
 	}
@@ -199,6 +633,41 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 		// Initialize transient fields.
 		this.logger = LogFactory.getLog(getClass());
 		this.monitor = new Object();
+		this.currentConcurrencyLimit = this.concurrencyLimit;
+		this.concurrencyCount = new AtomicInteger();
+		this.waitingCount = new AtomicInteger();
+		this.rejectedCount = new AtomicLong();
+		this.increaseCredits = new AtomicInteger();
+		this.lastLimitDecrease = new AtomicLong(System.nanoTime());
+		this.accessTokens = new ThreadLocal<AccessTokens>();
+	}
+
+
+	/**
+	 * Stack of access tokens for nested {@link #beforeAccess()} calls on one thread.
+	 */
+	private static class AccessTokens {
+
+		private long[] tokens = new long[4];
+
+		private int size;
+
+		public void push(long token) {
+			if (this.size == this.tokens.length) {
+				long[] newTokens = new long[this.size * 2];
+				System.arraycopy(this.tokens, 0, newTokens, 0, this.size);
+				this.tokens = newTokens;
+			}
+			this.tokens[this.size++] = token;
+		}
+
+		public long pop() {
+			return this.tokens[--this.size];
+		}
+
+		public boolean isEmpty() {
+			return (this.size == 0);
+		}
 	}
 
 }
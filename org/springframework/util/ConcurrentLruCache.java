@@ -0,0 +1,182 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Simple bounded cache with approximate least-recently-used eviction,
+ * meant for caching immutable results of repeated parsing, e.g. of media types.
+ *
+ * <p>Lookups are lock-free and do not write shared state: the access clock only
+ * advances when entries get added, and a hit only refreshes its entry's access
+ * tick once that lags noticeably behind the clock. Once the cache grows beyond its maximum size, the entries with the oldest
+ * access ticks get evicted by whichever thread added the excess entry; other
+ * threads adding entries at the same time do not wait for the eviction.
+ *
+ * <p>Does <i>not</i> support {@code null} keys or values.
+ *
+ * <p>
+ *  具有近似最近最少使用驱逐的简单有界缓存,用于缓存重复解析的不可变结果,例如媒体类型的解析
+ * 
+ * <p>查找是无锁的且不写共享状态：访问时钟仅在添加条目时前进,命中仅在其条目的访问标记明显落后于时钟时才刷新它一旦缓存增长超过其最大大小,具有最旧访问标记的条目将被添加多余条目的线程驱逐;同时添加条目的其他线程不会等待驱逐
+ * 
+ *  <p> <i>不</i>支持{@code null}键或值
+ * 
+ * 
+ * @since 4.3
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final int maxSize;
+
+	private final int accessWindow;
+
+	private final ConcurrentMap<K, CacheEntry<V>> cache;
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	// Racily incremented on puts: an approximate clock is good enough for recency
+	private volatile long clock;
+
+
+	/**
+	 * Create a new cache with the given maximum number of entries.
+	 * <p>
+	 *  使用给定的最大条目数创建一个新的缓存
+	 * 
+	 * 
+	 * @param maxSize the maximum number of entries to retain
+	 */
+	public ConcurrentLruCache(int maxSize) {
+		Assert.isTrue(maxSize > 0, "Maximum size must be positive");
+		this.maxSize = maxSize;
+		this.accessWindow = maxSize >> 2;
+		this.cache = new ConcurrentHashMap<K, CacheEntry<V>>(maxSize + (maxSize >> 1));
+	}
+
+
+	/**
+	 * Return the maximum number of entries this cache retains.
+	 * <p>
+	 *  返回此缓存保留的最大条目数
+	 * 
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Return the current number of entries.
+	 * <p>
+	 *  返回当前的条目数
+	 * 
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the value cached for the given key, marking it as recently used.
+	 * <p>
+	 *  返回给定键缓存的值,并将其标记为最近使用
+	 * 
+	 * 
+	 * @param key the key to look up
+	 * @return the cached value, or {@code null} if none
+	 */
+	public V get(K key) {
+		CacheEntry<V> entry = this.cache.get(key);
+		if (entry == null) {
+			return null;
+		}
+		long now = this.clock;
+		if (now - entry.lastAccess > this.accessWindow) {
+			entry.lastAccess = now;
+		}
+		return entry.value;
+	}
+
+	/**
+	 * Cache the given value for the given key, evicting the least recently
+	 * used entries if the maximum size is exceeded.
+	 * <p>
+	 *  为给定键缓存给定值,如果超过最大大小,则驱逐最近最少使用的条目
+	 * 
+	 * 
+	 * @param key the key
+	 * @param value the value to cache
+	 */
+	public void put(K key, V value) {
+		Assert.notNull(value, "Value must not be null");
+		this.cache.put(key, new CacheEntry<V>(value, this.clock++));
+		if (this.cache.size() > this.maxSize && this.evictionLock.tryLock()) {
+			try {
+				while (this.cache.size() > this.maxSize) {
+					evictLeastRecentlyUsed();
+				}
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Remove all entries from the cache.
+	 * <p>
+	 *  从缓存中删除所有条目
+	 * 
+	 */
+	public void clear() {
+		this.cache.clear();
+	}
+
+	private void evictLeastRecentlyUsed() {
+		K eldestKey = null;
+		CacheEntry<V> eldestEntry = null;
+		for (Map.Entry<K, CacheEntry<V>> candidate : this.cache.entrySet()) {
+			if (eldestEntry == null || candidate.getValue().lastAccess < eldestEntry.lastAccess) {
+				eldestKey = candidate.getKey();
+				eldestEntry = candidate.getValue();
+			}
+		}
+		if (eldestEntry != null) {
+			this.cache.remove(eldestKey, eldestEntry);
+		}
+	}
+
+
+	private static final class CacheEntry<V> {
+
+		final V value;
+
+		volatile long lastAccess;
+
+		CacheEntry(V value, long lastAccess) {
+			this.value = value;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+}
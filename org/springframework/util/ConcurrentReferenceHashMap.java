@@ -32,6 +32,7 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -52,6 +53,13 @@ import java.util.concurrent.locks.ReentrantLock;
  * <p>If not explicitly specified, this implementation will use
  * {@linkplain SoftReference soft entry references}.
  *
+ * <p>Segments are only allocated once they receive their first entry, keeping the
+ * footprint of empty or sparsely populated maps low. For caches, a maximum size and
+ * a purge interval may be specified through the
+ * {@linkplain #ConcurrentReferenceHashMap(int, float, int, ReferenceType, int, int)
+ * full constructor}, bounding the number of entries and batching the polling for
+ * garbage-collected references across operations.
+ *
  * <p>
  *  {@link ConcurrentHashMap}对{@code keys}和{@code值}使用{@link ReferenceType#SOFT soft}或{@linkplain ReferenceType#WEAK weak}
  * 引用。
@@ -63,6 +71,8 @@ import java.util.concurrent.locks.ReentrantLock;
  * 
  *  <p>如果未明确指定,则此实现将使用{@linkplain SoftReference软入口引用}
  * 
+ *  <p>段仅在收到第一个条目时才分配,从而保持空映射或稀疏映射的占用空间较低对于缓存,可以通过{@linkplain #ConcurrentReferenceHashMap(int, float, int, ReferenceType, int, int)完整构造函数}指定最大大小和清除间隔,从而限制条目数量并在操作之间批量轮询被垃圾回收的引用
+ * 
  * 
  * @author Phillip Webb
  * @since 3.2
@@ -90,7 +100,13 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 *  使用散列中的高位进行索引的段数组
 	 * 
 	 */
-	private final Segment[] segments;
+	private final AtomicReferenceArray<Segment> segments;
+
+	private final int segmentInitialCapacity;
+
+	private final int maximumSegmentSize;
+
+	private final int purgeInterval;
 
 	/**
 	 * When the average number of references per table exceeds this value resize will be attempted.
@@ -217,23 +233,52 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 * write to the map
 	 * @param referenceType the reference type used for entries (soft or weak)
 	 */
-	@SuppressWarnings("unchecked")
 	public ConcurrentReferenceHashMap(int initialCapacity, float loadFactor, int concurrencyLevel,
 			ReferenceType referenceType) {
 
+		this(initialCapacity, loadFactor, concurrencyLevel, referenceType, 0, 1);
+	}
+
+	/**
+	 * Create a new {@code ConcurrentReferenceHashMap} instance.
+	 * <p>The maximum size is enforced per segment, i.e. each segment holds up to
+	 * {@code maximumSize / concurrencyLevel} entries (rounded up); once a segment
+	 * exceeds its share, one of its older entries gets evicted. This is meant for
+	 * caches that can recompute evicted entries, not for strict capacity limits.
+	 * <p>
+	 *  创建一个新的{@code ConcurrentReferenceHashMap}实例<p>最大大小是按段强制执行的,即每个段最多保存{@code maximumSize / concurrencyLevel}个条目(向上取整);一旦某个段超过其份额,就会逐出其较旧的条目之一这适用于可以重新计算被逐出条目的缓存,而不适用于严格的容量限制
+	 * 
+	 * 
+	 * @param initialCapacity the initial capacity of the map
+	 * @param loadFactor the load factor. When the average number of references per
+	 * table exceeds this value, resize will be attempted.
+	 * @param concurrencyLevel the expected number of threads that will concurrently
+	 * write to the map
+	 * @param referenceType the reference type used for entries (soft or weak)
+	 * @param maximumSize the maximum number of entries, or 0 for no limit
+	 * @param purgeInterval the number of operations per segment between checks for
+	 * garbage-collected references: 1 to check on every access (the default), higher
+	 * values to check in batches. Removals and {@link #purgeUnreferencedEntries()}
+	 * always purge immediately.
+	 * @since 4.3
+	 */
+	public ConcurrentReferenceHashMap(int initialCapacity, float loadFactor, int concurrencyLevel,
+			ReferenceType referenceType, int maximumSize, int purgeInterval) {
+
 		Assert.isTrue(initialCapacity >= 0, "Initial capacity must not be negative");
 		Assert.isTrue(loadFactor > 0f, "Load factor must be positive");
 		Assert.isTrue(concurrencyLevel > 0, "Concurrency level must be positive");
 		Assert.notNull(referenceType, "Reference type must not be null");
+		Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+		Assert.isTrue(purgeInterval > 0, "Purge interval must be positive");
 		this.loadFactor = loadFactor;
 		this.shift = calculateShift(concurrencyLevel, MAXIMUM_CONCURRENCY_LEVEL);
 		int size = 1 << this.shift;
 		this.referenceType = referenceType;
-		int roundedUpSegmentCapacity = (int) ((initialCapacity + size - 1L) / size);
-		this.segments = (Segment[]) Array.newInstance(Segment.class, size);
-		for (int i = 0; i < this.segments.length; i++) {
-			this.segments[i] = new Segment(roundedUpSegmentCapacity);
-		}
+		this.segmentInitialCapacity = (int) ((initialCapacity + size - 1L) / size);
+		this.maximumSegmentSize = (int) ((maximumSize + size - 1L) / size);
+		this.purgeInterval = purgeInterval;
+		this.segments = new AtomicReferenceArray<Segment>(size);
 	}
 
 
@@ -242,11 +287,18 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	}
 
 	protected final int getSegmentsSize() {
-		return this.segments.length;
+		return this.segments.length();
 	}
 
 	protected final Segment getSegment(int index) {
-		return this.segments[index];
+		Segment segment = this.segments.get(index);
+		if (segment == null) {
+			segment = new Segment(this.segmentInitialCapacity);
+			if (!this.segments.compareAndSet(index, null, segment)) {
+				segment = this.segments.get(index);
+			}
+		}
+		return segment;
 	}
 
 	/**
@@ -311,7 +363,8 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 */
 	protected final Reference<K, V> getReference(Object key, Restructure restructure) {
 		int hash = getHash(key);
-		return getSegmentForHash(hash).getReference(key, hash, restructure);
+		Segment segment = this.segments.get(getSegmentIndex(hash));
+		return (segment != null ? segment.getReference(key, hash, restructure) : null);
 	}
 
 	@Override
@@ -400,8 +453,11 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 
 	@Override
 	public void clear() {
-		for (Segment segment : this.segments) {
-			segment.clear();
+		for (int i = 0; i < this.segments.length(); i++) {
+			Segment segment = this.segments.get(i);
+			if (segment != null) {
+				segment.clear();
+			}
 		}
 	}
 
@@ -415,8 +471,11 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 * 
 	 */
 	public void purgeUnreferencedEntries() {
-		for (Segment segment : this.segments) {
-			segment.restructureIfNecessary(false);
+		for (int i = 0; i < this.segments.length(); i++) {
+			Segment segment = this.segments.get(i);
+			if (segment != null) {
+				segment.restructure(false, true);
+			}
 		}
 	}
 
@@ -424,8 +483,11 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	@Override
 	public int size() {
 		int size = 0;
-		for (Segment segment : this.segments) {
-			size += segment.getCount();
+		for (int i = 0; i < this.segments.length(); i++) {
+			Segment segment = this.segments.get(i);
+			if (segment != null) {
+				size += segment.getCount();
+			}
 		}
 		return size;
 	}
@@ -440,11 +502,19 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 
 	private <T> T doTask(Object key, Task<T> task) {
 		int hash = getHash(key);
-		return getSegmentForHash(hash).doTask(hash, key, task);
+		int index = getSegmentIndex(hash);
+		Segment segment = this.segments.get(index);
+		if (segment == null) {
+			if (task.hasOption(TaskOption.SKIP_IF_EMPTY)) {
+				return task.execute(null, null, null);
+			}
+			segment = getSegment(index);
+		}
+		return segment.doTask(hash, key, task);
 	}
 
-	private Segment getSegmentForHash(int hash) {
-		return this.segments[(hash >>> (32 - this.shift)) & (this.segments.length - 1)];
+	private int getSegmentIndex(int hash) {
+		return (hash >>> (32 - this.shift)) & (this.segments.length() - 1);
 	}
 
 	/**
@@ -526,6 +596,13 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		 */
 		private int resizeThreshold;
 
+		// Operations since the reference queue was last polled (approximate, not synchronized)
+		private int operationsSinceLastPurge;
+
+		private int evictionIndex;
+
+		private boolean evictionPending;
+
 		public Segment(int initialCapacity) {
 			this.referenceManager = createReferenceManager();
 			this.initialSize = 1 << calculateShift(initialCapacity, MAXIMUM_SEGMENT_SIZE);
@@ -566,6 +643,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 			if (task.hasOption(TaskOption.SKIP_IF_EMPTY) && this.count == 0) {
 				return task.execute(null, null, null);
 			}
+			boolean purge = task.hasOption(TaskOption.RESTRUCTURE_AFTER);
 			lock();
 			try {
 				final int index = getIndex(hash, this.references);
@@ -580,14 +658,19 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 						Reference<K, V> newReference = Segment.this.referenceManager.createReference(newEntry, hash, head);
 						Segment.this.references[index] = newReference;
 						Segment.this.count++;
+						if (maximumSegmentSize > 0 && Segment.this.count > maximumSegmentSize) {
+							Segment.this.evictionPending |= evict(newReference);
+						}
 					}
 				};
 				return task.execute(reference, entry, entries);
 			}
 			finally {
+				purge |= this.evictionPending;
+				this.evictionPending = false;
 				unlock();
-				if (task.hasOption(TaskOption.RESTRUCTURE_AFTER)) {
-					restructureIfNecessary(resize);
+				if (purge) {
+					restructure(resize, true);
 				}
 			}
 		}
@@ -623,8 +706,26 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		 * @param allowResize if resizing is permitted
 		 */
 		protected final void restructureIfNecessary(boolean allowResize) {
+			restructure(allowResize, false);
+		}
+
+		/**
+		 * Purge garbage-collected or released references and resize if necessary.
+		 * <p>
+		 *  清除被垃圾回收或已释放的引用,并在必要时调整大小
+		 * 
+		 * 
+		 * @param allowResize if resizing is permitted
+		 * @param forcePurge whether to poll for purgeable references regardless
+		 * of the purge interval
+		 */
+		private void restructure(boolean allowResize, boolean forcePurge) {
 			boolean needsResize = ((this.count > 0) && (this.count >= this.resizeThreshold));
-			Reference<K, V> reference = this.referenceManager.pollForPurge();
+			Reference<K, V> reference = null;
+			if (forcePurge || purgeInterval == 1 || ++this.operationsSinceLastPurge >= purgeInterval) {
+				this.operationsSinceLastPurge = 0;
+				reference = this.referenceManager.pollForPurge();
+			}
 			if ((reference != null) || (needsResize && allowResize)) {
 				lock();
 				try {
@@ -682,6 +783,36 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 			}
 		}
 
+		/**
+		 * Release the oldest live reference of the next non-empty bucket, going round
+		 * robin through the table. Must be called while holding the lock.
+		 * <p>
+		 *  循环遍历表,释放下一个非空桶中最旧的活动引用必须在持有锁时调用
+		 * 
+		 * 
+		 * @param added the reference that was just added, not to be evicted
+		 * @return whether a reference was released
+		 */
+		private boolean evict(Reference<K, V> added) {
+			Reference<K, V>[] references = this.references;
+			for (int i = 0; i < references.length; i++) {
+				int index = (this.evictionIndex + i) & (references.length - 1);
+				Reference<K, V> victim = null;
+				for (Reference<K, V> reference = references[index]; reference != null; reference = reference.getNext()) {
+					// Chains are prepended to, so the last live reference is the oldest
+					if (reference != added && reference.get() != null) {
+						victim = reference;
+					}
+				}
+				if (victim != null) {
+					victim.release();
+					this.evictionIndex = index + 1;
+					return true;
+				}
+			}
+			return false;
+		}
+
 		private Reference<K, V> findInChain(Reference<K, V> reference, Object key, int hash) {
 			while (reference != null) {
 				if (reference.getHash() == hash) {
@@ -1051,8 +1182,11 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		private void moveToNextSegment() {
 			this.reference = null;
 			this.references = null;
-			if (this.segmentIndex < ConcurrentReferenceHashMap.this.segments.length) {
-				this.references = ConcurrentReferenceHashMap.this.segments[this.segmentIndex].references;
+			while (this.references == null && this.segmentIndex < ConcurrentReferenceHashMap.this.segments.length()) {
+				Segment segment = ConcurrentReferenceHashMap.this.segments.get(this.segmentIndex);
+				if (segment != null) {
+					this.references = segment.references;
+				}
 				this.segmentIndex++;
 			}
 		}
@@ -77,6 +77,12 @@ public class FastByteArrayOutputStream extends OutputStream {
 	// Is the stream closed?
 	private boolean closed = false;
 
+	// The pool to draw buffers from, or null for plain allocation
+	private final ByteArrayPool pool;
+
+	// The number of leading buffers which have not been obtained from the pool
+	private int unpooledBuffers = 0;
+
 
 	/**
 	 * Create a new <code>FastByteArrayOutputStream</code>
@@ -102,6 +108,30 @@ public class FastByteArrayOutputStream extends OutputStream {
 		Assert.isTrue(initialBlockSize > 0, "Initial block size must be greater than 0");
 		this.initialBlockSize = initialBlockSize;
 		this.nextBlockSize = initialBlockSize;
+		this.pool = null;
+	}
+
+	/**
+	 * Create a new <code>FastByteArrayOutputStream</code>
+	 * with the specified initial capacity, drawing its blocks from the given pool.
+	 * <p>Blocks are returned to the pool on {@link #reset()} and when they get
+	 * merged by {@link #resize(int)}. Hence, an {@link InputStream} obtained from
+	 * {@link #getInputStream()} must not be used beyond such a call; byte arrays
+	 * returned by {@link #toByteArrayUnsafe()} are never pooled.
+	 * <p>
+	 *  创建具有指定初始容量的新<code>FastByteArrayOutputStream</code>,从给定的池中获取其块<p>块在{@link #reset()}时以及被{@link #resize(int)}合并时返回到池中因此,从{@link #getInputStream()}获得的{@link InputStream}不得在此类调用之后使用; {@link #toByteArrayUnsafe()}返回的字节数组永远不会被池化
+	 * 
+	 * 
+	 * @param initialBlockSize the initial buffer size in bytes
+	 * @param pool the pool to obtain buffers from
+	 * @since 4.3
+	 */
+	public FastByteArrayOutputStream(int initialBlockSize, ByteArrayPool pool) {
+		Assert.isTrue(initialBlockSize > 0, "Initial block size must be greater than 0");
+		Assert.notNull(pool, "ByteArrayPool must not be null");
+		this.initialBlockSize = initialBlockSize;
+		this.nextBlockSize = initialBlockSize;
+		this.pool = pool;
 	}
 
 
@@ -257,7 +287,9 @@ public class FastByteArrayOutputStream extends OutputStream {
 	 * 
 	 */
 	public void reset() {
+		releasePooledBuffers();
 		this.buffers.clear();
+		this.unpooledBuffers = 0;
 		this.nextBlockSize = this.initialBlockSize;
 		this.closed = false;
 		this.index = 0;
@@ -318,7 +350,8 @@ public class FastByteArrayOutputStream extends OutputStream {
 		if (this.buffers.peekFirst() == null) {
 			this.nextBlockSize = targetCapacity - size();
 		}
-		else if (size() == targetCapacity && this.buffers.getFirst().length == targetCapacity) {
+		else if (size() == targetCapacity && this.buffers.getFirst().length == targetCapacity &&
+				(this.pool == null || this.unpooledBuffers > 0)) {
 			// do nothing - already at the targetCapacity
 		}
 		else {
@@ -336,8 +369,10 @@ public class FastByteArrayOutputStream extends OutputStream {
 					System.arraycopy(bytes, 0, data, pos, this.index);
 				}
 			}
+			releasePooledBuffers();
 			this.buffers.clear();
 			this.buffers.add(data);
+			this.unpooledBuffers = 1;
 			this.index = totalSize;
 			this.alreadyBufferedSize = 0;
 		}
@@ -358,10 +393,27 @@ public class FastByteArrayOutputStream extends OutputStream {
 		if (this.nextBlockSize < minCapacity) {
 			this.nextBlockSize = nextPowerOf2(minCapacity);
 		}
-		this.buffers.add(new byte[this.nextBlockSize]);
+		this.buffers.add(this.pool != null ? this.pool.acquire(this.nextBlockSize) : new byte[this.nextBlockSize]);
 		this.nextBlockSize *= 2;  // block size doubles each time
 	}
 
+	/**
+	 * Return the buffers obtained from the pool, if any.
+	 * <p>
+	 *  返回从池中获取的缓冲区(如果有)
+	 * 
+	 */
+	private void releasePooledBuffers() {
+		if (this.pool != null) {
+			int i = 0;
+			for (byte[] buffer : this.buffers) {
+				if (i++ >= this.unpooledBuffers) {
+					this.pool.release(buffer);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Get the next power of 2 of a number (ex, the next power of 2 of 119 is 128).
 	 * <p>
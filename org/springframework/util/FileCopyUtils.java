@@ -59,8 +59,10 @@ public abstract class FileCopyUtils {
 
 	/**
 	 * Copy the contents of the given input File to the given output File.
+	 * <p>The content is transferred between the file channels directly,
+	 * without passing through a heap buffer.
 	 * <p>
-	 *  将给定输入文件的内容复制到给定的输出文件
+	 *  将给定输入文件的内容复制到给定的输出文件<p>内容直接在文件通道之间传输,而不经过堆缓冲区
 	 * 
 	 * 
 	 * @param in the file to copy from
@@ -71,8 +73,8 @@ public abstract class FileCopyUtils {
 	public static int copy(File in, File out) throws IOException {
 		Assert.notNull(in, "No input File specified");
 		Assert.notNull(out, "No output File specified");
-		return copy(new BufferedInputStream(new FileInputStream(in)),
-			new BufferedOutputStream(new FileOutputStream(out)));
+		// Unbuffered file streams, allowing StreamUtils to transfer between their channels
+		return copy(new FileInputStream(in), new FileOutputStream(out));
 	}
 
 	/**
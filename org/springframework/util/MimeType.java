@@ -662,11 +662,6 @@ public class MimeType implements Comparable<MimeType>, Serializable {
 			if (mimeType1.isWildcardType() && !mimeType2.isWildcardType()) { // */* < audio/*
 				return 1;
 			}
-			if (mimeType1.isWildcardType() && !mimeType2.isWildcardType()) { // * <p>
-			if (mimeType1.isWildcardType() && !mimeType2.isWildcardType()) { // *  将给定的String值解析为{@code MimeType}对象,该方法名称遵循'valueOf'命名约定(由{@link orgspringframeworkcoreconvertConversionService}
-			if (mimeType1.isWildcardType() && !mimeType2.isWildcardType()) { // * 支持)。
-			if (mimeType1.isWildcardType() && !mimeType2.isWildcardType()) { // * 
-			if (mimeType1.isWildcardType() && !mimeType2.isWildcardType()) { // * 
 			else if (mimeType2.isWildcardType() && !mimeType1.isWildcardType()) { // audio/* > */*
 				return -1;
 			}
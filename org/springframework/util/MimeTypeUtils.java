@@ -54,6 +54,16 @@ public abstract class MimeTypeUtils {
 
 	private static Charset US_ASCII = Charset.forName("US-ASCII");
 
+	private static final int CACHE_SIZE = 64;
+
+	/** Parsed (immutable) mime types, keyed by the string they were parsed from */
+	private static final ConcurrentLruCache<String, MimeType> cachedMimeTypes =
+			new ConcurrentLruCache<String, MimeType>(CACHE_SIZE);
+
+	/** Parsed (unmodifiable) mime type lists, keyed by the string they were parsed from */
+	private static final ConcurrentLruCache<String, List<MimeType>> cachedMimeTypeLists =
+			new ConcurrentLruCache<String, List<MimeType>>(CACHE_SIZE);
+
 
 	/**
 	 * Public constant mime type that includes all media ranges (i.e. "&#42;/&#42;").
@@ -308,8 +318,10 @@ public abstract class MimeTypeUtils {
 
 	/**
 	 * Parse the given String into a single {@code MimeType}.
+	 * <p>Recently parsed mime types are cached; since {@code MimeType} is
+	 * immutable, the same instance may be returned for equal strings.
 	 * <p>
-	 * 将给定的字符串解析为单个{@code MimeType}
+	 * 将给定的字符串解析为单个{@code MimeType} <p>最近解析的MIME类型会被缓存;由于{@code MimeType}是不可变的,因此对于相等的字符串可能返回相同的实例
 	 * 
 	 * 
 	 * @param mimeType the string to parse
@@ -320,6 +332,15 @@ public abstract class MimeTypeUtils {
 		if (!StringUtils.hasLength(mimeType)) {
 			throw new InvalidMimeTypeException(mimeType, "'mimeType' must not be empty");
 		}
+		MimeType cached = cachedMimeTypes.get(mimeType);
+		if (cached == null) {
+			cached = parseMimeTypeInternal(mimeType);
+			cachedMimeTypes.put(mimeType, cached);
+		}
+		return cached;
+	}
+
+	private static MimeType parseMimeTypeInternal(String mimeType) {
 		String[] parts = StringUtils.tokenizeToStringArray(mimeType, ";");
 		if (parts.length == 0) {
 			throw new InvalidMimeTypeException(mimeType, "'mimeType' must not be empty");
@@ -340,13 +361,6 @@ public abstract class MimeTypeUtils {
 		String type = fullType.substring(0, subIndex);
 		String subtype = fullType.substring(subIndex + 1, fullType.length());
 		if (MimeType.WILDCARD_TYPE.equals(type) && !MimeType.WILDCARD_TYPE.equals(subtype)) {
-			fullType = "* <p>
-			fullType = "*  } int subIndex = fullTypeindexOf('/'); if(subIndex == -1){throw new InvalidMimeTypeException(mimeType,"不包含'/'"); }
-			fullType = "*  if(subIndex == fullTypelength() -  1){throw new InvalidMimeTypeException(mimeType,"在'/'之后不包含子类型) } S
-			fullType = "* tring type = fullTypesubstring(0,subIndex); String subtype = fullTypesubstring(subIndex + 1,fullTypel
-			fullType = "* ength()); if(MimeTypeWILDCARD_TYPEequals(type)&&！MimeTypeWILDCARD_TYPEequals(subtype)){。
-			fullType = "* 
-			fullType = "* 
 			throw new InvalidMimeTypeException(mimeType, "wildcard type is legal only in '*/*' (all mime types)");
 		}
 
@@ -378,30 +392,28 @@ public abstract class MimeTypeUtils {
 	/**
 	 * Parse the given, comma-separated string into a list of {@code MimeType} objects.
 	 * <p>
-	 *  }
-	 * 
-	 * Map <String,String> parameters = null; if(partslength> 1){parameters = new LinkedHashMap <String,String>(partslength  -  1); for(int i = 1; i <partslength; i ++){String parameter = parts [i]; int eqIndex = parameterindexOf('='); if(eqIndex！= -1){String attribute = parametersubstring(0,eqIndex); String value = parametersubstring(eqIndex + 1,parameterlength()); parametersput(attribute,value); }}}。
-	 * 
-	 *  尝试{return new MimeType(type,subtype,parameters); } catch(UnsupportedCharsetException ex){throw new InvalidMimeTypeException(mimeType,"unsupported charset'"+ exgetCharsetName()+"'"); }
-	 *  catch(IllegalArgumentException ex){throw new InvalidMimeTypeException(mimeType,exgetMessage()); }}。
-	 * 
-	 * / **将给定的逗号分隔的字符串解析为{@code MimeType}对象的列表
+	 *  将给定的逗号分隔的字符串解析为{@code MimeType}对象的列表
 	 * 
 	 * 
 	 * @param mimeTypes the string to parse
-	 * @return the list of mime types
+	 * @return the list of mime types (a new, modifiable list on every call)
 	 * @throws IllegalArgumentException if the string cannot be parsed
 	 */
 	public static List<MimeType> parseMimeTypes(String mimeTypes) {
 		if (!StringUtils.hasLength(mimeTypes)) {
 			return Collections.emptyList();
 		}
-		String[] tokens = StringUtils.tokenizeToStringArray(mimeTypes, ",");
-		List<MimeType> result = new ArrayList<MimeType>(tokens.length);
-		for (String token : tokens) {
-			result.add(parseMimeType(token));
+		List<MimeType> cached = cachedMimeTypeLists.get(mimeTypes);
+		if (cached == null) {
+			String[] tokens = StringUtils.tokenizeToStringArray(mimeTypes, ",");
+			List<MimeType> result = new ArrayList<MimeType>(tokens.length);
+			for (String token : tokens) {
+				result.add(parseMimeType(token));
+			}
+			cached = Collections.unmodifiableList(result);
+			cachedMimeTypeLists.put(mimeTypes, cached);
 		}
-		return result;
+		return new ArrayList<MimeType>(cached);
 	}
 
 	/**
@@ -0,0 +1,46 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+/**
+ * {@link ByteArrayPool} implementation which does not pool at all: every
+ * buffer is freshly allocated with exactly the requested length, and
+ * released buffers are simply left to the garbage collector.
+ *
+ * <p>This is the default used by {@link ByteArrayPoolHolder}.
+ *
+ * <p>
+ *  根本不进行池化的{@link ByteArrayPool}实现：每个缓冲区都以请求的长度重新分配,释放的缓冲区只是留给垃圾收集器
+ * 
+ *  <p>这是{@link ByteArrayPoolHolder}使用的默认值
+ * 
+ * 
+ * @since 4.3
+ */
+public class NoOpByteArrayPool implements ByteArrayPool {
+
+	@Override
+	public byte[] acquire(int minLength) {
+		return new byte[minLength];
+	}
+
+	@Override
+	public void release(byte[] buffer) {
+	}
+
+}
@@ -0,0 +1,510 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index of Ant-style path patterns for matching a single path against a large
+ * number of registered patterns.
+ *
+ * <p>When used with a plain {@link AntPathMatcher} or {@link CompiledPathMatcher},
+ * patterns are stored in a trie of path segments: literal segments are looked up
+ * by hash key, wildcard segments and {@code **} are followed for any path segment.
+ * A lookup therefore only visits the patterns that share a literal prefix with the
+ * path, instead of calling {@link PathMatcher#match} for every registered pattern.
+ * Candidates found in the trie are then verified with the {@code PathMatcher}, so
+ * results are exactly the same as those of a linear scan. For any other
+ * {@code PathMatcher} implementation, all patterns are candidates.
+ *
+ * <p>The {@code PathMatcher} must be fully configured before it is passed in,
+ * since its settings (path separator, case sensitivity, token trimming) are
+ * captured when the index is created.
+ *
+ * <p>This class is thread-safe: lookups may run concurrently with each other,
+ * while registrations and removals acquire an exclusive lock.
+ *
+ * <p>
+ *  Ant风格路径模式的索引,用于将单个路径与大量已注册模式进行匹配
+ * 
+ *  <p>与普通的{@link AntPathMatcher}或{@link CompiledPathMatcher}一起使用时,模式存储在路径段的trie中：文字段通过哈希键查找,通配符段和{@code **}对任何路径段都会被跟踪因此,查找只访问与路径共享文字前缀的模式,而不是为每个注册的模式调用{@link PathMatcher#match}在trie中找到的候选项随后使用{@code PathMatcher}进行验证,因此结果与线性扫描的结果完全相同对于任何其他{@code PathMatcher}实现,所有模式都是候选项
+ * 
+ *  <p>{@code PathMatcher}在传入之前必须完全配置,因为其设置(路径分隔符,大小写敏感,标记修剪)是在创建索引时捕获的
+ * 
+ *  <p>此类是线程安全的：查找可以彼此并发运行,而注册和删除需要获取排他锁
+ * 
+ * 
+ * @since 4.3
+ * @see AntPathMatcher
+ * @see PathMatcher#getPatternComparator(String)
+ */
+public class PathPatternIndex {
+
+	private static final String DOUBLE_WILDCARD = "**";
+
+
+	private final PathMatcher pathMatcher;
+
+	private final boolean indexed;
+
+	private final String pathSeparator;
+
+	private final boolean caseSensitive;
+
+	private final boolean trimTokens;
+
+	private final Node root = new Node(false);
+
+	private final Map<String, PatternEntry> entries = new HashMap<String, PatternEntry>();
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private long registrationCounter;
+
+
+	/**
+	 * Create a new index for the given {@code PathMatcher}.
+	 * <p>
+	 *  为给定的{@code PathMatcher}创建一个新的索引
+	 * 
+	 * 
+	 * @param pathMatcher the fully configured matcher to verify candidates with
+	 */
+	public PathPatternIndex(PathMatcher pathMatcher) {
+		Assert.notNull(pathMatcher, "PathMatcher must not be null");
+		this.pathMatcher = pathMatcher;
+		// Subclasses may customize tokenization or segment matching: no segment trie then
+		Class<?> matcherClass = pathMatcher.getClass();
+		if (matcherClass == AntPathMatcher.class || matcherClass == CompiledPathMatcher.class) {
+			AntPathMatcher antPathMatcher = (AntPathMatcher) pathMatcher;
+			this.indexed = true;
+			this.pathSeparator = antPathMatcher.getPathSeparator();
+			this.caseSensitive = antPathMatcher.isCaseSensitive();
+			this.trimTokens = antPathMatcher.isTrimTokens();
+		}
+		else {
+			this.indexed = false;
+			this.pathSeparator = null;
+			this.caseSensitive = true;
+			this.trimTokens = false;
+		}
+	}
+
+
+	/**
+	 * Return the {@code PathMatcher} used to verify candidate patterns.
+	 * <p>
+	 *  返回用于验证候选模式的{@code PathMatcher}
+	 * 
+	 */
+	public PathMatcher getPathMatcher() {
+		return this.pathMatcher;
+	}
+
+	/**
+	 * Register the given pattern. A pattern added several times is kept
+	 * until it has been removed the same number of times.
+	 * <p>
+	 *  注册给定的模式多次添加的模式会被保留,直到它被删除相同的次数
+	 * 
+	 */
+	public void addPattern(String pattern) {
+		Assert.notNull(pattern, "Pattern must not be null");
+		this.lock.writeLock().lock();
+		try {
+			PatternEntry entry = this.entries.get(pattern);
+			if (entry != null) {
+				entry.count++;
+				return;
+			}
+			entry = new PatternEntry(pattern, this.registrationCounter++);
+			this.entries.put(pattern, entry);
+			Node node = this.root;
+			for (String segment : tokenize(pattern)) {
+				node = node.getOrCreateChild(segment, getSegmentKey(segment));
+			}
+			node.addEntry(entry);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove one registration of the given pattern.
+	 * <p>
+	 *  删除给定模式的一个注册
+	 * 
+	 * 
+	 * @return {@code true} if the pattern is no longer registered as a result
+	 */
+	public boolean removePattern(String pattern) {
+		this.lock.writeLock().lock();
+		try {
+			PatternEntry entry = this.entries.get(pattern);
+			if (entry == null || --entry.count > 0) {
+				return false;
+			}
+			this.entries.remove(pattern);
+			String[] segments = tokenize(pattern);
+			List<Node> nodes = new ArrayList<Node>(segments.length + 1);
+			Node node = this.root;
+			nodes.add(node);
+			for (String segment : segments) {
+				node = node.getChild(segment, getSegmentKey(segment));
+				nodes.add(node);
+			}
+			node.removeEntry(entry);
+			// Prune nodes which no longer lead to any pattern
+			for (int i = segments.length; i > 0 && nodes.get(i).isEmpty(); i--) {
+				nodes.get(i - 1).removeChild(segments[i - 1], getSegmentKey(segments[i - 1]));
+			}
+			return true;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove all registered patterns.
+	 * <p>
+	 *  删除所有已注册的模式
+	 * 
+	 */
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.entries.clear();
+			this.root.clear();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Return the number of distinct registered patterns.
+	 * <p>
+	 *  返回不同的已注册模式的数量
+	 * 
+	 */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.entries.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Return the registered patterns which may match the given path, in
+	 * registration order. The result is a superset of the matching patterns,
+	 * determined from the path segments only: it also contains patterns that
+	 * only match with an additional leading or trailing path separator.
+	 * <p>
+	 *  以注册顺序返回可能与给定路径匹配的已注册模式结果是匹配模式的超集,仅根据路径段确定：它还包含仅在添加前导或尾随路径分隔符时才匹配的模式
+	 * 
+	 */
+	public List<String> getCandidatePatterns(String path) {
+		List<PatternEntry> candidates = new ArrayList<PatternEntry>();
+		this.lock.readLock().lock();
+		try {
+			if (this.entries.isEmpty()) {
+				return Collections.emptyList();
+			}
+			if (!this.indexed) {
+				candidates.addAll(this.entries.values());
+			}
+			else {
+				collectCandidates(path, candidates);
+			}
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+		Collections.sort(candidates);
+		List<String> result = new ArrayList<String>(candidates.size());
+		for (PatternEntry candidate : candidates) {
+			result.add(candidate.pattern);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the registered patterns which match the given path according
+	 * to {@link PathMatcher#match}, in registration order.
+	 * <p>
+	 *  以注册顺序返回根据{@link PathMatcher#match}与给定路径匹配的已注册模式
+	 * 
+	 */
+	public List<String> getMatchingPatterns(String path) {
+		List<String> candidates = getCandidatePatterns(path);
+		List<String> result = new ArrayList<String>(candidates.size());
+		for (String candidate : candidates) {
+			if (this.pathMatcher.match(candidate, path)) {
+				result.add(candidate);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the registered patterns which match the given path, sorted with
+	 * the {@link PathMatcher#getPatternComparator(String) pattern comparator}
+	 * for the path, most specific first. Equally specific patterns remain in
+	 * registration order.
+	 * <p>
+	 *  返回与给定路径匹配的已注册模式,使用路径的{@link PathMatcher#getPatternComparator(String)模式比较器}排序,最具体的排在最前面同样具体的模式保持注册顺序
+	 * 
+	 */
+	public List<String> getSortedMatchingPatterns(String path) {
+		List<String> result = getMatchingPatterns(path);
+		if (result.size() > 1) {
+			Collections.sort(result, this.pathMatcher.getPatternComparator(path));
+		}
+		return result;
+	}
+
+
+	private void collectCandidates(String path, List<PatternEntry> candidates) {
+		Set<Node> current = new LinkedHashSet<Node>();
+		addWithDoubleWildcards(this.root, current);
+		for (String segment : tokenize(path)) {
+			Set<Node> next = new LinkedHashSet<Node>();
+			String key = getSegmentKey(segment);
+			for (Node node : current) {
+				if (node.doubleWildcard) {
+					// "**" may consume any number of segments
+					next.add(node);
+				}
+				if (node.literalChildren != null) {
+					Node child = node.literalChildren.get(key);
+					if (child != null) {
+						addWithDoubleWildcards(child, next);
+					}
+				}
+				if (node.wildcardChildren != null) {
+					for (Node child : node.wildcardChildren.values()) {
+						addWithDoubleWildcards(child, next);
+					}
+				}
+			}
+			if (next.isEmpty()) {
+				return;
+			}
+			current = next;
+		}
+		Set<PatternEntry> result = new LinkedHashSet<PatternEntry>();
+		for (Node node : current) {
+			node.collectEntries(result);
+			// A trailing "*" matches a path ending with a separator
+			if (node.wildcardChildren != null) {
+				for (Node child : node.wildcardChildren.values()) {
+					child.collectEntries(result);
+				}
+			}
+		}
+		candidates.addAll(result);
+	}
+
+	private void addWithDoubleWildcards(Node node, Set<Node> nodes) {
+		while (node != null && nodes.add(node)) {
+			// "**" may also match zero segments
+			node = node.doubleWildcardChild;
+		}
+	}
+
+	private String[] tokenize(String path) {
+		if (!this.indexed) {
+			return new String[0];
+		}
+		return StringUtils.tokenizeToStringArray(path, this.pathSeparator, this.trimTokens, true);
+	}
+
+	/**
+	 * Return the trie key for a literal segment: the segment itself, or its
+	 * US-ASCII lower case form for case-insensitive matching, in line with
+	 * {@link AntPathMatcher}'s {@link java.util.regex.Pattern#CASE_INSENSITIVE} comparison.
+	 * Returns {@code null} for segments containing wildcards or URI variables.
+	 */
+	private String getSegmentKey(String segment) {
+		if (DOUBLE_WILDCARD.equals(segment) || segment.indexOf('*') != -1 || segment.indexOf('?') != -1 ||
+				segment.indexOf('{') != -1) {
+			return null;
+		}
+		if (this.caseSensitive) {
+			return segment;
+		}
+		char[] chars = null;
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c >= 'A' && c <= 'Z') {
+				if (chars == null) {
+					chars = segment.toCharArray();
+				}
+				chars[i] = (char) (c + ('a' - 'A'));
+			}
+		}
+		return (chars != null ? new String(chars) : segment);
+	}
+
+
+	/**
+	 * Trie node: one per distinct sequence of pattern segments.
+	 */
+	private static class Node {
+
+		final boolean doubleWildcard;
+
+		Map<String, Node> literalChildren;
+
+		Map<String, Node> wildcardChildren;
+
+		Node doubleWildcardChild;
+
+		List<PatternEntry> entries;
+
+		Node(boolean doubleWildcard) {
+			this.doubleWildcard = doubleWildcard;
+		}
+
+		Node getChild(String segment, String key) {
+			if (DOUBLE_WILDCARD.equals(segment)) {
+				return this.doubleWildcardChild;
+			}
+			else if (key != null) {
+				return (this.literalChildren != null ? this.literalChildren.get(key) : null);
+			}
+			else {
+				return (this.wildcardChildren != null ? this.wildcardChildren.get(segment) : null);
+			}
+		}
+
+		Node getOrCreateChild(String segment, String key) {
+			Node child = getChild(segment, key);
+			if (child != null) {
+				return child;
+			}
+			if (DOUBLE_WILDCARD.equals(segment)) {
+				child = new Node(true);
+				this.doubleWildcardChild = child;
+			}
+			else if (key != null) {
+				if (this.literalChildren == null) {
+					this.literalChildren = new HashMap<String, Node>(4);
+				}
+				child = new Node(false);
+				this.literalChildren.put(key, child);
+			}
+			else {
+				if (this.wildcardChildren == null) {
+					this.wildcardChildren = new LinkedHashMap<String, Node>(4);
+				}
+				child = new Node(false);
+				this.wildcardChildren.put(segment, child);
+			}
+			return child;
+		}
+
+		void removeChild(String segment, String key) {
+			if (DOUBLE_WILDCARD.equals(segment)) {
+				this.doubleWildcardChild = null;
+			}
+			else if (key != null) {
+				this.literalChildren.remove(key);
+				if (this.literalChildren.isEmpty()) {
+					this.literalChildren = null;
+				}
+			}
+			else {
+				this.wildcardChildren.remove(segment);
+				if (this.wildcardChildren.isEmpty()) {
+					this.wildcardChildren = null;
+				}
+			}
+		}
+
+		void addEntry(PatternEntry entry) {
+			if (this.entries == null) {
+				this.entries = new ArrayList<PatternEntry>(1);
+			}
+			this.entries.add(entry);
+		}
+
+		void removeEntry(PatternEntry entry) {
+			this.entries.remove(entry);
+			if (this.entries.isEmpty()) {
+				this.entries = null;
+			}
+		}
+
+		void collectEntries(Set<PatternEntry> result) {
+			if (this.entries != null) {
+				result.addAll(this.entries);
+			}
+		}
+
+		boolean isEmpty() {
+			return (this.entries == null && this.literalChildren == null && this.wildcardChildren == null &&
+					this.doubleWildcardChild == null);
+		}
+
+		void clear() {
+			this.literalChildren = null;
+			this.wildcardChildren = null;
+			this.doubleWildcardChild = null;
+			this.entries = null;
+		}
+	}
+
+
+	/**
+	 * A registered pattern, ordered by first registration.
+	 */
+	private static class PatternEntry implements Comparable<PatternEntry> {
+
+		final String pattern;
+
+		final long order;
+
+		int count = 1;
+
+		PatternEntry(String pattern, long order) {
+			this.pattern = pattern;
+			this.order = order;
+		}
+
+		@Override
+		public int compareTo(PatternEntry other) {
+			return (this.order < other.order ? -1 : (this.order > other.order ? 1 : 0));
+		}
+	}
+
+}
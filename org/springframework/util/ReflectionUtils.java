@@ -30,6 +30,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+
 /**
  * Simple utility class for working with the reflection API and handling
  * reflection exceptions.
@@ -66,6 +68,8 @@ public abstract class ReflectionUtils {
 
 	private static final Field[] NO_FIELDS = {};
 
+	private static final Object[] NO_ARGS = {};
+
 
 	/**
 	 * Cache for {@link Class#getDeclaredMethods()} plus equivalent default methods
@@ -75,7 +79,7 @@ public abstract class ReflectionUtils {
 	 * 
 	 */
 	private static final Map<Class<?>, Method[]> declaredMethodsCache =
-			new ConcurrentReferenceHashMap<Class<?>, Method[]>(256);
+			new ConcurrentReferenceHashMap<Class<?>, Method[]>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
 
 	/**
 	 * Cache for {@link Class#getDeclaredFields()}, allowing for fast iteration.
@@ -84,7 +88,7 @@ public abstract class ReflectionUtils {
 	 * 
 	 */
 	private static final Map<Class<?>, Field[]> declaredFieldsCache =
-			new ConcurrentReferenceHashMap<Class<?>, Field[]>(256);
+			new ConcurrentReferenceHashMap<Class<?>, Field[]>(256, 0.75f, 16, ReferenceType.SOFT, 0, 32);
 
 
 	/**
@@ -246,7 +250,7 @@ public abstract class ReflectionUtils {
 	 * @see #invokeMethod(java.lang.reflect.Method, Object, Object[])
 	 */
 	public static Object invokeMethod(Method method, Object target) {
-		return invokeMethod(method, target, new Object[0]);
+		return invokeMethod(method, target, NO_ARGS);
 	}
 
 	/**
@@ -274,6 +278,27 @@ public abstract class ReflectionUtils {
 		throw new IllegalStateException("Should never get here");
 	}
 
+	/**
+	 * Obtain a {@link MethodAccessor} for repeated invocations of the given method,
+	 * {@link #makeAccessible making the method accessible} once upfront.
+	 * <p>Callers on hot paths are expected to hold on to the returned accessor
+	 * instead of preparing the method and looking it up for every invocation.
+	 * <p>
+	 *  获取用于重复调用给定方法的{@link MethodAccessor},预先{@link #makeAccessible 使该方法可访问}一次
+	 * <p>热路径上的调用方应持有返回的访问器,而不是每次调用时都准备并查找该方法
+	 * 
+	 * 
+	 * @param method the method to invoke
+	 * @return the corresponding accessor (never {@code null})
+	 * @since 4.3
+	 * @see #invokeMethod(java.lang.reflect.Method, Object, Object[])
+	 */
+	public static MethodAccessor getMethodAccessor(Method method) {
+		Assert.notNull(method, "Method must not be null");
+		makeAccessible(method);
+		return new ReflectiveMethodAccessor(method);
+	}
+
 	/**
 	 * Invoke the specified JDBC API {@link Method} against the supplied target
 	 * object with no arguments.
@@ -1003,6 +1028,41 @@ public abstract class ReflectionUtils {
 	}
 
 
+	/**
+	 * Invoker for a specific method, obtained via {@link #getMethodAccessor}.
+	 * <p>
+	 *  特定方法的调用器,通过{@link #getMethodAccessor}获取
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	public interface MethodAccessor {
+
+		/**
+		 * Return the method that this accessor invokes.
+		 * <p>
+		 *  返回此访问器调用的方法
+		 * 
+		 */
+		Method getMethod();
+
+		/**
+		 * Invoke the method with the same semantics as {@link Method#invoke}.
+		 * <p>
+		 *  以与{@link Method#invoke}相同的语义调用该方法
+		 * 
+		 * 
+		 * @param target the target object to invoke the method on
+		 * ({@code null} for static methods)
+		 * @param args the invocation arguments (may be {@code null})
+		 * @return the invocation result, if any
+		 * @throws IllegalAccessException if the method is not accessible
+		 * @throws InvocationTargetException if the method threw an exception
+		 */
+		Object invoke(Object target, Object... args) throws IllegalAccessException, InvocationTargetException;
+	}
+
+
 	/**
 	 * Pre-built FieldFilter that matches all non-static, non-final fields.
 	 * <p>
@@ -1047,4 +1107,27 @@ public abstract class ReflectionUtils {
 		}
 	};
 
+
+	/**
+	 * {@link MethodAccessor} that delegates to {@link Method#invoke}.
+	 */
+	private static class ReflectiveMethodAccessor implements MethodAccessor {
+
+		private final Method method;
+
+		public ReflectiveMethodAccessor(Method method) {
+			this.method = method;
+		}
+
+		@Override
+		public Method getMethod() {
+			return this.method;
+		}
+
+		@Override
+		public Object invoke(Object target, Object... args) throws IllegalAccessException, InvocationTargetException {
+			return this.method.invoke(target, args);
+		}
+	}
+
 }
@@ -54,6 +54,11 @@ public class ResizableByteArrayOutputStream extends ByteArrayOutputStream {
 
 	private static final int DEFAULT_INITIAL_CAPACITY = 256;
 
+	private static final byte[] EMPTY_BUFFER = new byte[0];
+
+
+	private final ByteArrayPool pool;
+
 
 	/**
 	 * Create a new <code>ResizableByteArrayOutputStream</code>
@@ -64,6 +69,7 @@ public class ResizableByteArrayOutputStream extends ByteArrayOutputStream {
 	 */
 	public ResizableByteArrayOutputStream() {
 		super(DEFAULT_INITIAL_CAPACITY);
+		this.pool = null;
 	}
 
 	/**
@@ -77,6 +83,61 @@ public class ResizableByteArrayOutputStream extends ByteArrayOutputStream {
 	 */
 	public ResizableByteArrayOutputStream(int initialCapacity) {
 		super(initialCapacity);
+		this.pool = null;
+	}
+
+	/**
+	 * Create a new <code>ResizableByteArrayOutputStream</code>
+	 * with the specified initial capacity, drawing its buffers from the given pool.
+	 * <p>Since pooled buffers may be larger than requested, the {@link #capacity()}
+	 * may exceed the requested capacity. The current buffer is returned to the pool
+	 * when it gets replaced and on {@link #reset()}.
+	 * <p>
+	 *  创建具有指定初始容量的新<code>ResizableByteArrayOutputStream</code>,从给定的池中获取其缓冲区<p>由于池化的缓冲区可能大于请求的大小,因此{@link #capacity()}可能超过请求的容量当前缓冲区在被替换时以及在{@link #reset()}时返回到池中
+	 * 
+	 * 
+	 * @param initialCapacity the initial buffer size in bytes
+	 * @param pool the pool to obtain buffers from
+	 * @since 4.3
+	 */
+	public ResizableByteArrayOutputStream(int initialCapacity, ByteArrayPool pool) {
+		super(0);
+		Assert.notNull(pool, "ByteArrayPool must not be null");
+		this.pool = pool;
+		this.buf = pool.acquire(initialCapacity);
+	}
+
+
+	@Override
+	public synchronized void write(int b) {
+		if (this.pool != null) {
+			grow(1);
+		}
+		super.write(b);
+	}
+
+	@Override
+	public synchronized void write(byte[] b, int off, int len) {
+		if (this.pool != null && len > 0) {
+			grow(len);
+		}
+		super.write(b, off, len);
+	}
+
+	/**
+	 * Discard the content of this stream; when created with a pool,
+	 * also return the current buffer to the pool.
+	 * <p>
+	 *  丢弃此流的内容;当使用池创建时,还将当前缓冲区返回到池中
+	 * 
+	 */
+	@Override
+	public synchronized void reset() {
+		super.reset();
+		if (this.pool != null && this.buf != EMPTY_BUFFER) {
+			this.pool.release(this.buf);
+			this.buf = EMPTY_BUFFER;
+		}
 	}
 
 
@@ -93,8 +154,11 @@ public class ResizableByteArrayOutputStream extends ByteArrayOutputStream {
 	 */
 	public synchronized void resize(int targetCapacity) {
 		Assert.isTrue(targetCapacity >= this.count, "New capacity must not be smaller than current size");
-		byte[] resizedBuffer = new byte[targetCapacity];
+		byte[] resizedBuffer = (this.pool != null ? this.pool.acquire(targetCapacity) : new byte[targetCapacity]);
 		System.arraycopy(this.buf, 0, resizedBuffer, 0, this.count);
+		if (this.pool != null && this.buf != EMPTY_BUFFER) {
+			this.pool.release(this.buf);
+		}
 		this.buf = resizedBuffer;
 	}
 
@@ -0,0 +1,295 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * {@link ByteArrayPool} implementation which keeps released buffers in size
+ * classes of powers of two, from a minimum to a maximum buffer length.
+ *
+ * <p>Requests are rounded up to the next size class; requests beyond the maximum
+ * length are served with unpooled arrays. Each size class retains a bounded number
+ * of buffers, so the memory held by the pool is bounded as well: surplus buffers
+ * are left to the garbage collector.
+ *
+ * <p>Leak detection reports buffers that were acquired but got garbage-collected
+ * without having been released, along with the stack trace of their acquisition.
+ * It is active by default when debug logging is enabled for this class.
+ *
+ * <p>
+ *  {@link ByteArrayPool}实现,它将释放的缓冲区保存在2的幂的大小类中,从最小缓冲区长度到最大缓冲区长度
+ * 
+ *  <p>请求向上舍入到下一个大小类;超出最大长度的请求使用未池化的数组提供服务每个大小类保留有限数量的缓冲区,因此池所持有的内存也是有界的：多余的缓冲区留给垃圾收集器
+ * 
+ *  <p>泄漏检测报告已获取但在未被释放的情况下被垃圾收集的缓冲区,以及其获取的堆栈跟踪当为此类启用调试日志记录时,默认情况下它处于活动状态
+ * 
+ * 
+ * @since 4.3
+ */
+public class SizeClassedByteArrayPool implements ByteArrayPool {
+
+	/** Default minimum buffer length: 256 bytes */
+	public static final int DEFAULT_MIN_LENGTH = 256;
+
+	/** Default maximum pooled buffer length: 64 KB */
+	public static final int DEFAULT_MAX_LENGTH = 64 * 1024;
+
+	/** Default number of buffers retained per size class */
+	public static final int DEFAULT_MAX_BUFFERS_PER_SIZE_CLASS = 16;
+
+
+	private static final Log logger = LogFactory.getLog(SizeClassedByteArrayPool.class);
+
+	private final int minLength;
+
+	private final int maxLength;
+
+	private final Queue<byte[]>[] sizeClasses;
+
+	private volatile boolean leakDetection = logger.isDebugEnabled();
+
+	private final ReferenceQueue<byte[]> leakQueue = new ReferenceQueue<byte[]>();
+
+	// identity hash code -> references to acquired, not yet released buffers
+	private final Map<Integer, List<LeakReference>> acquiredBuffers = new HashMap<Integer, List<LeakReference>>();
+
+
+	/**
+	 * Create a new pool with default settings.
+	 * <p>
+	 *  使用默认设置创建一个新池
+	 * 
+	 */
+	public SizeClassedByteArrayPool() {
+		this(DEFAULT_MIN_LENGTH, DEFAULT_MAX_LENGTH, DEFAULT_MAX_BUFFERS_PER_SIZE_CLASS);
+	}
+
+	/**
+	 * Create a new pool.
+	 * <p>
+	 *  创建一个新池
+	 * 
+	 * 
+	 * @param minLength the smallest buffer length (rounded up to a power of two)
+	 * @param maxLength the largest pooled buffer length (rounded up to a power of two)
+	 * @param maxBuffersPerSizeClass the number of released buffers to retain per size class
+	 */
+	@SuppressWarnings("unchecked")
+	public SizeClassedByteArrayPool(int minLength, int maxLength, int maxBuffersPerSizeClass) {
+		Assert.isTrue(minLength > 0, "Minimum length must be greater than 0");
+		Assert.isTrue(maxLength >= minLength, "Maximum length must not be smaller than minimum length");
+		Assert.isTrue(maxLength <= (1 << 30), "Maximum length must not be greater than 2^30");
+		Assert.isTrue(maxBuffersPerSizeClass > 0, "Maximum buffers per size class must be greater than 0");
+		this.minLength = roundUpToPowerOfTwo(minLength);
+		this.maxLength = roundUpToPowerOfTwo(maxLength);
+		int count = Integer.numberOfTrailingZeros(this.maxLength) - Integer.numberOfTrailingZeros(this.minLength) + 1;
+		this.sizeClasses = new Queue[count];
+		for (int i = 0; i < count; i++) {
+			this.sizeClasses[i] = new ArrayBlockingQueue<byte[]>(maxBuffersPerSizeClass);
+		}
+	}
+
+
+	/**
+	 * Specify whether to track acquired buffers and log a warning for buffers
+	 * that got garbage-collected without having been released.
+	 * <p>Default is "true" if debug logging is enabled for this class. Tracking
+	 * includes capturing a stack trace per acquisition, so this is not meant for
+	 * production use.
+	 * <p>
+	 *  指定是否跟踪获取的缓冲区并为未被释放就被垃圾收集的缓冲区记录警告<p>如果为此类启用了调试日志记录,则默认为"true"跟踪包括为每次获取捕获堆栈跟踪,因此不适用于生产环境
+	 * 
+	 */
+	public void setLeakDetection(boolean leakDetection) {
+		this.leakDetection = leakDetection;
+	}
+
+	/**
+	 * Return whether leak detection is active.
+	 * <p>
+	 *  返回泄漏检测是否处于活动状态
+	 * 
+	 */
+	public boolean isLeakDetection() {
+		return this.leakDetection;
+	}
+
+
+	@Override
+	public byte[] acquire(int minLength) {
+		Assert.isTrue(minLength >= 0, "Length must not be negative");
+		byte[] buffer;
+		if (minLength > this.maxLength) {
+			buffer = new byte[minLength];
+		}
+		else {
+			int sizeClass = getSizeClass(minLength);
+			buffer = this.sizeClasses[sizeClass].poll();
+			if (buffer == null) {
+				buffer = new byte[this.minLength << sizeClass];
+			}
+		}
+		if (this.leakDetection) {
+			reportLeaks();
+			track(buffer);
+		}
+		return buffer;
+	}
+
+	@Override
+	public void release(byte[] buffer) {
+		if (buffer == null) {
+			return;
+		}
+		if (this.leakDetection && !untrack(buffer) && logger.isWarnEnabled()) {
+			logger.warn("Released buffer of length " + buffer.length +
+					" which is not in use: released twice, or not acquired from this pool?");
+			return;
+		}
+		int length = buffer.length;
+		if (length >= this.minLength && length <= this.maxLength && (length & (length - 1)) == 0) {
+			// Retained if there is room in its size class, otherwise left to the garbage collector
+			this.sizeClasses[getSizeClass(length)].offer(buffer);
+		}
+	}
+
+	/**
+	 * Return the number of buffers currently retained by the pool.
+	 * <p>
+	 *  返回池当前保留的缓冲区数量
+	 * 
+	 */
+	public int getPooledBufferCount() {
+		int count = 0;
+		for (Queue<byte[]> sizeClass : this.sizeClasses) {
+			count += sizeClass.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Discard all buffers currently retained by the pool.
+	 * <p>
+	 *  丢弃池当前保留的所有缓冲区
+	 * 
+	 */
+	public void clear() {
+		for (Queue<byte[]> sizeClass : this.sizeClasses) {
+			sizeClass.clear();
+		}
+	}
+
+
+	private int getSizeClass(int length) {
+		if (length <= this.minLength) {
+			return 0;
+		}
+		return Integer.numberOfTrailingZeros(roundUpToPowerOfTwo(length)) -
+				Integer.numberOfTrailingZeros(this.minLength);
+	}
+
+	private static int roundUpToPowerOfTwo(int value) {
+		int highestOneBit = Integer.highestOneBit(value);
+		return (value == highestOneBit ? value : highestOneBit << 1);
+	}
+
+	private void track(byte[] buffer) {
+		Integer key = System.identityHashCode(buffer);
+		LeakReference reference = new LeakReference(buffer, key, this.leakQueue);
+		synchronized (this.acquiredBuffers) {
+			List<LeakReference> references = this.acquiredBuffers.get(key);
+			if (references == null) {
+				references = new ArrayList<LeakReference>(1);
+				this.acquiredBuffers.put(key, references);
+			}
+			references.add(reference);
+		}
+	}
+
+	private boolean untrack(byte[] buffer) {
+		Integer key = System.identityHashCode(buffer);
+		synchronized (this.acquiredBuffers) {
+			List<LeakReference> references = this.acquiredBuffers.get(key);
+			if (references != null) {
+				for (int i = 0; i < references.size(); i++) {
+					LeakReference reference = references.get(i);
+					if (reference.get() == buffer) {
+						references.remove(i);
+						if (references.isEmpty()) {
+							this.acquiredBuffers.remove(key);
+						}
+						// Cleared references do not get enqueued
+						reference.clear();
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+	}
+
+	private void reportLeaks() {
+		LeakReference reference;
+		while ((reference = (LeakReference) this.leakQueue.poll()) != null) {
+			boolean leaked;
+			synchronized (this.acquiredBuffers) {
+				List<LeakReference> references = this.acquiredBuffers.get(reference.key);
+				leaked = (references != null && references.remove(reference));
+				if (references != null && references.isEmpty()) {
+					this.acquiredBuffers.remove(reference.key);
+				}
+			}
+			if (leaked && logger.isWarnEnabled()) {
+				logger.warn("Buffer of length " + reference.length + " was garbage-collected without having " +
+						"been released to the pool; it was acquired at:", reference.acquisitionTrace);
+			}
+		}
+	}
+
+
+	/**
+	 * Weak reference to an acquired buffer, remembering where it was acquired.
+	 */
+	private static class LeakReference extends WeakReference<byte[]> {
+
+		private final Integer key;
+
+		private final int length;
+
+		private final Throwable acquisitionTrace;
+
+		public LeakReference(byte[] buffer, Integer key, ReferenceQueue<byte[]> queue) {
+			super(buffer, queue);
+			this.key = key;
+			this.length = buffer.length;
+			this.acquisitionTrace = new Throwable("Buffer acquisition");
+		}
+	}
+
+}
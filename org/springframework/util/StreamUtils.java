@@ -18,7 +18,8 @@
 package org.springframework.util;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FilterInputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
@@ -27,6 +28,9 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 
 /**
@@ -67,9 +71,15 @@ public abstract class StreamUtils {
 	 * @throws IOException in case of I/O errors
 	 */
 	public static byte[] copyToByteArray(InputStream in) throws IOException {
-		ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
-		copy(in, out);
-		return out.toByteArray();
+		ResizableByteArrayOutputStream out =
+				new ResizableByteArrayOutputStream(BUFFER_SIZE, ByteArrayPoolHolder.getPool());
+		try {
+			copy(in, out);
+			return out.toByteArray();
+		}
+		finally {
+			out.reset();
+		}
 	}
 
 	/**
@@ -136,8 +146,12 @@ public abstract class StreamUtils {
 	/**
 	 * Copy the contents of the given InputStream to the given OutputStream.
 	 * Leaves both streams open when done.
+	 * <p>If both streams are plain file streams and the input is a regular file,
+	 * the content is transferred between their channels without passing through
+	 * a heap buffer.
 	 * <p>
 	 * 将给定InputStream的内容复制到给定的OutputStream当完成时,两个流都打开
+	 * <p>如果两个流都是普通文件流并且输入是常规文件,则内容在其通道之间传输,而不经过堆缓冲区
 	 * 
 	 * 
 	 * @param in the InputStream to copy from
@@ -149,11 +163,32 @@ public abstract class StreamUtils {
 		Assert.notNull(in, "No InputStream specified");
 		Assert.notNull(out, "No OutputStream specified");
 		int byteCount = 0;
-		byte[] buffer = new byte[BUFFER_SIZE];
-		int bytesRead = -1;
-		while ((bytesRead = in.read(buffer)) != -1) {
-			out.write(buffer, 0, bytesRead);
-			byteCount += bytesRead;
+		if (in.getClass() == FileInputStream.class && out.getClass() == FileOutputStream.class) {
+			FileChannel inChannel = ((FileInputStream) in).getChannel();
+			// Only regular files report their size: /proc files, pipes and stdin report 0
+			// and are left to the stream loop below.
+			long size = inChannel.size();
+			if (size > 0) {
+				long position = inChannel.position();
+				if (size > position) {
+					long count = copy(inChannel, position, size - position, ((FileOutputStream) out).getChannel());
+					inChannel.position(position + count);
+					byteCount = (int) count;
+				}
+			}
+		}
+		// Anything beyond the channel transfer, e.g. content appended in the meantime
+		ByteArrayPool pool = ByteArrayPoolHolder.getPool();
+		byte[] buffer = pool.acquire(BUFFER_SIZE);
+		try {
+			int bytesRead = -1;
+			while ((bytesRead = in.read(buffer)) != -1) {
+				out.write(buffer, 0, bytesRead);
+				byteCount += bytesRead;
+			}
+		}
+		finally {
+			pool.release(buffer);
 		}
 		out.flush();
 		return byteCount;
@@ -182,22 +217,145 @@ public abstract class StreamUtils {
 			throw new IOException("Skipped only " + skipped + " bytes out of " + start + " required.");
 		}
 		long bytesToCopy = end - start + 1;
-		byte buffer[] = new byte[StreamUtils.BUFFER_SIZE];
-		while (bytesToCopy > 0) {
-			int bytesRead = in.read(buffer);
-			if (bytesRead == -1) {
-				break;
+		ByteArrayPool pool = ByteArrayPoolHolder.getPool();
+		byte buffer[] = pool.acquire(BUFFER_SIZE);
+		try {
+			while (bytesToCopy > 0) {
+				int bytesRead = in.read(buffer);
+				if (bytesRead == -1) {
+					break;
+				}
+				else if (bytesRead <= bytesToCopy) {
+					out.write(buffer, 0, bytesRead);
+					bytesToCopy -= bytesRead;
+				}
+				else {
+					out.write(buffer, 0, (int) bytesToCopy);
+					bytesToCopy = 0;
+				}
 			}
-			else if (bytesRead <= bytesToCopy) {
+		}
+		finally {
+			pool.release(buffer);
+		}
+		return end - start + 1 - bytesToCopy;
+	}
+
+	/**
+	 * Copy a range of content of the given FileChannel to the given OutputStream,
+	 * reading from the given position without modifying the channel's own position.
+	 * <p>If the OutputStream is a plain file stream, the content is transferred
+	 * to its channel directly; otherwise it is copied through a pooled buffer.
+	 * If the specified range exceeds the size of the channel, this copies up to
+	 * the end of the channel and returns the actual number of copied bytes.
+	 * <p>Leaves both the channel and the stream open when done.
+	 * <p>
+	 *  将给定FileChannel的一系列内容复制到给定的OutputStream,从给定位置读取而不修改通道自身的位置<p>如果OutputStream是普通文件流,则内容直接传输到其通道;否则通过池化的缓冲区复制如果指定的范围超出了通道的大小,则会复制到通道的末尾,并返回实际的复制字节数<p>完成后通道和流都保持打开
+	 * 
+	 * 
+	 * @param in the FileChannel to copy from
+	 * @param position the position to start copying from
+	 * @param count the maximum number of bytes to copy
+	 * @param out the OutputStream to copy to
+	 * @return the number of bytes copied
+	 * @throws IOException in case of I/O errors
+	 * @since 4.3
+	 * @see #copy(FileChannel, long, long, WritableByteChannel)
+	 */
+	public static long copy(FileChannel in, long position, long count, OutputStream out) throws IOException {
+		Assert.notNull(in, "No FileChannel specified");
+		Assert.notNull(out, "No OutputStream specified");
+		if (out.getClass() == FileOutputStream.class) {
+			return copy(in, position, count, ((FileOutputStream) out).getChannel());
+		}
+		long bytesCopied = 0;
+		ByteArrayPool pool = ByteArrayPoolHolder.getPool();
+		byte[] buffer = pool.acquire(BUFFER_SIZE);
+		try {
+			ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+			while (bytesCopied < count) {
+				byteBuffer.clear();
+				byteBuffer.limit((int) Math.min(buffer.length, count - bytesCopied));
+				int bytesRead = in.read(byteBuffer, position + bytesCopied);
+				if (bytesRead == -1) {
+					break;
+				}
 				out.write(buffer, 0, bytesRead);
-				bytesToCopy -= bytesRead;
+				bytesCopied += bytesRead;
 			}
-			else {
-				out.write(buffer, 0, (int) bytesToCopy);
-				bytesToCopy = 0;
+		}
+		finally {
+			pool.release(buffer);
+		}
+		return bytesCopied;
+	}
+
+	/**
+	 * Transfer a range of content of the given FileChannel to the given channel,
+	 * reading from the given position without modifying the channel's own position.
+	 * <p>Uses {@link FileChannel#transferTo}, which allows the operating system
+	 * to move the content to file or socket channels without copying it into
+	 * user space. The target channel is expected to be in blocking mode.
+	 * If the specified range exceeds the size of the channel, this copies up to
+	 * the end of the channel and returns the actual number of copied bytes.
+	 * <p>Leaves both channels open when done.
+	 * <p>
+	 *  将给定FileChannel的一系列内容传输到给定的通道,从给定位置读取而不修改通道自身的位置<p>使用{@link FileChannel#transferTo},它允许操作系统将内容移动到文件或套接字通道,而无需将其复制到用户空间目标通道应处于阻塞模式如果指定的范围超出了通道的大小,则会复制到通道的末尾,并返回实际的复制字节数<p>完成后两个通道都保持打开
+	 * 
+	 * 
+	 * @param in the FileChannel to copy from
+	 * @param position the position to start copying from
+	 * @param count the maximum number of bytes to copy
+	 * @param out the channel to copy to
+	 * @return the number of bytes copied
+	 * @throws IOException in case of I/O errors
+	 * @since 4.3
+	 */
+	public static long copy(FileChannel in, long position, long count, WritableByteChannel out) throws IOException {
+		Assert.notNull(in, "No FileChannel specified");
+		Assert.notNull(out, "No WritableByteChannel specified");
+		long end = Math.min(position + count, in.size());
+		long current = position;
+		while (current < end) {
+			long transferred = in.transferTo(current, end - current, out);
+			if (transferred <= 0) {
+				// No progress through transferTo: try a buffered pass, and give up if that
+				// does not get anywhere either (e.g. the channel got truncated meanwhile)
+				transferred = copyChunk(in, current, end - current, out);
+				if (transferred <= 0) {
+					break;
+				}
 			}
+			current += transferred;
+		}
+		return Math.max(current - position, 0);
+	}
+
+	private static long copyChunk(FileChannel in, long position, long count, WritableByteChannel out)
+			throws IOException {
+
+		ByteArrayPool pool = ByteArrayPoolHolder.getPool();
+		byte[] buffer = pool.acquire(BUFFER_SIZE);
+		try {
+			ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, (int) Math.min(buffer.length, count));
+			int bytesRead = in.read(byteBuffer, position);
+			if (bytesRead <= 0) {
+				return 0;
+			}
+			byteBuffer.flip();
+			long bytesWritten = 0;
+			while (byteBuffer.hasRemaining()) {
+				int written = out.write(byteBuffer);
+				if (written <= 0) {
+					break;
+				}
+				bytesWritten += written;
+			}
+			return bytesWritten;
+		}
+		finally {
+			pool.release(buffer);
 		}
-		return end - start + 1 - bytesToCopy;
 	}
 
 	/**
@@ -214,11 +372,17 @@ public abstract class StreamUtils {
 	 */
 	public static int drain(InputStream in) throws IOException {
 		Assert.notNull(in, "No InputStream specified");
-		byte[] buffer = new byte[BUFFER_SIZE];
+		ByteArrayPool pool = ByteArrayPoolHolder.getPool();
+		byte[] buffer = pool.acquire(BUFFER_SIZE);
 		int bytesRead = -1;
 		int byteCount = 0;
-		while ((bytesRead = in.read(buffer)) != -1) {
-			byteCount += bytesRead;
+		try {
+			while ((bytesRead = in.read(buffer)) != -1) {
+				byteCount += bytesRead;
+			}
+		}
+		finally {
+			pool.release(buffer);
 		}
 		return byteCount;
 	}
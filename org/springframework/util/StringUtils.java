@@ -760,6 +760,10 @@ public abstract class StringUtils {
 		if (path == null) {
 			return null;
 		}
+		if (isCleanPath(path)) {
+			// Nothing to replace or to normalize: avoid splitting and re-joining
+			return path;
+		}
 		String pathToUse = replace(path, WINDOWS_FOLDER_SEPARATOR, FOLDER_SEPARATOR);
 
 		// Strip prefix from path to analyze, to not treat it as part of the
@@ -815,6 +819,31 @@ public abstract class StringUtils {
 		return prefix + collectionToDelimitedString(pathElements, FOLDER_SEPARATOR);
 	}
 
+	/**
+	 * Determine whether {@link #cleanPath} would return the given path as-is:
+	 * i.e. whether it has no Windows separators and no "." or ".." elements,
+	 * where an element may also start after a prefix such as "file:".
+	 */
+	private static boolean isCleanPath(String path) {
+		int length = path.length();
+		int elementStart = 0;
+		for (int i = 0; i <= length; i++) {
+			char c = (i < length ? path.charAt(i) : '/');
+			if (c == '\\') {
+				return false;
+			}
+			if (c == '/' || c == ':') {
+				int elementLength = i - elementStart;
+				if (c == '/' && (elementLength == 1 || elementLength == 2) &&
+						path.charAt(elementStart) == '.' && path.charAt(i - 1) == '.') {
+					return false;
+				}
+				elementStart = i + 1;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Compare two paths after normalization of them.
 	 * <p>
@@ -1225,18 +1254,187 @@ public abstract class StringUtils {
 		if (str == null) {
 			return null;
 		}
-		StringTokenizer st = new StringTokenizer(str, delimiters);
-		List<String> tokens = new ArrayList<String>();
-		while (st.hasMoreTokens()) {
-			String token = st.nextToken();
+		if (containsSurrogates(delimiters)) {
+			// StringTokenizer compares code points in that case
+			StringTokenizer st = new StringTokenizer(str, delimiters);
+			List<String> tokens = new ArrayList<String>();
+			while (st.hasMoreTokens()) {
+				String token = st.nextToken();
+				if (trimTokens) {
+					token = token.trim();
+				}
+				if (!ignoreEmptyTokens || token.length() > 0) {
+					tokens.add(token);
+				}
+			}
+			return toStringArray(tokens);
+		}
+		// Same rules as StringTokenizer, in two passes over the String
+		// instead of going through a StringTokenizer and an ArrayList
+		String[] tokens = new String[scanTokens(str, delimiters, trimTokens, ignoreEmptyTokens, null)];
+		scanTokens(str, delimiters, trimTokens, ignoreEmptyTokens, tokens);
+		return tokens;
+	}
+
+	/**
+	 * Count the tokens of the given {@code String}, storing them in the
+	 * given array unless it is {@code null}.
+	 */
+	private static int scanTokens(
+			String str, String delimiters, boolean trimTokens, boolean ignoreEmptyTokens, String[] tokens) {
+
+		int count = 0;
+		int length = str.length();
+		int pos = 0;
+		while (pos < length) {
+			while (pos < length && delimiters.indexOf(str.charAt(pos)) != -1) {
+				pos++;
+			}
+			if (pos == length) {
+				break;
+			}
+			int start = pos;
+			while (pos < length && delimiters.indexOf(str.charAt(pos)) == -1) {
+				pos++;
+			}
+			int end = pos;
 			if (trimTokens) {
-				token = token.trim();
+				while (start < end && str.charAt(start) <= ' ') {
+					start++;
+				}
+				while (end > start && str.charAt(end - 1) <= ' ') {
+					end--;
+				}
+			}
+			if (!ignoreEmptyTokens || end > start) {
+				if (tokens != null) {
+					tokens[count] = str.substring(start, end);
+				}
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static boolean containsSurrogates(String str) {
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Find the start index of the next non-empty token in the given
+	 * {@code CharSequence}, following the rules of
+	 * {@link #tokenizeToStringArray(String, String, boolean, boolean)} with
+	 * empty tokens ignored, but without creating any objects.
+	 * <p>Typically used together with {@link #getTokenEnd}:
+	 * <pre class="code">
+	 * int start = StringUtils.getNextTokenStart(value, ",", true, 0);
+	 * while (start != -1) {
+	 *     int end = StringUtils.getTokenEnd(value, ",", true, start);
+	 *     // process the token between start and end
+	 *     start = StringUtils.getNextTokenStart(value, ",", true, end);
+	 * }</pre>
+	 * <p>
+	 *  按照{@link #tokenizeToStringArray(String,String,boolean,boolean)}的规则(忽略空标记)查找给定{@code CharSequence}中下一个非空标记的起始索引,但不创建任何对象<p>通常与{@link #getTokenEnd}一起使用：
+	 * 
+	 * 
+	 * @param str the {@code CharSequence} to tokenize (may be {@code null})
+	 * @param delimiters the delimiter characters, assembled as a {@code String}
+	 * (each of the characters is individually considered as a delimiter)
+	 * @param trimTokens whether to trim the tokens like {@link String#trim()}
+	 * @param fromIndex the index to start searching from
+	 * @return the start index of the next token, or {@code -1} if there is none
+	 * @since 4.3
+	 * @see #getTokenEnd
+	 */
+	public static int getNextTokenStart(CharSequence str, String delimiters, boolean trimTokens, int fromIndex) {
+		if (str == null) {
+			return -1;
+		}
+		int length = str.length();
+		for (int pos = fromIndex; pos < length; pos++) {
+			char c = str.charAt(pos);
+			if (delimiters.indexOf(c) == -1 && (!trimTokens || c > ' ')) {
+				return pos;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Find the end index (exclusive) of the token starting at the given index,
+	 * as returned by {@link #getNextTokenStart}.
+	 * <p>
+	 *  查找从给定索引开始的标记的结束索引(不包括),该索引由{@link #getNextTokenStart}返回
+	 * 
+	 * 
+	 * @param str the {@code CharSequence} to tokenize
+	 * @param delimiters the delimiter characters, assembled as a {@code String}
+	 * @param trimTokens whether to trim the tokens like {@link String#trim()}
+	 * @param tokenStart the start index of the token
+	 * @return the end index of the token
+	 * @since 4.3
+	 * @see #getNextTokenStart
+	 */
+	public static int getTokenEnd(CharSequence str, String delimiters, boolean trimTokens, int tokenStart) {
+		int length = str.length();
+		int end = tokenStart;
+		while (end < length && delimiters.indexOf(str.charAt(end)) == -1) {
+			end++;
+		}
+		if (trimTokens) {
+			while (end > tokenStart && str.charAt(end - 1) <= ' ') {
+				end--;
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * Check whether the given {@code CharSequence} contains the given token,
+	 * tokenizing it like {@link #tokenizeToStringArray(String, String)} does
+	 * but without creating any objects.
+	 * <p>
+	 *  检查给定的{@code CharSequence}是否包含给定的标记,像{@link #tokenizeToStringArray(String,String)}那样对其进行分词,但不创建任何对象
+	 * 
+	 * 
+	 * @param str the {@code CharSequence} to tokenize (may be {@code null})
+	 * @param delimiters the delimiter characters, assembled as a {@code String}
+	 * @param token the token to look for
+	 * @param ignoreCase whether to compare tokens ignoring case
+	 * @return {@code true} if one of the trimmed tokens equals the given token
+	 * @since 4.3
+	 */
+	public static boolean containsToken(CharSequence str, String delimiters, String token, boolean ignoreCase) {
+		int start = getNextTokenStart(str, delimiters, true, 0);
+		while (start != -1) {
+			int end = getTokenEnd(str, delimiters, true, start);
+			if (end - start == token.length() && regionMatches(str, start, token, ignoreCase)) {
+				return true;
 			}
-			if (!ignoreEmptyTokens || token.length() > 0) {
-				tokens.add(token);
+			start = getNextTokenStart(str, delimiters, true, end);
+		}
+		return false;
+	}
+
+	private static boolean regionMatches(CharSequence str, int offset, String other, boolean ignoreCase) {
+		if (str instanceof String) {
+			return ((String) str).regionMatches(ignoreCase, offset, other, 0, other.length());
+		}
+		for (int i = 0; i < other.length(); i++) {
+			char c1 = str.charAt(offset + i);
+			char c2 = other.charAt(i);
+			if (c1 != c2 && (!ignoreCase || (Character.toUpperCase(c1) != Character.toUpperCase(c2) &&
+					Character.toLowerCase(c1) != Character.toLowerCase(c2)))) {
+				return false;
 			}
 		}
-		return toStringArray(tokens);
+		return true;
 	}
 
 	/**
@@ -1288,25 +1486,28 @@ public abstract class StringUtils {
 		if (delimiter == null) {
 			return new String[] {str};
 		}
-		List<String> result = new ArrayList<String>();
 		if ("".equals(delimiter)) {
+			String[] result = new String[str.length()];
 			for (int i = 0; i < str.length(); i++) {
-				result.add(deleteAny(str.substring(i, i + 1), charsToDelete));
+				result[i] = deleteAny(str.substring(i, i + 1), charsToDelete);
 			}
+			return result;
 		}
-		else {
-			int pos = 0;
-			int delPos;
-			while ((delPos = str.indexOf(delimiter, pos)) != -1) {
-				result.add(deleteAny(str.substring(pos, delPos), charsToDelete));
-				pos = delPos + delimiter.length();
-			}
-			if (str.length() > 0 && pos <= str.length()) {
-				// Add rest of String, but not in case of empty input.
-				result.add(deleteAny(str.substring(pos), charsToDelete));
-			}
+		if (str.length() == 0) {
+			return new String[0];
 		}
-		return toStringArray(result);
+		// Size the array upfront: one element more than delimiter occurrences
+		String[] result = new String[countOccurrencesOf(str, delimiter) + 1];
+		int count = 0;
+		int pos = 0;
+		int delPos;
+		while ((delPos = str.indexOf(delimiter, pos)) != -1) {
+			result[count++] = deleteAny(str.substring(pos, delPos), charsToDelete);
+			pos = delPos + delimiter.length();
+		}
+		// Add rest of String
+		result[count] = deleteAny(str.substring(pos), charsToDelete);
+		return result;
 	}
 
 	/**
@@ -1337,10 +1538,16 @@ public abstract class StringUtils {
 	 */
 	public static Set<String> commaDelimitedListToSet(String str) {
 		Set<String> set = new LinkedHashSet<String>();
-		String[] tokens = commaDelimitedListToStringArray(str);
-		for (String token : tokens) {
-			set.add(token);
+		if (str == null || str.length() == 0) {
+			return set;
+		}
+		int pos = 0;
+		int delPos;
+		while ((delPos = str.indexOf(',', pos)) != -1) {
+			set.add(str.substring(pos, delPos));
+			pos = delPos + 1;
 		}
+		set.add(str.substring(pos));
 		return set;
 	}
 
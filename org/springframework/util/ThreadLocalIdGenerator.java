@@ -0,0 +1,69 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link IdGenerator} that keeps its state per thread, so that concurrent
+ * callers never contend on a shared {@link java.util.Random} or on
+ * {@link SecureRandom} as {@link AlternativeJdkIdGenerator} and
+ * {@link JdkIdGenerator} do.
+ *
+ * <p>Every thread obtains a distinct 32-bit slot from a shared counter on first
+ * use, which forms the low half of the most significant bits, combined with 32
+ * securely random bits. The least significant bits are a per-thread counter
+ * starting at a securely random offset. Ids are therefore unique across all
+ * threads using the same generator instance, while {@link SecureRandom} is only
+ * consulted once per thread.
+ *
+ * <p>
+ *  一个{@link IdGenerator},按线程保存其状态,因此并发调用方不会像{@link AlternativeJdkIdGenerator}和{@link JdkIdGenerator}那样在共享的{@link java.util.Random}或{@link SecureRandom}上发生争用。
+ * 
+ *  <p>每个线程在首次使用时从共享计数器获得一个不同的32位槽位,作为最高有效位的低半部分,并与32个安全随机位组合。最低有效位是一个从安全随机偏移量开始的每线程计数器。
+ * 因此,使用同一生成器实例的所有线程生成的id都是唯一的,而{@link SecureRandom}每个线程只被查询一次。
+ * 
+ * 
+ * @since 4.3
+ */
+public class ThreadLocalIdGenerator implements IdGenerator {
+
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	private final AtomicInteger threadSlots = new AtomicInteger();
+
+	/** Per-thread state: [0] most significant bits, [1] next least significant bits */
+	private final ThreadLocal<long[]> state = new ThreadLocal<long[]>() {
+		@Override
+		protected long[] initialValue() {
+			long slot = threadSlots.getAndIncrement() & 0xFFFFFFFFL;
+			long mostSigBits = ((long) secureRandom.nextInt() << 32) | slot;
+			return new long[] {mostSigBits, secureRandom.nextLong()};
+		}
+	};
+
+
+	@Override
+	public UUID generateId() {
+		long[] current = this.state.get();
+		return new UUID(current[0], current[1]++);
+	}
+
+}
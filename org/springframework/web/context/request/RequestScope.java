@@ -17,6 +17,8 @@
 
 package org.springframework.web.context.request;
 
+import org.springframework.beans.factory.config.CacheableScope;
+
 /**
  * Request-backed {@link org.springframework.beans.factory.config.Scope}
  * implementation.
@@ -31,13 +33,21 @@ package org.springframework.web.context.request;
  * (as exposed out-of-the-box by Spring's
  * {@link org.springframework.web.portlet.DispatcherPortlet}.
  *
+ * <p>As a {@link CacheableScope}, identifies its current instance through the
+ * current {@link RequestAttributes} object, so that scoped proxies resolve their
+ * target once per request. Session-scoped targets are not cached this way, since
+ * a session may get invalidated or replaced in the middle of a request.
+ *
  * <p>
  *  Request-backed {@link orgspringframeworkbeansfactoryconfigScope}实现
  * 
  * <p>依赖于线程绑定的{@link RequestAttributes}实例,可以通过{@link RequestContextListener},{@link orgspringframeworkwebfilterRequestContextFilter}
  * 或{@link orgspringframeworkwebservletDispatcherServlet}导出。
  * 
- *  <p>这个{@code范围}也可以通过一个备用的{@code RequestAttributes}实现(通过Spring的{@link orgspringframeworkwebportletDispatcherPortlet}
+ *  <p>这个{@code范围}也可以通过一个备用的{@code RequestAttributes}实现(通过Spring的{@link orgspringframeworkwebportletDispatcherPortlet}
+ * 
+ *  <p>作为{@link CacheableScope},通过当前的{@link RequestAttributes}对象标识其当前实例,以便作用域代理在每个请求中只解析一次其目标
+ * 会话作用域的目标不会以这种方式缓存,因为会话可能在请求过程中失效或被替换
  * 
  * @author Rod Johnson
  * @author Juergen Hoeller
@@ -50,7 +60,7 @@ package org.springframework.web.context.request;
  * @see org.springframework.web.servlet.DispatcherServlet
  * @see org.springframework.web.portlet.DispatcherPortlet
  */
-public class RequestScope extends AbstractRequestAttributesScope {
+public class RequestScope extends AbstractRequestAttributesScope implements CacheableScope {
 
 	@Override
 	protected int getScope() {
@@ -69,4 +79,9 @@ public class RequestScope extends AbstractRequestAttributesScope {
 		return null;
 	}
 
+	@Override
+	public Object getCurrentScopeInstance() {
+		return RequestContextHolder.getRequestAttributes();
+	}
+
 }
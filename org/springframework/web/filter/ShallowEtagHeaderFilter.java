@@ -30,6 +30,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.http.HttpMethod;
 import org.springframework.util.Assert;
+import org.springframework.util.ByteArrayPoolHolder;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.DigestUtils;
 import org.springframework.web.util.ContentCachingResponseWrapper;
@@ -120,10 +121,22 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 			responseToUse = new HttpStreamingAwareContentCachingResponseWrapper(response, request);
 		}
 
-		filterChain.doFilter(request, responseToUse);
+		try {
+			filterChain.doFilter(request, responseToUse);
 
-		if (!isAsyncStarted(request) && !isContentCachingDisabled(request)) {
-			updateResponse(request, responseToUse);
+			if (!isAsyncStarted(request) && !isContentCachingDisabled(request)) {
+				updateResponse(request, responseToUse);
+			}
+		}
+		finally {
+			if (!isAsyncStarted(request)) {
+				// Return pooled buffers, also for content not copied to the response (304, errors)
+				HttpStreamingAwareContentCachingResponseWrapper responseWrapper = WebUtils.getNativeResponse(
+						responseToUse, HttpStreamingAwareContentCachingResponseWrapper.class);
+				if (responseWrapper != null) {
+					responseWrapper.releaseContent();
+				}
+			}
 		}
 	}
 
@@ -254,7 +267,7 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		private final HttpServletRequest request;
 
 		public HttpStreamingAwareContentCachingResponseWrapper(HttpServletResponse response, HttpServletRequest request) {
-			super(response);
+			super(response, ByteArrayPoolHolder.getPool());
 			this.request = request;
 		}
 
@@ -29,6 +29,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.springframework.beans.BeansException;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.PathPatternIndex;
 import org.springframework.web.servlet.HandlerExecutionChain;
 
 /**
@@ -71,6 +72,8 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 
 	private final Map<String, Object> handlerMap = new LinkedHashMap<String, Object>();
 
+	private volatile PathPatternIndex patternIndex;
+
 
 	/**
 	 * Set the root handler for this handler mapping, that is,
@@ -184,9 +187,11 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	 * both "/test" and "/team". For details, see the AntPathMatcher class.
 	 * <p>Looks for the most exact pattern, where most exact is defined as
 	 * the longest path pattern.
+	 * <p>Only patterns returned by the {@link PathPatternIndex} for the path
+	 * are checked, rather than every registered pattern.
 	 * <p>
 	 * 查找给定URL路径的处理程序实例<p>支持直接匹配,例如注册的"/ test"匹配"/ test",以及各种Ant样式模式匹配,例如注册的"/ t *"匹配"/测试"和"/ team"有关详细信息,请参
-	 * 阅AntPathMatcher类<p>查找最精确的模式,其中最精确的定义为最长的路径模式。
+	 * 阅AntPathMatcher类<p>查找最精确的模式,其中最精确的定义为最长的路径模式。<p>只检查{@link PathPatternIndex}为该路径返回的模式,而不是每个已注册的模式
 	 * 
 	 * 
 	 * @param urlPath URL the bean is mapped to
@@ -209,7 +214,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		}
 		// Pattern match?
 		List<String> matchingPatterns = new ArrayList<String>();
-		for (String registeredPattern : this.handlerMap.keySet()) {
+		for (String registeredPattern : getPatternIndex().getCandidatePatterns(urlPath)) {
 			if (getPathMatcher().match(registeredPattern, urlPath)) {
 				matchingPatterns.add(registeredPattern);
 			}
@@ -412,6 +417,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 			}
 			else {
 				this.handlerMap.put(urlPath, resolvedHandler);
+				this.patternIndex = null;
 				if (logger.isInfoEnabled()) {
 					logger.info("Mapped URL path [" + urlPath + "] onto " + getHandlerDescription(handler));
 				}
@@ -445,6 +451,27 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		return Collections.unmodifiableMap(this.handlerMap);
 	}
 
+	/**
+	 * Return the index of registered URL patterns, (re)building it for the
+	 * current {@link #getPathMatcher() PathMatcher} if necessary.
+	 * <p>
+	 *  返回已注册URL模式的索引,必要时针对当前的{@link #getPathMatcher() PathMatcher}(重新)构建它
+	 * 
+	 * 
+	 * @since 4.3
+	 */
+	protected PathPatternIndex getPatternIndex() {
+		PathPatternIndex index = this.patternIndex;
+		if (index == null || index.getPathMatcher() != getPathMatcher()) {
+			index = new PathPatternIndex(getPathMatcher());
+			for (String registeredPattern : this.handlerMap.keySet()) {
+				index.addPattern(registeredPattern);
+			}
+			this.patternIndex = index;
+		}
+		return index;
+	}
+
 	/**
 	 * Indicates whether this handler mapping support type-level mappings. Default to {@code false}.
 	 * <p>
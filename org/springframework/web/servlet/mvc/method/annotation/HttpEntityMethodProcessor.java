@@ -229,14 +229,12 @@ public class HttpEntityMethodProcessor extends AbstractMessageConverterMethodPro
 		List<String> entityHeadersVary = entityHeaders.getVary();
 		List<String> result = new ArrayList<String>(entityHeadersVary);
 		for (String header : responseHeaders.get(HttpHeaders.VARY)) {
-			for (String existing : StringUtils.tokenizeToStringArray(header, ",")) {
-				if ("*".equals(existing)) {
-					return Collections.emptyList();
-				}
-				for (String value : entityHeadersVary) {
-					if (value.equalsIgnoreCase(existing)) {
-						result.remove(value);
-					}
+			if (StringUtils.containsToken(header, ",", "*", false)) {
+				return Collections.emptyList();
+			}
+			for (String value : entityHeadersVary) {
+				if (StringUtils.containsToken(header, ",", value, true)) {
+					result.remove(value);
 				}
 			}
 		}
@@ -18,8 +18,6 @@
 package org.springframework.web.servlet.resource;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +32,7 @@ import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
+import org.springframework.util.PathPatternIndex;
 import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
 
@@ -65,6 +64,8 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 
 	private final Map<String, ResourceHttpRequestHandler> handlerMap = new LinkedHashMap<String, ResourceHttpRequestHandler>();
 
+	private volatile PathPatternIndex patternIndex;
+
 	private boolean autodetect = true;
 
 
@@ -138,6 +139,7 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 		if (handlerMap != null) {
 			this.handlerMap.clear();
 			this.handlerMap.putAll(handlerMap);
+			this.patternIndex = null;
 			this.autodetect = false;
 		}
 	}
@@ -169,6 +171,7 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 		if (isAutodetect()) {
 			this.handlerMap.clear();
 			detectResourceHandlers(event.getApplicationContext());
+			this.patternIndex = null;
 			if (this.handlerMap.isEmpty() && logger.isDebugEnabled()) {
 				logger.debug("No resource handling mappings found");
 			}
@@ -260,16 +263,9 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 			logger.trace("Getting resource URL for lookup path \"" + lookupPath + "\"");
 		}
 
-		List<String> matchingPatterns = new ArrayList<String>();
-		for (String pattern : this.handlerMap.keySet()) {
-			if (getPathMatcher().match(pattern, lookupPath)) {
-				matchingPatterns.add(pattern);
-			}
-		}
+		List<String> matchingPatterns = getPatternIndex().getSortedMatchingPatterns(lookupPath);
 
 		if (!matchingPatterns.isEmpty()) {
-			Comparator<String> patternComparator = getPathMatcher().getPatternComparator(lookupPath);
-			Collections.sort(matchingPatterns, patternComparator);
 			for (String pattern : matchingPatterns) {
 				String pathWithinMapping = getPathMatcher().extractPathWithinPattern(pattern, lookupPath);
 				String pathMapping = lookupPath.substring(0, lookupPath.indexOf(pathWithinMapping));
@@ -277,6 +273,9 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 					logger.trace("Invoking ResourceResolverChain for URL pattern \"" + pattern + "\"");
 				}
 				ResourceHttpRequestHandler handler = this.handlerMap.get(pattern);
+				if (handler == null) {
+					continue;
+				}
 				ResourceResolverChain chain = new DefaultResourceResolverChain(handler.getResourceResolvers());
 				String resolved = chain.resolveUrlPath(pathWithinMapping, handler.getLocations());
 				if (resolved == null) {
@@ -295,4 +294,23 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 		return null;
 	}
 
+	/**
+	 * Return the index of the handler map patterns, (re)building it if the
+	 * {@code PathMatcher} or the handler map has changed.
+	 * <p>
+	 *  返回处理程序映射模式的索引,如果{@code PathMatcher}或处理程序映射已更改,则(重新)构建它
+	 * 
+	 */
+	private PathPatternIndex getPatternIndex() {
+		PathPatternIndex index = this.patternIndex;
+		if (index == null || index.getPathMatcher() != getPathMatcher() || index.size() != this.handlerMap.size()) {
+			index = new PathPatternIndex(getPathMatcher());
+			for (String pattern : this.handlerMap.keySet()) {
+				index.addPattern(pattern);
+			}
+			this.patternIndex = index;
+		}
+		return index;
+	}
+
 }
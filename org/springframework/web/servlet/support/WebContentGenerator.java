@@ -740,14 +740,12 @@ public abstract class WebContentGenerator extends WebApplicationObjectSupport {
 		Collection<String> result = new ArrayList<String>(getVaryByRequestHeaders().length);
 		Collections.addAll(result, getVaryByRequestHeaders());
 		for (String header : response.getHeaders(HttpHeaders.VARY)) {
-			for (String existing : StringUtils.tokenizeToStringArray(header, ",")) {
-				if ("*".equals(existing)) {
-					return Collections.emptyList();
-				}
-				for (String value : getVaryByRequestHeaders()) {
-					if (value.equalsIgnoreCase(existing)) {
-						result.remove(value);
-					}
+			if (StringUtils.containsToken(header, ",", "*", false)) {
+				return Collections.emptyList();
+			}
+			for (String value : getVaryByRequestHeaders()) {
+				if (StringUtils.containsToken(header, ",", value, true)) {
+					result.remove(value);
 				}
 			}
 		}
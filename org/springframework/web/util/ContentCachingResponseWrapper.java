@@ -27,6 +27,7 @@ import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpServletResponseWrapper;
 
+import org.springframework.util.ByteArrayPool;
 import org.springframework.util.FastByteArrayOutputStream;
 
 /**
@@ -49,7 +50,7 @@ import org.springframework.util.FastByteArrayOutputStream;
  */
 public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
-	private final FastByteArrayOutputStream content = new FastByteArrayOutputStream(1024);
+	private final FastByteArrayOutputStream content;
 
 	private final ServletOutputStream outputStream = new ResponseServletOutputStream();
 
@@ -70,6 +71,31 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	 */
 	public ContentCachingResponseWrapper(HttpServletResponse response) {
 		super(response);
+		this.content = new FastByteArrayOutputStream(1024);
+	}
+
+	/**
+	 * Create a new ContentCachingResponseWrapper for the given servlet response,
+	 * caching its content in buffers obtained from the given pool.
+	 * <p>The buffers only go back to the pool once the content has been copied
+	 * through {@link #copyBodyToResponse()} or discarded through
+	 * {@link #releaseContent()}; callers must therefore invoke the latter in a
+	 * finally block once done with the wrapper. Callers which cannot guarantee
+	 * that should use the {@link #ContentCachingResponseWrapper(HttpServletResponse)
+	 * non-pooling constructor}.
+	 * <p>
+	 *  为给定的servlet响应创建一个新的ContentCachingResponseWrapper,将其内容缓存在从给定池中获取的缓冲区中
+	 * <p>只有在内容通过{@link #copyBodyToResponse()}复制或通过{@link #releaseContent()}丢弃之后,缓冲区才会返回到池中;因此调用者在使用完包装器后必须在finally块中调用后者
+	 * 无法保证这一点的调用者应使用{@link #ContentCachingResponseWrapper(HttpServletResponse) 非池化构造函数}
+	 * 
+	 * 
+	 * @param response the original servlet response
+	 * @param pool the pool to obtain content buffers from
+	 * @since 4.3
+	 */
+	public ContentCachingResponseWrapper(HttpServletResponse response, ByteArrayPool pool) {
+		super(response);
+		this.content = new FastByteArrayOutputStream(1024, pool);
 	}
 
 
@@ -234,6 +260,20 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 		copyBodyToResponse(true);
 	}
 
+	/**
+	 * Discard any cached content which has not been copied to the response,
+	 * returning pooled buffers to their pool.
+	 * <p>
+	 *  丢弃尚未复制到响应的任何缓存内容,将池化的缓冲区返回到其池中
+	 * 
+	 * 
+	 * @since 4.3
+	 * @see #ContentCachingResponseWrapper(HttpServletResponse, ByteArrayPool)
+	 */
+	public void releaseContent() {
+		this.content.reset();
+	}
+
 	/**
 	 * Copy the cached body content to the response.
 	 * <p>